@@ -0,0 +1,198 @@
+package com.example.project.application.concurrency;
+
+import java.util.function.Consumer;
+
+/**
+ * Rueda de temporización jerárquica (Varghese y Lauck) para caducar muchos elementos con un solo hilo.
+ *
+ * El tiempo avanza en ticks de tickMillis. Cada nivel tiene 2^bits casillas y cubre 2^bits veces el
+ * rango del nivel inferior; un elemento se coloca en el nivel más bajo que alcanza su vencimiento.
+ * Cuando el nivel inferior da una vuelta, la casilla correspondiente del superior se redistribuye hacia
+ * abajo. Insertar y cancelar son O(1) (listas doblemente enlazadas) y cada elemento caduca con un
+ * retraso máximo de un tick.
+ *
+ * No es segura para hilos: quien la usa debe sincronizar el acceso.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    /**
+     * Elemento programado; sirve para cancelarlo
+     */
+    public static final class Timeout<T> {
+        private final T value;
+        private final long deadlineTick;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private Bucket<T> bucket;
+
+        private Timeout(T value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public boolean isScheduled() {
+            return bucket != null;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        Timeout<T> takeAll() {
+            Timeout<T> all = head;
+            head = null;
+            return all;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final long mask;
+    private final long spanTicks;
+    private final Bucket<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int bits, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || bits <= 0 || levelCount <= 0 || (long) bits * levelCount >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1L << bits) - 1;
+        this.spanTicks = 1L << (bits * levelCount);
+        this.levels = newLevels(levelCount, 1 << bits);
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T>[][] newLevels(int levelCount, int slots) {
+        Bucket<T>[][] levels = (Bucket<T>[][]) new Bucket<?>[levelCount][slots];
+        for (Bucket<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Bucket<>();
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Mayor espera que admite la rueda
+     */
+    public long maxDelayMillis() {
+        return (spanTicks - 1) * tickMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Programa el elemento para deadlineMillis; un vencimiento ya pasado caduca en el siguiente tick
+     */
+    public Timeout<T> schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        if (deadlineTick - currentTick >= spanTicks) {
+            throw new IllegalArgumentException("Deadline beyond the timing wheel span");
+        }
+        Timeout<T> timeout = new Timeout<>(value, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Quita el elemento si aún no ha caducado; devuelve false si ya no estaba programado
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Avanza hasta nowMillis entregando los elementos vencidos en orden de tick
+     */
+    public int advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        int count = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Timeout<T> timeout = levels[0][(int) (currentTick & mask)].takeAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.bucket = null;
+                timeout.previous = null;
+                timeout.next = null;
+                size--;
+                count++;
+                expired.accept(timeout.value);
+                timeout = next;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Al completar una vuelta de un nivel, baja la casilla actual del nivel superior
+     */
+    private void cascade() {
+        for (int level = 1; level < levels.length; level++) {
+            if ((currentTick & ((1L << (bits * level)) - 1)) != 0) {
+                return;
+            }
+            Timeout<T> timeout = levels[level][(int) ((currentTick >>> (bits * level)) & mask)].takeAll();
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                place(timeout);
+                timeout = next;
+            }
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delay = Math.max(0, timeout.deadlineTick - currentTick);
+        int level = 0;
+        while (level < levels.length - 1 && delay >= (1L << (bits * (level + 1)))) {
+            level++;
+        }
+        levels[level][(int) ((timeout.deadlineTick >>> (bits * level)) & mask)].add(timeout);
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.project.application.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+import com.example.project.application.exception.StockReleaseExceededException;
+import com.example.project.domain.common.valueobjects.Stock;
+
+/**
+ * Contadores de stock en memoria, uno por producto, para reservar y liberar unidades sin bloqueos.
+ *
+ * Cada contador es un estado inmutable con el stock, las unidades retenidas por reservas
+ * temporales (holds) y las reservadas aún sin liberar, así que un compareAndSet comprueba y
+ * modifica los tres a la vez: lo disponible es stock menos retenido y solo se puede liberar lo
+ * reservado. Se carga la primera vez desde el stock almacenado; las reglas (no quedar en
+ * negativo) son las de Stock.
+ *
+ * Solo los cambios de stock quedan pendientes de guardar (drainPending()); lo retenido y lo
+ * reservado viven solo en memoria. Un PUT o PATCH de stock se aplica como diferencia sobre el
+ * contador (adjustStock()), así que no deshace las reservas que aún no se han guardado.
+ */
+public class StockCounters {
+
+    // Estado de un contador retirado; se compara por identidad
+    private static final Level RETIRED = new Level(0, 0, 0);
+
+    private final ConcurrentHashMap<String, AtomicReference<Level>> counters = new ConcurrentHashMap<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Resta unidades del stock si hay suficientes disponibles; si no, InsufficientStockException.
+     * Devuelve lo disponible después.
+     */
+    public int reserve(String id, int quantity, ToIntFunction<String> loader) {
+        Level level = update(id, loader, current -> {
+            Stock.of(current.available()).reduce(quantity);
+            return new Level(current.stock() - quantity, current.held(), current.reserved() + quantity);
+        });
+        return level.available();
+    }
+
+    /**
+     * Devuelve al stock unidades reservadas antes; liberar más de lo reservado y aún no liberado
+     * lanza StockReleaseExceededException. Devuelve lo disponible después.
+     */
+    public int release(String id, int quantity, ToIntFunction<String> loader) {
+        Level level = update(id, loader, current -> {
+            if (quantity > current.reserved()) {
+                throw StockReleaseExceededException.withQuantities(id, quantity, current.reserved());
+            }
+            return new Level(Stock.of(current.stock()).add(quantity).getQuantity(), current.held(),
+                    current.reserved() - quantity);
+        });
+        return level.available();
+    }
+
+    /**
+     * Retiene unidades sin tocar el stock si hay suficientes disponibles; si no,
+     * InsufficientStockException. Devuelve lo disponible después.
+     */
+    public int hold(String id, int quantity, ToIntFunction<String> loader) {
+        Level level = update(id, loader, current -> {
+            Stock.of(current.available()).reduce(quantity);
+            return new Level(current.stock(), current.held() + quantity, current.reserved());
+        });
+        return level.available();
+    }
+
+    /**
+     * Deja de retener unidades (reserva temporal cancelada o caducada)
+     */
+    public void releaseHold(String id, int quantity) {
+        update(id, null, current ->
+                new Level(current.stock(), Math.max(0, current.held() - quantity), current.reserved()));
+    }
+
+    /**
+     * Convierte unidades retenidas en una reserva: salen del stock, dejan de estar retenidas y
+     * se pueden liberar después con release(). Si el stock no las cubre lanza
+     * InsufficientStockException en lugar de vender unidades que no existen.
+     */
+    public void confirmHold(String id, int quantity) {
+        update(id, null, current -> new Level(Stock.of(current.stock()).reduce(quantity).getQuantity(),
+                Math.max(0, current.held() - quantity), current.reserved() + quantity));
+    }
+
+    /**
+     * Suma delta (negativo para restar) al stock. Si el contador no existe se carga antes, para
+     * que las reservas concurrentes y el cambio se apliquen sobre el mismo valor; sin loader solo
+     * se ajusta un contador que ya exista. Devuelve el stock resultante, o
+     * InsufficientStockException si quedaría por debajo de lo retenido.
+     */
+    public int adjustStock(String id, int delta, ToIntFunction<String> loader) {
+        Level level = update(id, loader, current -> {
+            if (delta >= 0) {
+                return new Level(Stock.of(current.stock()).add(delta).getQuantity(), current.held(), current.reserved());
+            }
+            // Solo se puede quitar lo disponible: las unidades retenidas tienen que poder confirmarse
+            Stock.of(current.available()).reduce(-delta);
+            return new Level(current.stock() + delta, current.held(), current.reserved());
+        });
+        return level.stock();
+    }
+
+    /**
+     * Stock en memoria del producto (sin descontar lo retenido), si ya tiene contador
+     */
+    public Integer current(String id) {
+        Level level = levelOf(id);
+        return level != RETIRED ? level.stock() : null;
+    }
+
+    /**
+     * Unidades retenidas del producto
+     */
+    public int held(String id) {
+        return levelOf(id).held();
+    }
+
+    /**
+     * Unidades reservadas y aún no liberadas del producto
+     */
+    public long reserved(String id) {
+        return levelOf(id).reserved();
+    }
+
+    /**
+     * Stock menos unidades retenidas, cargando el contador si hace falta
+     */
+    public int available(String id, ToIntFunction<String> loader) {
+        return update(id, loader, UnaryOperator.identity()).available();
+    }
+
+    /**
+     * Productos con cambios de stock sin guardar; quien los recibe lee su valor con current() al
+     * guardarlo. Un producto que vuelve a cambiar mientras se guarda queda pendiente otra vez.
+     */
+    public List<String> drainPending() {
+        List<String> ids = new ArrayList<>();
+        for (String id : pending) {
+            if (pending.remove(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Como drainPending() para un solo producto: true si tenía cambios sin guardar
+     */
+    public boolean drainPending(String id) {
+        return pending.remove(id);
+    }
+
+    /**
+     * Vuelve a marcar un producto como pendiente, p. ej. si no se pudo guardar
+     */
+    public void markPending(String id) {
+        pending.add(id);
+    }
+
+    /**
+     * Se acaba de guardar stock para el producto: deja de estar pendiente salvo que el contador
+     * ya haya cambiado otra vez
+     */
+    public void markSaved(String id, int stock) {
+        // Primero se quita y luego se compara: un cambio posterior a la comparación vuelve a marcarlo
+        pending.remove(id);
+        Integer current = current(id);
+        if (current != null && current != stock) {
+            pending.add(id);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Descarta el contador (p. ej. el producto ya no existe)
+     */
+    public void retire(String id) {
+        AtomicReference<Level> counter = counters.remove(id);
+        if (counter != null) {
+            counter.set(RETIRED);
+        }
+        pending.remove(id);
+    }
+
+    /**
+     * Aplica la operación con compareAndSet. Sin loader no se crea el contador: si no existe
+     * no hay nada que modificar y se devuelve RETIRED.
+     */
+    private Level update(String id, ToIntFunction<String> loader, UnaryOperator<Level> operation) {
+        while (true) {
+            AtomicReference<Level> counter = counters.get(id);
+            if (counter == null) {
+                if (loader == null) {
+                    return RETIRED;
+                }
+                counter = load(id, loader);
+            }
+            Level current = counter.get();
+            if (current == RETIRED) {
+                // Retirado entre la búsqueda y la lectura: se vuelve a buscar
+                counters.remove(id, counter);
+                continue;
+            }
+            Level next = operation.apply(current);
+            if (counter.compareAndSet(current, next)) {
+                if (next.stock() != current.stock()) {
+                    pending.add(id);
+                }
+                return next;
+            }
+        }
+    }
+
+    /**
+     * El loader lee el repositorio y puede fallar, así que se ejecuta fuera del mapa; si otro
+     * hilo publica antes su contador, gana el suyo
+     */
+    private AtomicReference<Level> load(String id, ToIntFunction<String> loader) {
+        AtomicReference<Level> loaded = new AtomicReference<>(new Level(loader.applyAsInt(id), 0, 0));
+        AtomicReference<Level> winner = counters.putIfAbsent(id, loaded);
+        return winner != null ? winner : loaded;
+    }
+
+    private Level levelOf(String id) {
+        AtomicReference<Level> counter = counters.get(id);
+        return counter != null ? counter.get() : RETIRED;
+    }
+
+    private record Level(int stock, int held, long reserved) {
+
+        int available() {
+            return Math.max(0, stock - held);
+        }
+    }
+}
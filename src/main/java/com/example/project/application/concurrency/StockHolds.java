@@ -0,0 +1,139 @@
+package com.example.project.application.concurrency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+import com.example.project.domain.common.valueobjects.StockHold;
+
+/**
+ * Reservas temporales de stock (holds) que se liberan solas si no se confirman a tiempo.
+ *
+ * Las unidades se retienen en StockCounters y cada reserva se programa en una rueda de
+ * temporización jerárquica: no hay un hilo ni una tarea por reserva, solo expire(), que alguien
+ * llama periódicamente y que entrega las vencidas en O(1) cada una. Confirmar, cancelar y caducar
+ * compiten por quitar la reserva del registro bajo el mismo monitor, así que solo gana una.
+ */
+public class StockHolds {
+
+    // Resolución de la caducidad: 64 casillas por nivel y 4 niveles cubren unos 19 días
+    public static final long TICK_MILLIS = 100;
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final StockCounters counters;
+    private final LongSupplier clock;
+    private final HierarchicalTimingWheel<StockHold> wheel;
+    private final Map<String, HierarchicalTimingWheel.Timeout<StockHold>> active = new HashMap<>();
+
+    public StockHolds(StockCounters counters, LongSupplier clock) {
+        this.counters = counters;
+        this.clock = clock;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_BITS, WHEEL_LEVELS, clock.getAsLong());
+    }
+
+    public Duration maxTtl() {
+        return Duration.ofMillis(wheel.maxDelayMillis());
+    }
+
+    /**
+     * Retiene las unidades (o InsufficientStockException) y programa su caducidad. Si la rueda
+     * no admite el vencimiento (p. ej. va retrasada respecto al reloj) se liberan las unidades.
+     */
+    public StockHold create(String productId, int quantity, Duration ttl, ToIntFunction<String> loader) {
+        if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(maxTtl()) > 0) {
+            throw new IllegalArgumentException("Stock hold TTL out of range: " + ttl);
+        }
+        counters.hold(productId, quantity, loader);
+        long now = clock.getAsLong();
+        StockHold hold = StockHold.of(productId, quantity, Instant.ofEpochMilli(now).plus(ttl));
+        try {
+            synchronized (this) {
+                active.put(hold.getId(), wheel.schedule(hold, hold.getExpiresAt().toEpochMilli()));
+            }
+        } catch (RuntimeException e) {
+            counters.releaseHold(productId, quantity);
+            throw e;
+        }
+        return hold;
+    }
+
+    /**
+     * Reserva vigente, o null si no existe, ya se resolvió o ha vencido
+     */
+    public synchronized StockHold get(String holdId) {
+        HierarchicalTimingWheel.Timeout<StockHold> timeout = active.get(holdId);
+        if (timeout == null || timeout.value().isExpiredAt(Instant.ofEpochMilli(clock.getAsLong()))) {
+            return null;
+        }
+        return timeout.value();
+    }
+
+    /**
+     * Convierte la reserva en una venta de stock; null si ya no está vigente. Si el stock ya no
+     * cubre las unidades (InsufficientStockException) la reserva se libera.
+     */
+    public StockHold confirm(String holdId) {
+        StockHold hold = remove(holdId);
+        if (hold != null) {
+            try {
+                counters.confirmHold(hold.getProductId(), hold.getQuantity());
+            } catch (RuntimeException e) {
+                counters.releaseHold(hold.getProductId(), hold.getQuantity());
+                throw e;
+            }
+        }
+        return hold;
+    }
+
+    /**
+     * Libera las unidades retenidas; null si ya no está vigente
+     */
+    public StockHold cancel(String holdId) {
+        StockHold hold = remove(holdId);
+        if (hold != null) {
+            counters.releaseHold(hold.getProductId(), hold.getQuantity());
+        }
+        return hold;
+    }
+
+    /**
+     * Libera las reservas vencidas hasta ahora y devuelve cuántas
+     */
+    public int expire() {
+        List<StockHold> expired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.getAsLong(), hold -> {
+                active.remove(hold.getId());
+                expired.add(hold);
+            });
+        }
+        for (StockHold hold : expired) {
+            counters.releaseHold(hold.getProductId(), hold.getQuantity());
+        }
+        return expired.size();
+    }
+
+    public synchronized int activeCount() {
+        return active.size();
+    }
+
+    /**
+     * Una reserva vencida que la rueda aún no ha procesado ya no se puede confirmar; se deja
+     * para que la libere expire()
+     */
+    private synchronized StockHold remove(String holdId) {
+        HierarchicalTimingWheel.Timeout<StockHold> timeout = active.get(holdId);
+        if (timeout == null || timeout.value().isExpiredAt(Instant.ofEpochMilli(clock.getAsLong()))) {
+            return null;
+        }
+        active.remove(holdId);
+        wheel.cancel(timeout);
+        return timeout.value();
+    }
+}
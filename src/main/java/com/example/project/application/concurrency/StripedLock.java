@@ -0,0 +1,54 @@
+package com.example.project.application.concurrency;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bloqueo por franjas (lock striping) indexado por clave.
+ *
+ * Cada clave se asigna a uno de un número fijo de locks, de modo que las operaciones
+ * leer-modificar-escribir sobre un mismo producto quedan serializadas mientras que las
+ * de productos distintos avanzan en paralelo (salvo colisión de franja), sin crear un
+ * lock por producto.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedLock(int minimumStripes) {
+        if (minimumStripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        int size = Integer.highestOneBit(minimumStripes - 1) << 1;
+        if (minimumStripes == 1) {
+            size = 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ReentrantLock stripeFor(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        // Dispersión de bits altos (igual que HashMap) para repartir mejor las franjas
+        hash ^= (hash >>> 16);
+        return stripes[hash & mask];
+    }
+
+    public int size() {
+        return stripes.length;
+    }
+}
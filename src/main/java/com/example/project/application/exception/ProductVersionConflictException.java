@@ -0,0 +1,16 @@
+package com.example.project.application.exception;
+
+import java.util.OptionalLong;
+
+public class ProductVersionConflictException extends RuntimeException {
+
+    public ProductVersionConflictException(String message) {
+        super(message);
+    }
+
+    // El producto cambió (o se borró) después de que el cliente leyera la versión esperada
+    public static ProductVersionConflictException withVersions(String productId, long expected, OptionalLong current) {
+        return new ProductVersionConflictException("El producto " + productId + " fue modificado: versión esperada "
+                + expected + ", versión actual " + (current.isPresent() ? current.getAsLong() : "ninguna"));
+    }
+}
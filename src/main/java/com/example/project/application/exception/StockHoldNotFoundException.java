@@ -0,0 +1,13 @@
+package com.example.project.application.exception;
+
+public class StockHoldNotFoundException extends RuntimeException {
+
+    public StockHoldNotFoundException(String message) {
+        super(message);
+    }
+
+    // La reserva no existe, ya se confirmó o canceló, o ha caducado
+    public static StockHoldNotFoundException withId(String holdId) {
+        return new StockHoldNotFoundException("Reserva de stock no encontrada o caducada con ID: " + holdId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.project.application.exception;
+
+public class StockReleaseExceededException extends RuntimeException {
+
+    public StockReleaseExceededException(String message) {
+        super(message);
+    }
+
+    // Solo se puede devolver al stock lo que se reservó antes y aún no se ha liberado
+    public static StockReleaseExceededException withQuantities(String productId, int requested, long reserved) {
+        return new StockReleaseExceededException("No se pueden liberar " + requested + " unidades del producto "
+                + productId + ": solo hay " + reserved + " reservadas sin liberar");
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.project.application.mapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.example.project.application.exception.BusinessException;
+
+/**
+ * Conjunto de campos de ProductResponseDto pedidos con el parámetro fields=.
+ *
+ * Los nombres se validan contra los campos de la respuesta y se guardan ordenados, así que
+ * "title,id" e "id,title" son el mismo conjunto (y comparten serializador en caché).
+ */
+public final class ProductFieldSet {
+
+    public static final List<String> FIELD_NAMES = List.of(
+            "id", "title", "description", "price", "currency", "availableQuantity", "status",
+            "category", "subcategory", "sellerId", "sellerName", "listingType", "freeShipping",
+            "shippingCost", "weight", "width", "height", "length", "images", "attributes", "views",
+            "sales", "rating", "ratingCount", "createdAt", "updatedAt", "lastSoldAt", "condition",
+            "brand", "model", "stock", "available", "sku", "barcode", "tags", "warranty",
+            "returnPolicy", "isAvailable", "hasStock", "isFreeShipping");
+
+    private static final Set<String> KNOWN_FIELDS = Set.copyOf(FIELD_NAMES);
+
+    private final Set<String> names;
+
+    private ProductFieldSet(Set<String> names) {
+        this.names = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Interpreta una lista separada por comas; los nombres desconocidos son un error de negocio
+     */
+    public static ProductFieldSet parse(String fields) {
+        Set<String> names = new TreeSet<>();
+        Set<String> unknown = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                String name = field.trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (KNOWN_FIELDS.contains(name)) {
+                    names.add(name);
+                } else {
+                    unknown.add(name);
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new BusinessException("Unknown fields: " + String.join(", ", unknown), "INVALID_FIELDS");
+        }
+        if (names.isEmpty()) {
+            throw new BusinessException("fields must name at least one of: " + String.join(", ", FIELD_NAMES),
+                    "INVALID_FIELDS");
+        }
+        return new ProductFieldSet(names);
+    }
+
+    public static ProductFieldSet of(String... fields) {
+        return parse(String.join(",", Arrays.asList(fields)));
+    }
+
+    public boolean includes(String field) {
+        return names.contains(field);
+    }
+
+    public Set<String> names() {
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ProductFieldSet fieldSet && names.equals(fieldSet.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return names.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+}
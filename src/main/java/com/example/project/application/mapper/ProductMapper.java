@@ -104,6 +104,139 @@ public class ProductMapper {
                 .isFreeShipping(product.isFreeShipping())
                 .build();
     }
+
+    /**
+     * Igual que toResponseDto pero copiando solo los campos pedidos; el resto queda a null
+     * y no se llega a leer del producto.
+     */
+    public ProductResponseDto toResponseDto(Product product, ProductFieldSet fields) {
+        if (product == null) {
+            return null;
+        }
+
+        ProductResponseDto.ProductResponseDtoBuilder builder = ProductResponseDto.builder();
+        if (fields.includes("id")) {
+            builder.id(product.getId());
+        }
+        if (fields.includes("title")) {
+            builder.title(product.getTitle());
+        }
+        if (fields.includes("description")) {
+            builder.description(product.getDescription());
+        }
+        if (fields.includes("price")) {
+            builder.price(product.getPrice());
+        }
+        if (fields.includes("currency")) {
+            builder.currency(product.getCurrency());
+        }
+        if (fields.includes("availableQuantity")) {
+            builder.availableQuantity(product.getAvailableQuantity());
+        }
+        if (fields.includes("status")) {
+            builder.status(product.getStatus());
+        }
+        if (fields.includes("category")) {
+            builder.category(product.getCategory());
+        }
+        if (fields.includes("subcategory")) {
+            builder.subcategory(product.getSubcategory());
+        }
+        if (fields.includes("sellerId")) {
+            builder.sellerId(product.getSellerId());
+        }
+        if (fields.includes("sellerName")) {
+            builder.sellerName(product.getSellerName());
+        }
+        if (fields.includes("listingType")) {
+            builder.listingType(product.getListingType());
+        }
+        if (fields.includes("freeShipping")) {
+            builder.freeShipping(product.getFreeShipping());
+        }
+        if (fields.includes("shippingCost")) {
+            builder.shippingCost(product.getShippingCost());
+        }
+        if (fields.includes("weight")) {
+            builder.weight(product.getWeight());
+        }
+        if (fields.includes("width")) {
+            builder.width(product.getWidth());
+        }
+        if (fields.includes("height")) {
+            builder.height(product.getHeight());
+        }
+        if (fields.includes("length")) {
+            builder.length(product.getLength());
+        }
+        if (fields.includes("images")) {
+            builder.images(product.getImages());
+        }
+        if (fields.includes("attributes")) {
+            builder.attributes(product.getAttributes());
+        }
+        if (fields.includes("views")) {
+            builder.views(product.getViews());
+        }
+        if (fields.includes("sales")) {
+            builder.sales(product.getSales());
+        }
+        if (fields.includes("rating")) {
+            builder.rating(product.getRating());
+        }
+        if (fields.includes("ratingCount")) {
+            builder.ratingCount(product.getRatingCount());
+        }
+        if (fields.includes("createdAt")) {
+            builder.createdAt(product.getCreatedAt());
+        }
+        if (fields.includes("updatedAt")) {
+            builder.updatedAt(product.getUpdatedAt());
+        }
+        if (fields.includes("lastSoldAt")) {
+            builder.lastSoldAt(product.getLastSoldAt());
+        }
+        if (fields.includes("condition")) {
+            builder.condition(product.getCondition());
+        }
+        if (fields.includes("brand")) {
+            builder.brand(product.getBrand());
+        }
+        if (fields.includes("model")) {
+            builder.model(product.getModel());
+        }
+        if (fields.includes("stock")) {
+            builder.stock(product.getStock() != null ? product.getStock().getQuantity() : 0);
+        }
+        if (fields.includes("available")) {
+            builder.available(product.getAvailable());
+        }
+        if (fields.includes("sku")) {
+            builder.sku(product.getSku());
+        }
+        if (fields.includes("barcode")) {
+            builder.barcode(product.getBarcode());
+        }
+        if (fields.includes("tags")) {
+            builder.tags(product.getTags());
+        }
+        if (fields.includes("warranty")) {
+            builder.warranty(product.getWarranty());
+        }
+        if (fields.includes("returnPolicy")) {
+            builder.returnPolicy(product.getReturnPolicy());
+        }
+        if (fields.includes("isAvailable")) {
+            builder.isAvailable(product.isAvailable());
+        }
+        if (fields.includes("hasStock")) {
+            builder.hasStock(product.hasStock());
+        }
+        if (fields.includes("isFreeShipping")) {
+            builder.isFreeShipping(product.isFreeShipping());
+        }
+        return builder.build();
+    }
     
     public Product toDomain(ProductRequestDto requestDto) {
         if (requestDto == null) {
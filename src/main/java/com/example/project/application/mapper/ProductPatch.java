@@ -0,0 +1,181 @@
+package com.example.project.application.mapper;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.example.project.application.exception.BusinessException;
+import com.example.project.infraestructure.dto.ProductDto;
+import com.example.project.infraestructure.dto.ProductRequestDto;
+
+/**
+ * Modificación parcial de un producto con semántica JSON Merge Patch (RFC 7386).
+ *
+ * Guarda qué campos trae el parche y sus valores ya tipados en un ProductRequestDto; los campos
+ * ausentes no se tocan y un null explícito borra el valor. Las listas se sustituyen completas.
+ * availableQuantity y available no se pueden modificar: se derivan de stock, igual que en PUT.
+ */
+public final class ProductPatch {
+
+    public static final List<String> PATCHABLE_FIELDS = List.of(
+            "title", "description", "price", "currency", "status", "category", "subcategory",
+            "sellerId", "sellerName", "listingType", "freeShipping", "shippingCost", "weight", "width",
+            "height", "length", "images", "attributes", "condition", "brand", "model", "stock", "sku",
+            "barcode", "tags", "warranty", "returnPolicy");
+
+    private static final Set<String> KNOWN_FIELDS = Set.copyOf(PATCHABLE_FIELDS);
+
+    private final Set<String> fields;
+    private final ProductRequestDto values;
+
+    private ProductPatch(Set<String> fields, ProductRequestDto values) {
+        this.fields = Collections.unmodifiableSet(fields);
+        this.values = values;
+    }
+
+    /**
+     * Parche con los campos presentes en el documento y sus valores (null si se borran)
+     */
+    public static ProductPatch of(Set<String> fields, ProductRequestDto values) {
+        Set<String> unknown = new LinkedHashSet<>(fields);
+        unknown.removeAll(KNOWN_FIELDS);
+        if (!unknown.isEmpty()) {
+            throw new BusinessException("Fields cannot be patched: " + String.join(", ", unknown), "INVALID_PATCH");
+        }
+        if (fields.isEmpty()) {
+            throw new BusinessException("Patch must change at least one of: " + String.join(", ", PATCHABLE_FIELDS),
+                    "INVALID_PATCH");
+        }
+        return new ProductPatch(new TreeSet<>(fields), values);
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    public ProductRequestDto values() {
+        return values;
+    }
+
+    /**
+     * Mismo parche con otro valor de stock (p. ej. ajustado a las reservas sin guardar)
+     */
+    public ProductPatch withStock(int stock) {
+        Set<String> withStock = new TreeSet<>(fields);
+        withStock.add("stock");
+        return new ProductPatch(withStock, values.toBuilder().stock(stock).build());
+    }
+
+    /**
+     * Campos que cambian en el producto almacenado: los del parche más los derivados
+     */
+    public Set<String> storedFields() {
+        Set<String> stored = new TreeSet<>(fields);
+        if (includes("stock")) {
+            stored.add("availableQuantity");
+            stored.add("available");
+        }
+        stored.add("updatedAt");
+        return stored;
+    }
+
+    /**
+     * Copia superficial del producto con solo los campos del parche sustituidos
+     */
+    public ProductDto applyTo(ProductDto current) {
+        ProductDto.ProductDtoBuilder builder = current.toBuilder();
+        if (includes("title")) {
+            builder.title(values.getTitle());
+        }
+        if (includes("description")) {
+            builder.description(values.getDescription());
+        }
+        if (includes("price")) {
+            builder.price(values.getPrice());
+        }
+        if (includes("currency")) {
+            builder.currency(values.getCurrency());
+        }
+        if (includes("status")) {
+            builder.status(values.getStatus());
+        }
+        if (includes("category")) {
+            builder.category(values.getCategory());
+        }
+        if (includes("subcategory")) {
+            builder.subcategory(values.getSubcategory());
+        }
+        if (includes("sellerId")) {
+            builder.sellerId(values.getSellerId());
+        }
+        if (includes("sellerName")) {
+            builder.sellerName(values.getSellerName());
+        }
+        if (includes("listingType")) {
+            builder.listingType(values.getListingType());
+        }
+        if (includes("freeShipping")) {
+            builder.freeShipping(values.getFreeShipping());
+        }
+        if (includes("shippingCost")) {
+            builder.shippingCost(values.getShippingCost());
+        }
+        if (includes("weight")) {
+            builder.weight(values.getWeight());
+        }
+        if (includes("width")) {
+            builder.width(values.getWidth());
+        }
+        if (includes("height")) {
+            builder.height(values.getHeight());
+        }
+        if (includes("length")) {
+            builder.length(values.getLength());
+        }
+        if (includes("images")) {
+            builder.images(values.getImages());
+        }
+        if (includes("attributes")) {
+            builder.attributes(values.getAttributes());
+        }
+        if (includes("condition")) {
+            builder.condition(values.getCondition());
+        }
+        if (includes("brand")) {
+            builder.brand(values.getBrand());
+        }
+        if (includes("model")) {
+            builder.model(values.getModel());
+        }
+        if (includes("stock")) {
+            // Igual que Stock.of: la disponibilidad depende de la cantidad
+            int quantity = values.getStock() != null ? values.getStock() : 0;
+            builder.stock(quantity)
+                   .availableQuantity(quantity)
+                   .available(quantity > 0);
+        }
+        if (includes("sku")) {
+            builder.sku(values.getSku());
+        }
+        if (includes("barcode")) {
+            builder.barcode(values.getBarcode());
+        }
+        if (includes("tags")) {
+            builder.tags(values.getTags());
+        }
+        if (includes("warranty")) {
+            builder.warranty(values.getWarranty());
+        }
+        if (includes("returnPolicy")) {
+            builder.returnPolicy(values.getReturnPolicy());
+        }
+        return builder.updatedAt(LocalDateTime.now()).build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.project.application.port.in;
+
+import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.StockHoldNotFoundException;
+import com.example.project.infraestructure.dto.StockHoldResponseDto;
+import com.example.project.infraestructure.dto.StockLevelResponseDto;
+import com.example.project.infraestructure.dto.StockReservationResponseDto;
+
+public interface ProductStockUseCase {
+    public StockReservationResponseDto reserveStock(String id, int quantity) throws ProductNotFoundException;
+    public StockReservationResponseDto releaseStock(String id, int quantity) throws ProductNotFoundException;
+    public StockLevelResponseDto stockLevel(String id) throws ProductNotFoundException;
+    public StockHoldResponseDto holdStock(String id, int quantity, Integer ttlSeconds) throws ProductNotFoundException;
+    public StockHoldResponseDto confirmStockHold(String id, String holdId) throws StockHoldNotFoundException;
+    public void cancelStockHold(String id, String holdId) throws StockHoldNotFoundException;
+    // Tareas en segundo plano: guardar las reservas pendientes y liberar las reservas temporales vencidas
+    public int flushStock();
+    public int expireStockHolds();
+}
@@ -2,16 +2,41 @@ package com.example.project.application.port.in;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 
 import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.mapper.ProductFieldSet;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.infraestructure.dto.ProductBatchResponseDto;
+import com.example.project.infraestructure.dto.ProductMultiGetResponseDto;
+import com.example.project.infraestructure.dto.ProductPageResponseDto;
 import com.example.project.infraestructure.dto.ProductRequestDto;
 import com.example.project.infraestructure.dto.ProductResponseDto;
 
 public interface ProductUseCase {
     public ProductResponseDto createProduct(ProductRequestDto productRequestDto); 
+    public ProductBatchResponseDto createProducts(List<ProductRequestDto> productRequestDtos);
     public ProductResponseDto updateProduct(String id, ProductRequestDto productRequestDto) throws ProductNotFoundException; 
+    public ProductResponseDto updateProduct(String id, ProductRequestDto productRequestDto, OptionalLong expectedVersion) throws ProductNotFoundException, ProductVersionConflictException;
+    public ProductResponseDto patchProduct(String id, ProductPatch patch, OptionalLong expectedVersion) throws ProductNotFoundException, ProductVersionConflictException;
     public Optional<ProductResponseDto> filterById(String id);
+    public ProductMultiGetResponseDto filterByIds(List<String> ids);
     public Optional<ProductResponseDto> filterByTitle(String title);
     public Optional<List<ProductResponseDto>> filterByKeyword(String keyword);
+    public Optional<List<ProductResponseDto>> filterByKeywordRanked(String keyword, int limit);
     public List<ProductResponseDto> listAll();
+    public ProductPageResponseDto listPage(String cursor, int limit);
+    // Variantes con proyección: solo se copian los campos pedidos
+    public Optional<ProductResponseDto> filterById(String id, ProductFieldSet fields);
+    public Optional<ProductResponseDto> filterByTitle(String title, ProductFieldSet fields);
+    public Optional<List<ProductResponseDto>> filterByKeyword(String keyword, ProductFieldSet fields);
+    public Optional<List<ProductResponseDto>> filterByKeywordRanked(String keyword, int limit, ProductFieldSet fields);
+    public List<ProductResponseDto> listAll(ProductFieldSet fields);
+    public ProductPageResponseDto listPage(String cursor, int limit, ProductFieldSet fields);
+    public void forEachProduct(Consumer<ProductResponseDto> action);
+    // Versiones para las peticiones condicionales: no cargan el producto
+    public OptionalLong productVersion(String id);
+    public long catalogVersion();
 }
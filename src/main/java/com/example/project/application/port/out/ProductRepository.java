@@ -1,15 +1,28 @@
 package com.example.project.application.port.out;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
+import com.example.project.application.mapper.ProductPatch;
 import com.example.project.domain.model.Product;
 
 public interface ProductRepository {
     public Product save(Product product);
+    // Una sola escritura para todo el lote; los productos sin ID se crean con uno nuevo
+    public List<Product> saveAll(List<Product> products);
+    // Escrituras condicionales (If-Match): ProductVersionConflictException si la versión no coincide
+    public Product save(Product product, OptionalLong expectedVersion);
+    public Optional<Product> patch(String id, ProductPatch patch, OptionalLong expectedVersion);
     public Optional<Product> findById(String id);
+    public List<Product> findAllById(Collection<String> ids);
     public Optional<Product> findByTitle(String title);
     public List<Product> findAll();
+    public List<Product> findPage(String afterId, int limit);
     public List<Product> findByKeyword(String keyword);
+    public List<Product> findTopByKeyword(String keyword, int limit);
     public int countByKeyword(String keyword);
+    public OptionalLong findVersionById(String id);
+    public long getCatalogVersion();
 }
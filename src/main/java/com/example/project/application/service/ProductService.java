@@ -1,26 +1,61 @@
 package com.example.project.application.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.example.project.application.exception.BusinessException;
 import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.mapper.ProductFieldSet;
 import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
 import com.example.project.application.port.in.ProductUseCase;
 import com.example.project.application.port.out.ProductRepository;
 import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductBatchItemDto;
+import com.example.project.infraestructure.dto.ProductBatchResponseDto;
+import com.example.project.infraestructure.dto.ProductMultiGetItemDto;
+import com.example.project.infraestructure.dto.ProductMultiGetResponseDto;
+import com.example.project.infraestructure.dto.ProductPageResponseDto;
 import com.example.project.infraestructure.dto.ProductRequestDto;
 import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.example.project.infraestructure.dto.ValidationErrorDto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 public class ProductService implements ProductUseCase {
     private final ProductMapper productMapper;
     private final ProductRepository productRepository;
-    public ProductService(ProductRepository productRepository, ProductMapper productMapper){
+    private final Validator validator;
+
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 500;
+    static final int EXPORT_BATCH_SIZE = 500;
+    public static final int MAX_CREATE_BATCH_SIZE = 5000;
+    public static final int MAX_MULTI_GET_SIZE = 200;
+
+    // Reservas de stock aún sin guardar; PUT y PATCH de stock se aplican sobre ellas
+    private final ProductStockService stockService;
+
+    public ProductService(ProductRepository productRepository, ProductMapper productMapper, Validator validator,
+                          ProductStockService stockService){
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.validator = validator;
+        this.stockService = stockService;
     }
 
 
@@ -31,34 +66,304 @@ public class ProductService implements ProductUseCase {
         return productMapper.toResponseDto(saved);
     }
 
+    /**
+     * Alta por lotes: cada elemento se valida por separado y los válidos se guardan juntos
+     * con un único saveAll (una sola escritura en el almacenamiento). Los inválidos no
+     * impiden el alta del resto y se devuelven con sus errores.
+     */
+    @Override
+    public ProductBatchResponseDto createProducts(List<ProductRequestDto> productRequestDtos) {
+        if (productRequestDtos == null || productRequestDtos.isEmpty()
+                || productRequestDtos.size() > MAX_CREATE_BATCH_SIZE) {
+            throw new BusinessException("batch must contain between 1 and " + MAX_CREATE_BATCH_SIZE + " products",
+                    "INVALID_BATCH");
+        }
+        ProductBatchItemDto[] results = new ProductBatchItemDto[productRequestDtos.size()];
+        List<Product> products = new ArrayList<>(productRequestDtos.size());
+        List<Integer> indexes = new ArrayList<>(productRequestDtos.size());
+        for (int i = 0; i < productRequestDtos.size(); i++) {
+            ProductRequestDto request = productRequestDtos.get(i);
+            List<ValidationErrorDto> errors = validate(request);
+            if (errors.isEmpty()) {
+                try {
+                    products.add(productMapper.toDomain(request));
+                    indexes.add(i);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    // Reglas del dominio que no expresan las anotaciones del DTO
+                    errors = List.of(new ValidationErrorDto(null, e.getMessage(), "VALIDATION_ERROR"));
+                }
+            }
+            results[i] = ProductBatchItemDto.invalid(i, errors);
+        }
+
+        List<Product> saved = products.isEmpty() ? List.of() : productRepository.saveAll(products);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = indexes.get(j);
+            results[index] = ProductBatchItemDto.created(index, productMapper.toResponseDto(saved.get(j)));
+        }
+        return new ProductBatchResponseDto(saved.size(), results.length - saved.size(), List.of(results));
+    }
+
+    private List<ValidationErrorDto> validate(ProductRequestDto request) {
+        if (request == null) {
+            return List.of(new ValidationErrorDto(null, "El producto no puede ser nulo", "VALIDATION_ERROR"));
+        }
+        List<ValidationErrorDto> errors = new ArrayList<>();
+        for (ConstraintViolation<ProductRequestDto> violation : validator.validate(request)) {
+            errors.add(ValidationErrorDto.builder()
+                    .field(violation.getPropertyPath().toString())
+                    .message(violation.getMessage())
+                    .code("VALIDATION_ERROR")
+                    .rejectedValue(violation.getInvalidValue())
+                    .build());
+        }
+        return errors;
+    }
+
     @Override
     public Optional<ProductResponseDto> filterById(String id) {
+        return filterById(id, productMapper::toResponseDto);
+    }
+
+    @Override
+    public Optional<ProductResponseDto> filterById(String id, ProductFieldSet fields) {
+        return filterById(id, projection(fields));
+    }
+
+    private Optional<ProductResponseDto> filterById(String id, Function<Product, ProductResponseDto> toResponse) {
         Optional<Product> product = productRepository.findById(id);
-        return product.map(productMapper::toResponseDto);
+        return product.map(toResponse);
+    }
+
+    /**
+     * Consulta múltiple con una sola llamada al repositorio. Cada producto se mapea una vez
+     * aunque su ID se repita, y los IDs inexistentes se marcan como no encontrados.
+     */
+    @Override
+    public ProductMultiGetResponseDto filterByIds(List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_MULTI_GET_SIZE) {
+            throw new BusinessException("ids must contain between 1 and " + MAX_MULTI_GET_SIZE + " ids", "INVALID_IDS");
+        }
+        Map<String, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            productsById.putIfAbsent(product.getId(), product);
+        }
+        Map<String, ProductResponseDto> responses = new HashMap<>();
+        List<ProductMultiGetItemDto> items = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Product product = productsById.get(id);
+            items.add(product != null
+                    ? ProductMultiGetItemDto.found(id, responses.computeIfAbsent(id, key -> productMapper.toResponseDto(product)))
+                    : ProductMultiGetItemDto.missing(id));
+        }
+        return new ProductMultiGetResponseDto(items);
     }
 
     @Override
     public Optional<ProductResponseDto> filterByTitle(String title) {
+        return filterByTitle(title, productMapper::toResponseDto);
+    }
+
+    @Override
+    public Optional<ProductResponseDto> filterByTitle(String title, ProductFieldSet fields) {
+        return filterByTitle(title, projection(fields));
+    }
+
+    private Optional<ProductResponseDto> filterByTitle(String title, Function<Product, ProductResponseDto> toResponse) {
         Optional<Product> product = productRepository.findByTitle(title);
-        return product.map(productMapper::toResponseDto);
+        return product.map(toResponse);
     }
 
     @Override
     public List<ProductResponseDto> listAll() {
+        return listAll(productMapper::toResponseDto);
+    }
+
+    @Override
+    public List<ProductResponseDto> listAll(ProductFieldSet fields) {
+        return listAll(projection(fields));
+    }
+
+    private List<ProductResponseDto> listAll(Function<Product, ProductResponseDto> toResponse) {
         List<Product> product = productRepository.findAll();
         return product.stream()
-                      .map(productMapper::toResponseDto)
+                      .map(toResponse)
                       .collect(Collectors.toList());
     }
 
+    /**
+     * Mapeo que copia solo los campos pedidos
+     */
+    private Function<Product, ProductResponseDto> projection(ProductFieldSet fields) {
+        return product -> productMapper.toResponseDto(product, fields);
+    }
+
+    /**
+     * Página en orden de ID. El cursor es opaco para el cliente: codifica (base64url) el ID
+     * del último producto devuelto, así que sigue siendo válido aunque ese producto se borre.
+     */
+    @Override
+    public ProductPageResponseDto listPage(String cursor, int limit) {
+        return listPage(cursor, limit, productMapper::toResponseDto);
+    }
+
+    @Override
+    public ProductPageResponseDto listPage(String cursor, int limit, ProductFieldSet fields) {
+        return listPage(cursor, limit, projection(fields));
+    }
+
+    private ProductPageResponseDto listPage(String cursor, int limit, Function<Product, ProductResponseDto> toResponse) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new BusinessException("limit must be between 1 and " + MAX_PAGE_LIMIT, "INVALID_LIMIT");
+        }
+        String afterId = decodeCursor(cursor);
+
+        // Se pide un elemento más para saber si hay página siguiente
+        List<Product> products = productRepository.findPage(afterId, limit + 1);
+        boolean hasMore = products.size() > limit;
+        List<Product> page = hasMore ? products.subList(0, limit) : products;
+
+        List<ProductResponseDto> items = page.stream()
+                .map(toResponse)
+                .collect(Collectors.toList());
+        String nextCursor = hasMore ? encodeCursor(page.get(limit - 1).getId()) : null;
+        return new ProductPageResponseDto(items, nextCursor);
+    }
+
+    /**
+     * Recorre el catálogo completo por lotes de páginas: en memoria solo hay un lote cada vez
+     */
+    @Override
+    public void forEachProduct(Consumer<ProductResponseDto> action) {
+        String afterId = null;
+        List<Product> batch;
+        do {
+            batch = productRepository.findPage(afterId, EXPORT_BATCH_SIZE);
+            for (Product product : batch) {
+                action.accept(productMapper.toResponseDto(product));
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+    }
+
+    @Override
+    public OptionalLong productVersion(String id) {
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    public long catalogVersion() {
+        return productRepository.getCatalogVersion();
+    }
+
+    private static String encodeCursor(String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid cursor", "INVALID_CURSOR", e);
+        }
+    }
+
     @Override
     public ProductResponseDto updateProduct(String id, ProductRequestDto productRequestDto) {
+        return stockService.withProductLock(id, () -> applyUpdate(id, productRequestDto, OptionalLong.empty()));
+    }
+
+    /**
+     * El repositorio vuelve a comparar la versión al escribir; esta comprobación previa evita
+     * ajustar el contador de stock (y rechazar por falta de stock) una petición que ya es un 409
+     */
+    private void checkVersion(String id, OptionalLong expectedVersion) {
+        if (expectedVersion.isPresent()) {
+            OptionalLong currentVersion = productRepository.findVersionById(id);
+            if (currentVersion.isPresent() && currentVersion.getAsLong() != expectedVersion.getAsLong()) {
+                throw ProductVersionConflictException.withVersions(id, expectedVersion.getAsLong(), currentVersion);
+            }
+        }
+    }
+
+    /**
+     * Con expectedVersion (If-Match) el repositorio solo escribe si nadie ha modificado el
+     * producto desde esa versión; si no, ProductVersionConflictException
+     */
+    @Override
+    public ProductResponseDto updateProduct(String id, ProductRequestDto productRequestDto, OptionalLong expectedVersion) {
+        return stockService.withProductLock(id, () -> applyUpdate(id, productRequestDto, expectedVersion));
+    }
+
+    /**
+     * Solo se validan las restricciones de los campos presentes en el parche; el resto del
+     * producto ya pasó la validación cuando se guardó. El stock, si viene, se aplica sobre las
+     * reservas aún sin guardar (ver ProductStockService.adjustStock()).
+     */
+    @Override
+    public ProductResponseDto patchProduct(String id, ProductPatch patch, OptionalLong expectedVersion) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<ProductRequestDto> violation : validator.validate(patch.values())) {
+            String path = violation.getPropertyPath().toString();
+            String field = path.split("[.\\[]", 2)[0];
+            if (patch.includes(field)) {
+                errors.add(path + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BusinessException("Invalid patch: " + String.join("; ", errors), "INVALID_PATCH");
+        }
+        return stockService.withProductLock(id, () -> {
+            Integer flushedStock = stockService.flushPendingStock(id);
+            if (!patch.includes("stock")) {
+                return productRepository.patch(id, patch, expectedVersion)
+                        .map(productMapper::toResponseDto)
+                        .orElseThrow(() -> ProductNotFoundException.withId(id));
+            }
+            checkVersion(id, expectedVersion);
+            Product existingProduct = productRepository.findById(id)
+                    .orElseThrow(() -> ProductNotFoundException.withId(id));
+            int storedStock = flushedStock != null ? flushedStock : existingProduct.getStock().getQuantity();
+            int requestedStock = patch.values().getStock() != null ? patch.values().getStock() : 0;
+            int stock = stockService.adjustStock(id, storedStock, requestedStock);
+            Optional<Product> patched;
+            try {
+                patched = productRepository.patch(id, patch.withStock(stock), expectedVersion);
+            } catch (RuntimeException e) {
+                stockService.undoStockAdjustment(id, storedStock, requestedStock, e);
+                throw e;
+            }
+            if (patched.isEmpty()) {
+                stockService.retireStock(id);
+                throw ProductNotFoundException.withId(id);
+            }
+            stockService.markStockSaved(id, stock);
+            return productMapper.toResponseDto(patched.get());
+        });
+    }
+
+    /**
+     * El stock pendiente se guarda antes de comparar la versión: un If-Match leído antes de
+     * las últimas reservas es un conflicto. El stock enviado se aplica sobre esas reservas.
+     */
+    private ProductResponseDto applyUpdate(String id, ProductRequestDto productRequestDto, OptionalLong expectedVersion) {
+        Integer flushedStock = stockService.flushPendingStock(id);
+        checkVersion(id, expectedVersion);
         Optional<Product> existingProduct = productRepository.findById(id);
         if (existingProduct.isEmpty()) {
             throw ProductNotFoundException.withId(id);
         }
+        int storedStock = flushedStock != null ? flushedStock : existingProduct.get().getStock().getQuantity();
         
         Product productToUpdate = productMapper.toDomain(productRequestDto);
+        int requestedStock = productToUpdate.getStock().getQuantity();
+        int stock = stockService.adjustStock(id, storedStock, requestedStock);
         
         Product updatedProduct = Product.newBuilder(id)
                 .basicInfo(productToUpdate.getTitle(), productToUpdate.getDescription(), 
@@ -67,7 +372,7 @@ public class ProductService implements ProductUseCase {
                 .seller(productToUpdate.getSellerId(), productToUpdate.getSellerName())
                 .listing(productToUpdate.getListingType(), productToUpdate.getFreeShipping())
                 .condition(productToUpdate.getCondition())
-                .stock(productToUpdate.getStock().getQuantity())
+                .stock(stock)
                 .status(productToUpdate.getStatus())
                 .shipping(productToUpdate.getShippingCost())
                 .dimensions(productToUpdate.getWeight(), productToUpdate.getWidth(), 
@@ -83,12 +388,31 @@ public class ProductService implements ProductUseCase {
                 .lastSoldAt(productToUpdate.getLastSoldAt())
                 .build();
         
-        Product savedProduct = productRepository.save(updatedProduct);
+        Product savedProduct;
+        try {
+            savedProduct = expectedVersion.isPresent()
+                    ? productRepository.save(updatedProduct, expectedVersion)
+                    : productRepository.save(updatedProduct);
+        } catch (RuntimeException e) {
+            stockService.undoStockAdjustment(id, storedStock, requestedStock, e);
+            throw e;
+        }
+        stockService.markStockSaved(id, stock);
         return productMapper.toResponseDto(savedProduct);
     }
 
     @Override
     public Optional<List<ProductResponseDto>> filterByKeyword(String keyword) {
+        return filterByKeyword(keyword, productMapper::toResponseDto);
+    }
+
+    @Override
+    public Optional<List<ProductResponseDto>> filterByKeyword(String keyword, ProductFieldSet fields) {
+        return filterByKeyword(keyword, projection(fields));
+    }
+
+    private Optional<List<ProductResponseDto>> filterByKeyword(String keyword,
+                                                               Function<Product, ProductResponseDto> toResponse) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return Optional.empty();
         }
@@ -100,11 +424,44 @@ public class ProductService implements ProductUseCase {
         }
         
         List<ProductResponseDto> responseDtos = products.stream()
-                .map(productMapper::toResponseDto)
+                .map(toResponse)
                 .collect(Collectors.toList());
         
         return Optional.of(responseDtos);
     }
 
+    /**
+     * Búsqueda ordenada por relevancia (BM25): solo se mapean los limit mejores resultados
+     */
+    @Override
+    public Optional<List<ProductResponseDto>> filterByKeywordRanked(String keyword, int limit) {
+        return filterByKeywordRanked(keyword, limit, productMapper::toResponseDto);
+    }
+
+    @Override
+    public Optional<List<ProductResponseDto>> filterByKeywordRanked(String keyword, int limit, ProductFieldSet fields) {
+        return filterByKeywordRanked(keyword, limit, projection(fields));
+    }
+
+    private Optional<List<ProductResponseDto>> filterByKeywordRanked(String keyword, int limit,
+                                                                     Function<Product, ProductResponseDto> toResponse) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new BusinessException("limit must be between 1 and " + MAX_SEARCH_LIMIT, "INVALID_LIMIT");
+        }
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Product> products = productRepository.findTopByKeyword(keyword.trim().toLowerCase(), limit);
+
+        if (products.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(products.stream()
+                .map(toResponse)
+                .collect(Collectors.toList()));
+    }
+
     
 }
@@ -0,0 +1,258 @@
+package com.example.project.application.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+
+import com.example.project.application.concurrency.StockCounters;
+import com.example.project.application.concurrency.StockHolds;
+import com.example.project.application.concurrency.StripedLock;
+import com.example.project.application.exception.BusinessException;
+import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.StockHoldNotFoundException;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.application.port.in.ProductStockUseCase;
+import com.example.project.application.port.out.ProductRepository;
+import com.example.project.domain.common.valueobjects.StockHold;
+import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductRequestDto;
+import com.example.project.infraestructure.dto.StockHoldResponseDto;
+import com.example.project.infraestructure.dto.StockLevelResponseDto;
+import com.example.project.infraestructure.dto.StockReservationResponseDto;
+
+/**
+ * Reservas de stock sobre contadores en memoria.
+ *
+ * Las reservas y las reservas temporales no escriben en el repositorio: flushStock() guarda
+ * después el valor final de cada producto. ProductService usa los métodos de paquete para que
+ * un PUT o PATCH de stock se aplique sobre las reservas aún sin guardar.
+ */
+@Service
+public class ProductStockService implements ProductStockUseCase {
+    private final ProductRepository productRepository;
+
+    public static final int DEFAULT_HOLD_TTL_SECONDS = 300;
+    public static final int MAX_HOLD_TTL_SECONDS = 3600;
+
+    // Serializa las operaciones leer-modificar-escribir sobre un mismo producto
+    private final StripedLock productLocks = new StripedLock(64);
+
+    // Reservas de stock sin bloqueo; se guardan en segundo plano con flushStock()
+    private final StockCounters stockCounters = new StockCounters();
+    // Reservas temporales sobre esos contadores; caducan con expireStockHolds()
+    private final StockHolds stockHolds = new StockHolds(stockCounters, System::currentTimeMillis);
+
+    public ProductStockService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Reserva unidades con un compareAndSet sobre el contador en memoria del producto: no toma
+     * el bloqueo del producto ni espera a la escritura, que se hace después en flushStock()
+     */
+    @Override
+    public StockReservationResponseDto reserveStock(String id, int quantity) {
+        checkStockQuantity(quantity);
+        int remaining = stockCounters.reserve(id, quantity, this::loadStock);
+        return new StockReservationResponseDto(id, quantity, remaining);
+    }
+
+    /**
+     * Devuelve al stock unidades de reservas anteriores; nunca más de las reservadas y aún no
+     * liberadas (StockReleaseExceededException)
+     */
+    @Override
+    public StockReservationResponseDto releaseStock(String id, int quantity) {
+        checkStockQuantity(quantity);
+        int remaining = stockCounters.release(id, quantity, this::loadStock);
+        return new StockReservationResponseDto(id, quantity, remaining);
+    }
+
+    /**
+     * Stock en vivo: incluye las reservas aún no guardadas y descuenta lo retenido
+     */
+    @Override
+    public StockLevelResponseDto stockLevel(String id) {
+        int available = stockCounters.available(id, this::loadStock);
+        Integer stock = stockCounters.current(id);
+        int held = stockCounters.held(id);
+        return new StockLevelResponseDto(id, stock != null ? stock : available, held, available);
+    }
+
+    /**
+     * Retiene unidades durante ttlSeconds (por defecto DEFAULT_HOLD_TTL_SECONDS). Lo retenido no
+     * cuenta como disponible para otras reservas y se libera solo si no se confirma a tiempo.
+     */
+    @Override
+    public StockHoldResponseDto holdStock(String id, int quantity, Integer ttlSeconds) {
+        checkStockQuantity(quantity);
+        int ttl = ttlSeconds != null ? ttlSeconds : DEFAULT_HOLD_TTL_SECONDS;
+        if (ttl <= 0 || ttl > MAX_HOLD_TTL_SECONDS) {
+            throw new BusinessException("TTL must be between 1 and " + MAX_HOLD_TTL_SECONDS + " seconds", "INVALID_TTL");
+        }
+        StockHold hold = stockHolds.create(id, quantity, Duration.ofSeconds(ttl), this::loadStock);
+        return toHoldResponse(hold);
+    }
+
+    /**
+     * La reserva pasa a ser definitiva: las unidades salen del stock y se guardan con flushStock()
+     */
+    @Override
+    public StockHoldResponseDto confirmStockHold(String id, String holdId) {
+        checkActiveHold(id, holdId);
+        StockHold hold = stockHolds.confirm(holdId);
+        if (hold == null) {
+            throw StockHoldNotFoundException.withId(holdId);
+        }
+        return toHoldResponse(hold);
+    }
+
+    @Override
+    public void cancelStockHold(String id, String holdId) {
+        checkActiveHold(id, holdId);
+        if (stockHolds.cancel(holdId) == null) {
+            throw StockHoldNotFoundException.withId(holdId);
+        }
+    }
+
+    @Override
+    public int expireStockHolds() {
+        return stockHolds.expire();
+    }
+
+    /**
+     * Guarda el stock de los productos con reservas pendientes, una escritura por producto
+     * aunque haya habido muchas reservas. Se hace con el bloqueo del producto para no pisar
+     * un PUT o PATCH de stock, que ajusta el contador al escribir.
+     */
+    @Override
+    public int flushStock() {
+        int written = 0;
+        RuntimeException failure = null;
+        for (String id : stockCounters.drainPending()) {
+            try {
+                if (productLocks.withLock(id, () -> writeStock(id))) {
+                    written++;
+                }
+            } catch (RuntimeException e) {
+                // Sigue pendiente para el siguiente intento; el resto de productos se guarda igualmente
+                stockCounters.markPending(id);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return written;
+    }
+
+    /**
+     * Ejecuta action con el bloqueo del producto, el mismo que toma flushStock()
+     */
+    <T> T withProductLock(String id, Supplier<T> action) {
+        return productLocks.withLock(id, action);
+    }
+
+    /**
+     * Guarda ya el stock pendiente del producto, para que la versión que se compara con If-Match
+     * incluya las reservas. Devuelve el stock almacenado antes de guardarlo, o null si no había
+     * nada pendiente. Se llama con el bloqueo del producto.
+     */
+    Integer flushPendingStock(String id) {
+        if (!stockCounters.drainPending(id)) {
+            return null;
+        }
+        try {
+            Optional<Product> stored = productRepository.findById(id);
+            if (stored.isEmpty()) {
+                stockCounters.retire(id);
+                return null;
+            }
+            writeStock(id);
+            return stored.get().getStock().getQuantity();
+        } catch (RuntimeException e) {
+            stockCounters.markPending(id);
+            throw e;
+        }
+    }
+
+    /**
+     * El stock de un PUT o PATCH se aplica como diferencia con el almacenado, que es el que el
+     * cliente pudo leer: las reservas aún sin guardar se conservan. Devuelve el stock a escribir.
+     */
+    int adjustStock(String id, int storedStock, int requestedStock) {
+        return stockCounters.adjustStock(id, requestedStock - storedStock, key -> storedStock);
+    }
+
+    /**
+     * La escritura falló después de ajustar el contador: se deshace el ajuste
+     */
+    void undoStockAdjustment(String id, int storedStock, int requestedStock, RuntimeException failure) {
+        int delta = requestedStock - storedStock;
+        if (delta == 0) {
+            return;
+        }
+        try {
+            stockCounters.adjustStock(id, -delta, null);
+        } catch (RuntimeException undo) {
+            // Las reservas posteriores ya usaron esas unidades
+            failure.addSuppressed(undo);
+        }
+    }
+
+    void markStockSaved(String id, int stock) {
+        stockCounters.markSaved(id, stock);
+    }
+
+    /**
+     * El producto ya no existe: se descarta su contador
+     */
+    void retireStock(String id) {
+        stockCounters.retire(id);
+    }
+
+    private void checkActiveHold(String id, String holdId) {
+        StockHold hold = stockHolds.get(holdId);
+        if (hold == null || !hold.getProductId().equals(id)) {
+            throw StockHoldNotFoundException.withId(holdId);
+        }
+    }
+
+    private StockHoldResponseDto toHoldResponse(StockHold hold) {
+        return new StockHoldResponseDto(hold.getId(), hold.getProductId(), hold.getQuantity(), hold.getExpiresAt(),
+                stockCounters.available(hold.getProductId(), this::loadStock));
+    }
+
+    private boolean writeStock(String id) {
+        Integer stock = stockCounters.current(id);
+        if (stock == null) {
+            return false;
+        }
+        ProductPatch patch = ProductPatch.of(Set.of("stock"), ProductRequestDto.builder().stock(stock).build());
+        if (productRepository.patch(id, patch, OptionalLong.empty()).isEmpty()) {
+            // El producto ya no existe
+            stockCounters.retire(id);
+            return false;
+        }
+        return true;
+    }
+
+    private void checkStockQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new BusinessException("Quantity must be greater than 0", "INVALID_QUANTITY");
+        }
+    }
+
+    private int loadStock(String id) {
+        return productRepository.findById(id)
+                .orElseThrow(() -> ProductNotFoundException.withId(id))
+                .getStock()
+                .getQuantity();
+    }
+}
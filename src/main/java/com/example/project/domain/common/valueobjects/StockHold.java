@@ -0,0 +1,68 @@
+package com.example.project.domain.common.valueobjects;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+public class StockHold {
+
+    private final String id;
+    private final String productId;
+    private final int quantity;
+    private final Instant expiresAt;
+
+    private StockHold(String id, String productId, int quantity, Instant expiresAt) {
+        if (productId == null || expiresAt == null) {
+            throw new IllegalArgumentException("Stock hold requires a product and an expiration");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Stock hold quantity must be positive");
+        }
+        this.id = id;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public static StockHold of(String productId, int quantity, Instant expiresAt) {
+        return new StockHold(UUID.randomUUID().toString(), productId, quantity, expiresAt);
+    }
+
+    public boolean isExpiredAt(Instant instant) {
+        return !instant.isBefore(expiresAt);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StockHold that = (StockHold) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StockHold{id=%s, productId=%s, quantity=%d, expiresAt=%s}", id, productId, quantity, expiresAt);
+    }
+}
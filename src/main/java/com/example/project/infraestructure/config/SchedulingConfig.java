@@ -0,0 +1,15 @@
+package com.example.project.infraestructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Activa las tareas @Scheduled (compactación del log, guardado del stock, caducidad de holds).
+ *
+ * Comparten el TaskScheduler de Spring Boot, configurado con spring.task.scheduling.*: al parar
+ * no interrumpe las ejecuciones en curso, sino que espera a que terminen.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,10 @@ package com.example.project.infraestructure.controller;
 
 import com.example.project.application.exception.BusinessException;
 import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.exception.StockHoldNotFoundException;
+import com.example.project.application.exception.StockReleaseExceededException;
+import com.example.project.domain.common.exceptions.InsufficientStockException;
 import com.example.project.infraestructure.dto.ErrorResponseDto;
 import com.example.project.infraestructure.dto.ValidationErrorDto;
 import org.slf4j.Logger;
@@ -76,6 +80,98 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    /**
+     * Maneja reservas temporales de stock inexistentes, ya resueltas o caducadas
+     */
+    @ExceptionHandler(StockHoldNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleStockHoldNotFound(
+            StockHoldNotFoundException ex, 
+            WebRequest request) {
+        
+        String traceId = generateTraceId();
+        String path = getCurrentPath(request);
+        
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                "HOLD_NOT_FOUND",
+                ex.getMessage(),
+                path
+        );
+        errorResponse.setTraceId(traceId);
+        
+        logger.warn("Stock hold not found [{}] on path {}: {}", traceId, path, ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+    
+    /**
+     * Maneja escrituras condicionales (If-Match) sobre una versión que ya no es la vigente
+     */
+    @ExceptionHandler(ProductVersionConflictException.class)
+    public ResponseEntity<ErrorResponseDto> handleVersionConflict(
+            ProductVersionConflictException ex, 
+            WebRequest request) {
+        
+        String traceId = generateTraceId();
+        String path = getCurrentPath(request);
+        
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                "VERSION_CONFLICT",
+                ex.getMessage(),
+                path
+        );
+        errorResponse.setTraceId(traceId);
+        
+        logger.warn("Version conflict [{}] on path {}: {}", traceId, path, ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    /**
+     * Maneja reservas de más unidades de las que hay en stock
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponseDto> handleInsufficientStock(
+            InsufficientStockException ex, 
+            WebRequest request) {
+        
+        String traceId = generateTraceId();
+        String path = getCurrentPath(request);
+        
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                "INSUFFICIENT_STOCK",
+                ex.getMessage(),
+                path
+        );
+        errorResponse.setTraceId(traceId);
+        
+        logger.warn("Insufficient stock [{}] on path {}: {}", traceId, path, ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    /**
+     * Maneja liberaciones de más unidades de las reservadas
+     */
+    @ExceptionHandler(StockReleaseExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleStockReleaseExceeded(
+            StockReleaseExceededException ex, 
+            WebRequest request) {
+        
+        String traceId = generateTraceId();
+        String path = getCurrentPath(request);
+        
+        ErrorResponseDto errorResponse = new ErrorResponseDto(
+                "RELEASE_EXCEEDS_RESERVED",
+                ex.getMessage(),
+                path
+        );
+        errorResponse.setTraceId(traceId);
+        
+        logger.warn("Stock release exceeds reservations [{}] on path {}: {}", traceId, path, ex.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
     /**
      * Maneja errores de negocio
      */
@@ -1,14 +1,39 @@
 package com.example.project.infraestructure.controller;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.project.application.exception.BusinessException;
+import com.example.project.application.mapper.ProductFieldSet;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.application.port.in.ProductStockUseCase;
 import com.example.project.application.port.in.ProductUseCase;
+import com.example.project.infraestructure.dto.ProductBatchResponseDto;
+import com.example.project.infraestructure.dto.ProductMultiGetRequestDto;
+import com.example.project.infraestructure.dto.ProductMultiGetResponseDto;
+import com.example.project.infraestructure.dto.ProductPageResponseDto;
 import com.example.project.infraestructure.dto.ProductRequestDto;
 import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.example.project.infraestructure.dto.StockHoldRequestDto;
+import com.example.project.infraestructure.dto.StockHoldResponseDto;
+import com.example.project.infraestructure.dto.StockLevelResponseDto;
+import com.example.project.infraestructure.dto.StockReservationRequestDto;
+import com.example.project.infraestructure.dto.StockReservationResponseDto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,11 +49,28 @@ import jakarta.validation.Valid;
  * 
  * Endpoints disponibles:
  * - GET /api/product/{id} - Buscar producto por ID
+ * - POST /api/product/_mget - Consultar varios productos por ID en una sola petición
  * - GET /api/product/title/{title} - Buscar producto por título
  * - GET /api/product/search?keyword={keyword} - Buscar productos por palabra clave
+ * - GET /api/product/search?keyword={keyword}&sort=relevance&limit={n} - Los n más relevantes (BM25)
  * - GET /api/product - Listar todos los productos
+ * - GET /api/product?limit={n}&cursor={cursor} - Listar por páginas (cursor opaco)
  * - POST /api/product - Crear nuevo producto
+ * - POST /api/product/batch - Crear varios productos con una sola escritura
  * - PUT /api/product/{id} - Actualizar producto existente
+ * - PATCH /api/product/{id} - Modificar solo algunos campos (JSON Merge Patch)
+ * - POST /api/product/{id}/stock/reserve - Reservar unidades de stock
+ * - POST /api/product/{id}/stock/release - Liberar unidades reservadas
+ * - GET /api/product/{id}/stock - Stock en vivo (stock menos unidades retenidas)
+ * - POST /api/product/{id}/stock/holds - Retener unidades durante un tiempo limitado
+ * - POST /api/product/{id}/stock/holds/{holdId}/confirm - Confirmar una reserva temporal
+ * - DELETE /api/product/{id}/stock/holds/{holdId} - Cancelar una reserva temporal
+ * 
+ * Los GET de consulta aceptan fields=id,title,... para devolver solo esos campos.
+ * Responden con un ETag fuerte (versión del producto o del catálogo) y con 304 si
+ * If-None-Match coincide, sin llegar a cargar productos. El cuerpo gzip de GET /{id} lleva
+ * su propio ETag ("n-gz"). PUT y PATCH aceptan If-Match con cualquiera de los dos y
+ * responden 409 si el producto cambió desde entonces.
  * 
  * Documentación disponible en: http://localhost:8080/swagger-ui.html
  */
@@ -37,21 +79,39 @@ import jakarta.validation.Valid;
 @Tag(name = "Product Management", description = "API para gestión de productos - Operaciones CRUD y búsquedas")
 public class ProductController {
 
+    private static final int DEFAULT_PAGE_LIMIT = 20;
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
     private final ProductUseCase productUseCase;
+    private final ProductStockUseCase productStockUseCase;
+    private final ProductProjectionWriter projectionWriter;
+    private final ProductResponseCache responseCache;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductUseCase productUseCase){
+    public ProductController(ProductUseCase productUseCase, ProductStockUseCase productStockUseCase,
+                             ProductProjectionWriter projectionWriter, ProductResponseCache responseCache,
+                             ObjectMapper objectMapper){
         this.productUseCase = productUseCase;
+        this.productStockUseCase = productStockUseCase;
+        this.projectionWriter = projectionWriter;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Listar todos los productos disponibles
      * 
-     * @return Lista de todos los productos
+     * Sin parámetros devuelve el catálogo completo. Con limit y/o cursor devuelve una página
+     * en orden de ID junto con el cursor de la siguiente (null en la última).
+     * 
+     * @param limit Tamaño de página (1-500, por defecto 20)
+     * @param cursor Cursor devuelto por la página anterior
+     * @return Lista de todos los productos o la página solicitada
      */
     @GetMapping
     @Operation(
         summary = "Listar todos los productos",
-        description = "Obtiene una lista de todos los productos disponibles en el sistema"
+        description = "Obtiene una lista de todos los productos disponibles en el sistema, o una página si se indica limit o cursor"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -61,19 +121,47 @@ public class ProductController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = ProductResponseDto.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "limit fuera de rango o cursor inválido"
         )
     })
-    public ResponseEntity<List<ProductResponseDto>> listAll() {
+    public ResponseEntity<?> listAll(
+        @Parameter(description = "Tamaño de página (1-500)", example = "20")
+        @RequestParam(value = "limit", required = false) Integer limit,
+        @Parameter(description = "Cursor opaco devuelto en nextCursor por la página anterior")
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @Parameter(description = "Campos a devolver separados por comas; el resto no se copia ni se serializa", example = "id,title,price,images")
+        @RequestParam(value = "fields", required = false) String fields,
+        WebRequest webRequest
+    ) {
+        ProductFieldSet fieldSet = fields != null ? ProductFieldSet.parse(fields) : null;
+        String etag = etag(productUseCase.catalogVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (limit != null || cursor != null) {
+            int pageLimit = limit != null ? limit : DEFAULT_PAGE_LIMIT;
+            if (fieldSet != null) {
+                return projected(productUseCase.listPage(cursor, pageLimit, fieldSet), fieldSet, etag);
+            }
+            ProductPageResponseDto page = productUseCase.listPage(cursor, pageLimit);
+            return ResponseEntity.ok().eTag(etag).body(page);
+        }
         System.out.println("Listando todos los productos");
+        if (fieldSet != null) {
+            return projected(productUseCase.listAll(fieldSet), fieldSet, etag);
+        }
         List<ProductResponseDto> product = productUseCase.listAll();
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().eTag(etag).body(product);
     }
 
     /**
      * Buscar producto por ID único (UUID)
      * 
      * @param id ID único del producto
-     * @return Producto encontrado o 404 si no existe
+     * @return Producto encontrado, 304 si el ETag sigue vigente o 404 si no existe
      */
     @GetMapping("/{id}")
     @Operation(
@@ -89,18 +177,148 @@ public class ProductController {
                 schema = @Schema(implementation = ProductResponseDto.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "El ETag de If-None-Match sigue vigente"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Producto no encontrado"
         )
     })
-    public ResponseEntity<ProductResponseDto> findProductById(
+    public ResponseEntity<?> findProductById(
         @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
-        @PathVariable String id
+        @PathVariable String id,
+        @Parameter(description = "Campos a devolver separados por comas; el resto no se copia ni se serializa", example = "id,title,price,images")
+        @RequestParam(value = "fields", required = false) String fields,
+        WebRequest webRequest
     ){
+        ProductFieldSet fieldSet = fields != null ? ProductFieldSet.parse(fields) : null;
+        // La versión se lee antes que el producto: como mucho el ETag queda por detrás de los datos
+        OptionalLong version = productUseCase.productVersion(id);
+        String etag = version.isPresent() ? etag(version.getAsLong()) : null;
+        String notModified = etag != null ? notModified(webRequest, version.getAsLong(), etag) : null;
+        if (notModified != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(notModified).build();
+        }
+        if (fieldSet != null) {
+            return projectedOrNotFound(productUseCase.filterById(id, fieldSet), fieldSet, etag);
+        }
+        if (version.isPresent()) {
+            return cached(id, version.getAsLong(), etag, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
         Optional<ProductResponseDto> product = productUseCase.filterById(id);
-        return product.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+        return okOrNotFound(product, etag);
+    }
+
+    /**
+     * ETag que sigue vigente según If-None-Match, o null. Las dos codificaciones de una versión
+     * lo están igual: el 304 lleva la etiqueta de la variante que tiene el cliente. No se usa
+     * checkNotModified() porque fija en la respuesta el ETag sin comprimir antes de saber cuál
+     * se sirve.
+     */
+    private static String notModified(WebRequest webRequest, long version, String etag) {
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String gzipEtag = gzipEtag(version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return etag;
+            }
+            // If-None-Match usa la comparación débil
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals(gzipEtag)) {
+                return tag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sirve los bytes ya serializados de esa versión; en un fallo mapea, serializa y guarda.
+     * La variante gzip lleva su propio ETag fuerte.
+     */
+    private ResponseEntity<?> cached(String id, long version, String etag, String acceptEncoding) {
+        ProductResponseCache.CachedResponse response = responseCache.get(id, version);
+        if (response == null) {
+            Optional<ProductResponseDto> product = productUseCase.filterById(id);
+            if (product.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            try {
+                response = responseCache.put(id, version, product.get());
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Error serializing product: " + id, e);
+            }
+        }
+        ResponseEntity.BodyBuilder builder = ok(etag).contentType(MediaType.APPLICATION_JSON);
+        if (responseCache.isGzipEnabled()) {
+            builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (response.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return builder.eTag(gzipEtag(version))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(response.gzip());
+        }
+        return builder.body(response.json());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.matches("q=0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consultar varios productos por ID en una sola petición
+     * 
+     * @param request IDs a consultar (1-200)
+     * @return Un resultado por ID, en el orden pedido, con found=false para los que no existen
+     */
+    @PostMapping("/_mget")
+    @Operation(
+        summary = "Consultar varios productos por ID",
+        description = "Resuelve todos los IDs con una sola lectura del almacenamiento y devuelve los resultados en el orden de la petición"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Resultados en el orden pedido; los IDs inexistentes llevan found=false",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProductMultiGetResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lista de IDs vacía o con más de 200 elementos"
+        )
+    })
+    public ResponseEntity<ProductMultiGetResponseDto> findProductsByIds(
+        @Parameter(description = "IDs de los productos a consultar")
+        @RequestBody ProductMultiGetRequestDto request
+    ) {
+        ProductMultiGetResponseDto products = productUseCase.filterByIds(request.getIds());
+        return ResponseEntity.ok(products);
     }
 
     /**
@@ -128,13 +346,23 @@ public class ProductController {
             description = "Producto no encontrado"
         )
     })
-    public ResponseEntity<ProductResponseDto> findProductByTitle(
+    public ResponseEntity<?> findProductByTitle(
         @Parameter(description = "Título exacto del producto", example = "iPhone 15 Pro Max")
-        @PathVariable String title
+        @PathVariable String title,
+        @Parameter(description = "Campos a devolver separados por comas; el resto no se copia ni se serializa", example = "id,title,price,images")
+        @RequestParam(value = "fields", required = false) String fields,
+        WebRequest webRequest
     ){
+        ProductFieldSet fieldSet = fields != null ? ProductFieldSet.parse(fields) : null;
+        String etag = etag(productUseCase.catalogVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (fieldSet != null) {
+            return projectedOrNotFound(productUseCase.filterByTitle(title, fieldSet), fieldSet, etag);
+        }
         Optional<ProductResponseDto> product = productUseCase.filterByTitle(title);
-        return product.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+        return okOrNotFound(product, etag);
     }
 
     /**
@@ -150,7 +378,12 @@ public class ProductController {
      * - Modelo
      * - SKU
      * 
+     * Con sort=relevance los resultados se ordenan por BM25 (título > tags > descripción)
+     * y se devuelven como máximo limit.
+     * 
      * @param keyword Palabra clave para buscar
+     * @param sort Orden opcional ("relevance")
+     * @param limit Número máximo de resultados en modo relevancia
      * @return Lista de productos encontrados o 404 si no hay resultados
      */
     @GetMapping("/search")
@@ -172,13 +405,31 @@ public class ProductController {
             description = "No se encontraron productos con la palabra clave especificada"
         )
     })
-    public ResponseEntity<List<ProductResponseDto>> findProductByKeyword(
+    public ResponseEntity<?> findProductByKeyword(
         @Parameter(description = "Palabra clave para buscar en título, categoría, marca, descripción, etc.", example = "iPhone")
-        @RequestParam("keyword") String keyword
+        @RequestParam("keyword") String keyword,
+        @Parameter(description = "Orden de los resultados: 'relevance' devuelve los más relevantes primero (BM25)", example = "relevance")
+        @RequestParam(value = "sort", required = false) String sort,
+        @Parameter(description = "Número máximo de resultados con sort=relevance (1-100)", example = "20")
+        @RequestParam(value = "limit", defaultValue = "20") int limit,
+        @Parameter(description = "Campos a devolver separados por comas; el resto no se copia ni se serializa", example = "id,title,price,images")
+        @RequestParam(value = "fields", required = false) String fields,
+        WebRequest webRequest
     ){
-        Optional<List<ProductResponseDto>> product = productUseCase.filterByKeyword(keyword);
-        return product.map(ResponseEntity::ok)
-                  .orElse(ResponseEntity.notFound().build());
+        ProductFieldSet fieldSet = fields != null ? ProductFieldSet.parse(fields) : null;
+        String etag = etag(productUseCase.catalogVersion());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        if (fieldSet != null) {
+            return projectedOrNotFound("relevance".equalsIgnoreCase(sort)
+                    ? productUseCase.filterByKeywordRanked(keyword, limit, fieldSet)
+                    : productUseCase.filterByKeyword(keyword, fieldSet), fieldSet, etag);
+        }
+        Optional<List<ProductResponseDto>> product = "relevance".equalsIgnoreCase(sort)
+                ? productUseCase.filterByKeywordRanked(keyword, limit)
+                : productUseCase.filterByKeyword(keyword);
+        return okOrNotFound(product, etag);
     }
 
     /**
@@ -214,6 +465,42 @@ public class ProductController {
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * Crear varios productos en una sola escritura
+     * 
+     * Cada elemento se valida por separado: los válidos se crean y los inválidos se
+     * devuelven con sus errores, sin afectar al resto del lote.
+     * 
+     * @param productDtos Productos a crear (1-5000)
+     * @return Resultado por elemento, en el orden de la petición
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Crear productos por lotes",
+        description = "Crea hasta 5000 productos con una sola escritura en el almacenamiento y devuelve el resultado de cada elemento"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote procesado; cada elemento indica si se creó o sus errores de validación",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProductBatchResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Lote vacío o con más de 5000 productos"
+        )
+    })
+    public ResponseEntity<ProductBatchResponseDto> createProducts(
+        @Parameter(description = "Lista de productos a crear")
+        @RequestBody List<ProductRequestDto> productDtos
+    ) {
+        ProductBatchResponseDto result = productUseCase.createProducts(productDtos);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Actualizar un producto existente
      * 
@@ -242,15 +529,392 @@ public class ProductController {
         @ApiResponse(
             responseCode = "404",
             description = "Producto no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El producto cambió desde la versión indicada en If-Match, o el stock quedaría por debajo de lo retenido"
         )
     })
     public ResponseEntity<ProductResponseDto> updateProduct(
         @Parameter(description = "ID único del producto a actualizar (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
         @PathVariable String id, 
         @Parameter(description = "Datos actualizados del producto")
-        @Valid @RequestBody ProductRequestDto productDto
+        @Valid @RequestBody ProductRequestDto productDto,
+        @Parameter(description = "ETag leído previamente; solo se actualiza si sigue vigente")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        ProductResponseDto updated = productUseCase.updateProduct(id, productDto);
+        OptionalLong expectedVersion = expectedVersion(ifMatch);
+        ProductResponseDto updated = expectedVersion.isPresent()
+                ? productUseCase.updateProduct(id, productDto, expectedVersion)
+                : productUseCase.updateProduct(id, productDto);
+        responseCache.invalidate(id);
         return ResponseEntity.ok(updated);
     }
+
+    /**
+     * Modificar parcialmente un producto (JSON Merge Patch, RFC 7386)
+     * 
+     * Solo cambian los campos presentes en el cuerpo; un null borra el valor.
+     * 
+     * @param id ID del producto a modificar
+     * @param patch Documento con los campos a cambiar
+     * @return Producto modificado o 404 si no existe
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(
+        summary = "Modificar campos de un producto",
+        description = "Aplica un JSON Merge Patch: solo se validan y guardan los campos enviados"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Producto modificado exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProductResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parche vacío, con campos no modificables o con valores inválidos"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El producto cambió desde la versión indicada en If-Match, o el stock quedaría por debajo de lo retenido"
+        )
+    })
+    public ResponseEntity<ProductResponseDto> patchProduct(
+        @Parameter(description = "ID único del producto a modificar (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "Campos a modificar")
+        @RequestBody JsonNode patch,
+        @Parameter(description = "ETag leído previamente; solo se modifica si sigue vigente")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        ProductResponseDto patched = productUseCase.patchProduct(id, toPatch(patch), expectedVersion(ifMatch));
+        responseCache.invalidate(id);
+        return ResponseEntity.ok(patched);
+    }
+
+    /**
+     * Reservar unidades de stock de un producto
+     * 
+     * La reserva es atómica y nunca deja el stock en negativo; el nuevo stock se guarda
+     * en segundo plano, así que GET puede tardar unos instantes en reflejarlo.
+     * 
+     * @param id ID del producto
+     * @param request Unidades a reservar
+     * @return Unidades reservadas y stock restante
+     */
+    @PostMapping("/{id}/stock/reserve")
+    @Operation(
+        summary = "Reservar stock",
+        description = "Resta unidades del stock del producto de forma atómica si hay suficientes"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Unidades reservadas",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StockReservationResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cantidad inválida"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Stock insuficiente"
+        )
+    })
+    public ResponseEntity<StockReservationResponseDto> reserveStock(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "Unidades a reservar")
+        @Valid @RequestBody StockReservationRequestDto request
+    ) {
+        return ResponseEntity.ok(productStockUseCase.reserveStock(id, request.getQuantity()));
+    }
+
+    /**
+     * Liberar unidades de stock previamente reservadas
+     * 
+     * @param id ID del producto
+     * @param request Unidades a devolver al stock
+     * @return Unidades liberadas y stock resultante
+     */
+    @PostMapping("/{id}/stock/release")
+    @Operation(
+        summary = "Liberar stock",
+        description = "Devuelve al stock unidades reservadas antes, de forma atómica; nunca más de las reservadas sin liberar"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Unidades liberadas",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StockReservationResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cantidad inválida"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Más unidades de las reservadas y aún no liberadas"
+        )
+    })
+    public ResponseEntity<StockReservationResponseDto> releaseStock(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "Unidades a liberar")
+        @Valid @RequestBody StockReservationRequestDto request
+    ) {
+        return ResponseEntity.ok(productStockUseCase.releaseStock(id, request.getQuantity()));
+    }
+
+    /**
+     * Consultar el stock en vivo de un producto
+     * 
+     * @param id ID del producto
+     * @return Stock, unidades retenidas y disponibles
+     */
+    @GetMapping("/{id}/stock")
+    @Operation(
+        summary = "Consultar stock en vivo",
+        description = "Devuelve el stock actual, las unidades retenidas por reservas temporales y las disponibles"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stock del producto",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StockLevelResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado"
+        )
+    })
+    public ResponseEntity<StockLevelResponseDto> getStockLevel(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id
+    ) {
+        return ResponseEntity.ok(productStockUseCase.stockLevel(id));
+    }
+
+    /**
+     * Retener unidades de stock durante un tiempo limitado
+     * 
+     * Si la reserva no se confirma antes de expiresAt, las unidades vuelven a estar disponibles.
+     * 
+     * @param id ID del producto
+     * @param request Unidades y duración en segundos
+     * @return Reserva creada
+     */
+    @PostMapping("/{id}/stock/holds")
+    @Operation(
+        summary = "Crear reserva temporal de stock",
+        description = "Retiene unidades disponibles hasta que se confirme, se cancele o caduque"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reserva creada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StockHoldResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Cantidad o duración inválidas"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Producto no encontrado"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "Stock insuficiente"
+        )
+    })
+    public ResponseEntity<StockHoldResponseDto> holdStock(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "Unidades a retener y duración")
+        @Valid @RequestBody StockHoldRequestDto request
+    ) {
+        StockHoldResponseDto hold = productStockUseCase.holdStock(id, request.getQuantity(), request.getTtlSeconds());
+        return ResponseEntity.ok(hold);
+    }
+
+    /**
+     * Confirmar una reserva temporal: las unidades salen definitivamente del stock
+     * 
+     * @param id ID del producto
+     * @param holdId ID de la reserva
+     * @return Reserva confirmada
+     */
+    @PostMapping("/{id}/stock/holds/{holdId}/confirm")
+    @Operation(
+        summary = "Confirmar reserva temporal",
+        description = "Descuenta del stock las unidades retenidas por la reserva"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reserva confirmada",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StockHoldResponseDto.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reserva no encontrada, ya resuelta o caducada"
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El stock ya no cubre las unidades retenidas; la reserva se libera"
+        )
+    })
+    public ResponseEntity<StockHoldResponseDto> confirmStockHold(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "ID de la reserva")
+        @PathVariable String holdId
+    ) {
+        return ResponseEntity.ok(productStockUseCase.confirmStockHold(id, holdId));
+    }
+
+    /**
+     * Cancelar una reserva temporal y liberar sus unidades
+     * 
+     * @param id ID del producto
+     * @param holdId ID de la reserva
+     * @return 204 si se canceló
+     */
+    @DeleteMapping("/{id}/stock/holds/{holdId}")
+    @Operation(
+        summary = "Cancelar reserva temporal",
+        description = "Libera las unidades retenidas por la reserva"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Reserva cancelada"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reserva no encontrada, ya resuelta o caducada"
+        )
+    })
+    public ResponseEntity<Void> cancelStockHold(
+        @Parameter(description = "ID único del producto (UUID)", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+        @PathVariable String id,
+        @Parameter(description = "ID de la reserva")
+        @PathVariable String holdId
+    ) {
+        productStockUseCase.cancelStockHold(id, holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ProductPatch toPatch(JsonNode document) {
+        if (!(document instanceof ObjectNode node)) {
+            throw new BusinessException("Patch must be a JSON object", "INVALID_PATCH");
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        node.fieldNames().forEachRemaining(fields::add);
+        ObjectNode known = node.deepCopy();
+        known.retain(ProductPatch.PATCHABLE_FIELDS);
+        try {
+            return ProductPatch.of(fields, objectMapper.treeToValue(known, ProductRequestDto.class));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Invalid patch value: " + e.getOriginalMessage(), "INVALID_PATCH", e);
+        }
+    }
+
+    /**
+     * Versión esperada a partir de If-Match: vacía si no se envía o es "*". Vale el ETag de
+     * cualquiera de las dos codificaciones.
+     */
+    static OptionalLong expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return OptionalLong.empty();
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            String tag = value.substring(1, value.length() - 1);
+            if (tag.endsWith(GZIP_ETAG_SUFFIX)) {
+                tag = tag.substring(0, tag.length() - GZIP_ETAG_SUFFIX.length());
+            }
+            try {
+                return OptionalLong.of(Long.parseLong(tag));
+            } catch (NumberFormatException e) {
+                // Cae al error de abajo
+            }
+        }
+        throw new BusinessException("If-Match must be a single strong ETag returned by this API", "INVALID_IF_MATCH");
+    }
+
+    /**
+     * ETag fuerte a partir de una versión del producto o del catálogo
+     */
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * ETag de la variante gzip: una etiqueta fuerte no puede repetirse entre codificaciones
+     */
+    private static String gzipEtag(long version) {
+        return "\"" + version + GZIP_ETAG_SUFFIX + "\"";
+    }
+
+    private static ResponseEntity<?> okOrNotFound(Optional<?> body, String etag) {
+        return body.<ResponseEntity<?>>map(value -> ok(etag).body(value))
+                   .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity.BodyBuilder ok(String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        return etag != null ? builder.eTag(etag) : builder;
+    }
+
+    private ResponseEntity<?> projectedOrNotFound(Optional<?> body, ProductFieldSet fields, String etag) {
+        return body.<ResponseEntity<?>>map(value -> projected(value, fields, etag))
+                   .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Respuesta serializada solo con los campos pedidos
+     */
+    private ResponseEntity<byte[]> projected(Object body, ProductFieldSet fields, String etag) {
+        try {
+            return ok(etag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(projectionWriter.write(body, fields));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing projected response", e);
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package com.example.project.infraestructure.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.project.application.port.in.ProductUseCase;
+import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Exportación del catálogo completo en streaming
+ * 
+ * Endpoints disponibles:
+ * - GET /api/product/export - Todos los productos como array JSON o NDJSON (según Accept)
+ * 
+ * Cada producto se serializa directamente sobre la respuesta a medida que se lee del
+ * repositorio por páginas, así que la memoria usada no depende del tamaño del catálogo.
+ */
+@RestController
+@RequestMapping("/api/product")
+@Tag(name = "Product Management", description = "API para gestión de productos - Operaciones CRUD y búsquedas")
+public class ProductExportController {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final ProductUseCase productUseCase;
+    private final ObjectWriter productWriter;
+
+    public ProductExportController(ProductUseCase productUseCase, ObjectMapper objectMapper) {
+        this.productUseCase = productUseCase;
+        // Sin flush tras cada producto: el generador vacía su buffer cuando se llena
+        this.productWriter = objectMapper.writerFor(ProductResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Exportar todos los productos
+     * 
+     * @param accept application/x-ndjson para un producto por línea; en otro caso array JSON
+     * @return Cuerpo en streaming con todos los productos
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Operation(
+        summary = "Exportar todos los productos",
+        description = "Devuelve el catálogo completo en streaming, como array JSON o como NDJSON (Accept: application/x-ndjson)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Catálogo exportado exitosamente"
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportAll(
+        @Parameter(description = "application/json (por defecto) o application/x-ndjson")
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        boolean ndjson = accept != null && accept.contains(APPLICATION_NDJSON_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = productWriter.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                }
+                productUseCase.forEachProduct(product -> write(generator, product, ndjson));
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(APPLICATION_NDJSON_VALUE) : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private void write(JsonGenerator generator, ProductResponseDto product, boolean ndjson) {
+        try {
+            productWriter.writeValue(generator, product);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
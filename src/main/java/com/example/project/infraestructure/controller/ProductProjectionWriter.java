@@ -0,0 +1,60 @@
+package com.example.project.infraestructure.controller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.example.project.application.mapper.ProductFieldSet;
+import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Serializa respuestas con ProductResponseDto limitadas a un conjunto de campos (fields=).
+ *
+ * El filtro se aplica mediante un mix-in sobre una copia del ObjectMapper de Spring, así que
+ * el resto de respuestas no cambia. Se guarda en caché un ObjectWriter por conjunto de campos;
+ * la caché está acotada porque los conjuntos vienen del cliente.
+ */
+@Component
+public class ProductProjectionWriter {
+
+    static final String FILTER_ID = "productFields";
+    private static final int MAX_CACHED_WRITERS = 256;
+
+    @JsonFilter(FILTER_ID)
+    private abstract static class ProjectionMixIn {
+    }
+
+    private final ObjectMapper projectionMapper;
+    private final Map<ProductFieldSet, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public ProductProjectionWriter(ObjectMapper objectMapper) {
+        this.projectionMapper = objectMapper.copy().addMixIn(ProductResponseDto.class, ProjectionMixIn.class);
+    }
+
+    /**
+     * Serializa un valor (producto, lista o página) dejando solo los campos pedidos en cada producto
+     */
+    public byte[] write(Object value, ProductFieldSet fields) throws JsonProcessingException {
+        return writerFor(fields).writeValueAsBytes(value);
+    }
+
+    ObjectWriter writerFor(ProductFieldSet fields) {
+        ObjectWriter writer = writers.get(fields);
+        if (writer != null) {
+            return writer;
+        }
+        writer = projectionMapper.writer(new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+        if (writers.size() < MAX_CACHED_WRITERS) {
+            writers.putIfAbsent(fields, writer);
+        }
+        return writer;
+    }
+}
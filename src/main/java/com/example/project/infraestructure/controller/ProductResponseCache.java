@@ -0,0 +1,136 @@
+package com.example.project.infraestructure.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Caché acotada de las respuestas ya serializadas de GET /api/product/{id}.
+ *
+ * Cada entrada guarda la versión del producto con la que se generó: solo hay acierto con la
+ * versión vigente, así que cualquier save() invalida la entrada aunque la escritura no pase
+ * por el controlador. Como la versión se lee antes que el producto, los bytes guardados nunca
+ * son más antiguos que su versión.
+ *
+ * Se expulsa por LRU cuando el total de bytes supera el máximo configurado. Opcionalmente se
+ * guarda también la versión comprimida con gzip para servirla sin comprimir en cada petición.
+ */
+@Component
+public class ProductResponseCache {
+
+    // Por debajo de este tamaño gzip apenas reduce el cuerpo
+    static final int GZIP_MIN_BYTES = 1024;
+
+    /**
+     * Cuerpo serializado de un producto; gzip es null si no se comprime
+     */
+    public record CachedResponse(long version, byte[] json, byte[] gzip) {
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private final ObjectWriter writer;
+    private final long maxBytes;
+    private final boolean gzip;
+
+    // En orden de acceso: la primera entrada es la menos usada
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public ProductResponseCache(ObjectMapper objectMapper,
+                                @Value("${product.response-cache.max-bytes:33554432}") long maxBytes,
+                                @Value("${product.response-cache.gzip:true}") boolean gzip) {
+        this.writer = objectMapper.writerFor(ProductResponseDto.class);
+        this.maxBytes = maxBytes;
+        this.gzip = gzip;
+    }
+
+    public boolean isGzipEnabled() {
+        return gzip;
+    }
+
+    /**
+     * Respuesta en caché para esa versión exacta; una entrada de otra versión se descarta
+     */
+    public synchronized CachedResponse get(String id, long version) {
+        CachedResponse cached = entries.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.version() != version) {
+            remove(id);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Serializa el producto fuera del bloqueo y lo guarda si cabe en la caché
+     */
+    public CachedResponse put(String id, long version, ProductResponseDto product) throws JsonProcessingException {
+        byte[] json = writer.writeValueAsBytes(product);
+        CachedResponse response = new CachedResponse(version, json,
+                gzip && json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+        if (response.weight() > maxBytes) {
+            return response;
+        }
+        synchronized (this) {
+            CachedResponse current = entries.get(id);
+            // Una petición más lenta no debe sustituir una versión más reciente
+            if (current != null && current.version() > version) {
+                return response;
+            }
+            remove(id);
+            entries.put(id, response);
+            totalBytes += response.weight();
+            evict();
+        }
+        return response;
+    }
+
+    public synchronized void invalidate(String id) {
+        remove(id);
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private void remove(String id) {
+        CachedResponse removed = entries.remove(id);
+        if (removed != null) {
+            totalBytes -= removed.weight();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().weight();
+            eldest.remove();
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado de un elemento del alta por lotes: el producto creado o sus errores de validación
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchItemDto {
+
+    public static final String CREATED = "CREATED";
+    public static final String INVALID = "INVALID";
+
+    // Posición del elemento en la petición
+    private int index;
+    private String status;
+    private ProductResponseDto product;
+    private List<ValidationErrorDto> errors;
+
+    public static ProductBatchItemDto created(int index, ProductResponseDto product) {
+        return new ProductBatchItemDto(index, CREATED, product, null);
+    }
+
+    public static ProductBatchItemDto invalid(int index, List<ValidationErrorDto> errors) {
+        return new ProductBatchItemDto(index, INVALID, null, errors);
+    }
+}
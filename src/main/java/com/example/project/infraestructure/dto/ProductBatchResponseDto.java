@@ -0,0 +1,20 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resumen del alta por lotes con un resultado por elemento, en el orden de la petición
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponseDto {
+
+    private int created;
+    private int failed;
+    private List<ProductBatchItemDto> results;
+}
@@ -0,0 +1,26 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un ID de la consulta múltiple; product es null cuando found es false
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMultiGetItemDto {
+
+    private String id;
+    private boolean found;
+    private ProductResponseDto product;
+
+    public static ProductMultiGetItemDto found(String id, ProductResponseDto product) {
+        return new ProductMultiGetItemDto(id, true, product);
+    }
+
+    public static ProductMultiGetItemDto missing(String id) {
+        return new ProductMultiGetItemDto(id, false, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * IDs a consultar en una sola petición (POST /api/product/_mget)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMultiGetRequestDto {
+
+    private List<String> ids;
+}
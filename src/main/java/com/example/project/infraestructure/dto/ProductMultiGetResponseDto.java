@@ -0,0 +1,18 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Un resultado por ID, en el orden de la petición (los IDs repetidos se repiten)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMultiGetResponseDto {
+
+    private List<ProductMultiGetItemDto> items;
+}
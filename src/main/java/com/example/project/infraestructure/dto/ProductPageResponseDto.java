@@ -0,0 +1,19 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de productos; nextCursor es null en la última página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponseDto {
+
+    private List<ProductResponseDto> items;
+    private String nextCursor;
+}
@@ -32,7 +32,7 @@ import java.util.List;
  * - available: Indica si el producto está disponible para venta
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "DTO para crear o actualizar un producto")
@@ -0,0 +1,30 @@
+package com.example.project.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unidades a retener y durante cuánto tiempo (POST /api/product/{id}/stock/holds)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unidades a retener temporalmente")
+public class StockHoldRequestDto {
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser al menos 1")
+    @Max(value = 999999, message = "La cantidad no puede exceder 999999")
+    @Schema(description = "Unidades", example = "1", minimum = "1", maximum = "999999")
+    private Integer quantity;
+
+    @Min(value = 1, message = "La duración debe ser al menos 1 segundo")
+    @Max(value = 3600, message = "La duración no puede exceder 3600 segundos")
+    @Schema(description = "Segundos hasta que la reserva se libera sola (por defecto 300)", example = "300", minimum = "1", maximum = "3600")
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,22 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Reserva temporal de stock y lo que queda disponible tras crearla o resolverla
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockHoldResponseDto {
+
+    private String holdId;
+    private String productId;
+    private int quantity;
+    private Instant expiresAt;
+    private int availableQuantity;
+}
@@ -0,0 +1,19 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock en vivo de un producto: availableQuantity es stock menos las unidades retenidas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelResponseDto {
+
+    private String productId;
+    private int stock;
+    private int held;
+    private int availableQuantity;
+}
@@ -0,0 +1,25 @@
+package com.example.project.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Unidades a reservar o liberar (POST /api/product/{id}/stock/reserve y /release)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Unidades a reservar o liberar")
+public class StockReservationRequestDto {
+
+    @NotNull(message = "La cantidad es obligatoria")
+    @Min(value = 1, message = "La cantidad debe ser al menos 1")
+    @Max(value = 999999, message = "La cantidad no puede exceder 999999")
+    @Schema(description = "Unidades", example = "1", minimum = "1", maximum = "999999")
+    private Integer quantity;
+}
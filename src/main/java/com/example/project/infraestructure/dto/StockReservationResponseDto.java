@@ -0,0 +1,18 @@
+package com.example.project.infraestructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una reserva o liberación: unidades movidas y stock que queda
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponseDto {
+
+    private String productId;
+    private int quantity;
+    private int availableQuantity;
+}
@@ -0,0 +1,176 @@
+package com.example.project.infraestructure.persistance;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritor con group commit: un único hilo agrupa las escrituras que llegan dentro de
+ * una ventana corta (o hasta {@code maxBatchSize} elementos) y las persiste con una sola
+ * escritura durable. Cada llamador se completa únicamente cuando su lote está en disco.
+ *
+ * Al existir un solo hilo escritor, los lotes se persisten en el mismo orden en que
+ * se enviaron las operaciones. Un grupo enviado con {@link #submitAllAndWait(List)} nunca
+ * se reparte entre lotes.
+ */
+public class GroupCommitWriter<T> implements Closeable {
+
+    /**
+     * Persiste un lote completo de forma durable (una escritura y un fsync)
+     */
+    @FunctionalInterface
+    public interface BatchHandler<T> {
+        void write(List<T> batch) throws Exception;
+    }
+
+    private static class Pending<T> {
+        private final List<T> items;
+        private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+        private Pending(List<T> items) {
+            this.items = items;
+        }
+    }
+
+    private final BlockingQueue<Pending<T>> queue = new LinkedBlockingQueue<>();
+    private final BatchHandler<T> handler;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public GroupCommitWriter(String name, int maxBatchSize, long maxWaitMicros, BatchHandler<T> handler) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxWaitMicros));
+        this.writerThread = new Thread(this::run, name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    public CompletableFuture<T> submit(T item) {
+        return enqueue(List.of(item)).thenApply(items -> item);
+    }
+
+    /**
+     * Envía la operación y espera a que su lote sea durable
+     */
+    public T submitAndWait(T item) {
+        return await(submit(item));
+    }
+
+    /**
+     * Envía varias operaciones que se persisten en el mismo lote, aunque superen
+     * {@code maxBatchSize}, y espera a que sean durables
+     */
+    public List<T> submitAllAndWait(List<T> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        return await(enqueue(List.copyOf(items)));
+    }
+
+    private CompletableFuture<List<T>> enqueue(List<T> items) {
+        if (!running) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+        Pending<T> pending = new Pending<>(items);
+        queue.add(pending);
+        // close() pudo vaciar la cola entre la comprobación y el add: si nadie ha tomado
+        // la operación, se retira y se rechaza en lugar de dejar al llamador esperando
+        if (!running && queue.remove(pending)) {
+            throw new IllegalStateException("Group commit writer is closed");
+        }
+        return pending.future;
+    }
+
+    private static <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Group commit failed", cause);
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch, first.items.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<Pending<T>> batch, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (size < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            Pending<T> next = remaining > 0
+                    ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                    : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            size += next.items.size();
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.addAll(pending.items);
+        }
+        try {
+            handler.write(items);
+            for (Pending<T> pending : batch) {
+                pending.future.complete(pending.items);
+            }
+        } catch (Throwable e) {
+            for (Pending<T> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending<T> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("Group commit writer is closed"));
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.domain.common.enums.ListingType;
+import com.example.project.domain.common.enums.ProductCondition;
+import com.example.project.domain.common.enums.ProductStatus;
+import com.example.project.infraestructure.dto.ProductDto;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vista sobre un registro de producto con formato binario fijo dentro del archivo mapeado.
+ *
+ * Formato del registro (big endian):
+ * - Cabecera fija de {@value #FIXED_SIZE} bytes: longitud, tipo, secuencia, máscara de nulos,
+ *   campos numéricos, fechas, enumerados y booleanos en desplazamientos conocidos.
+ * - Tabla de cadenas: para cada campo de texto, desplazamiento y longitud de sus bytes UTF-8
+ *   (longitud -1 si es null). Las listas se codifican como [count] y [len][bytes] por elemento.
+ *
+ * Los campos numéricos se leen en su sitio sin ningún parseo; las cadenas solo se decodifican
+ * cuando se piden o cuando se materializa el producto completo con {@link #toDto()}.
+ */
+public class ProductBinaryRecord {
+
+    public static final byte TYPE_PRODUCT = 1;
+    public static final byte TYPE_TOMBSTONE = 2;
+
+    // Cabecera fija
+    private static final int LENGTH = 0;
+    private static final int TYPE = 4;
+    private static final int SEQUENCE = 5;
+    private static final int NULLS = 13;
+    private static final int PRICE = 17;
+    private static final int PRICE_SCALE = 25;
+    private static final int AVAILABLE_QUANTITY = 26;
+    private static final int VIEWS = 30;
+    private static final int SALES = 34;
+    private static final int RATING = 38;
+    private static final int RATING_COUNT = 46;
+    private static final int STOCK = 50;
+    private static final int SHIPPING_COST = 54;
+    private static final int SHIPPING_COST_SCALE = 62;
+    private static final int WEIGHT = 63;
+    private static final int WIDTH = 71;
+    private static final int HEIGHT = 79;
+    private static final int DEPTH = 87;
+    private static final int CREATED_AT = 95;
+    private static final int UPDATED_AT = 107;
+    private static final int LAST_SOLD_AT = 119;
+    private static final int STATUS = 131;
+    private static final int LISTING_TYPE = 132;
+    private static final int CONDITION = 133;
+    private static final int FREE_SHIPPING = 134;
+    private static final int AVAILABLE = 135;
+    private static final int STRING_TABLE = 136;
+
+    // Bits de la máscara de nulos para los campos numéricos y fechas
+    private static final int NULL_PRICE = 0;
+    private static final int NULL_AVAILABLE_QUANTITY = 1;
+    private static final int NULL_VIEWS = 2;
+    private static final int NULL_SALES = 3;
+    private static final int NULL_RATING = 4;
+    private static final int NULL_RATING_COUNT = 5;
+    private static final int NULL_STOCK = 6;
+    private static final int NULL_SHIPPING_COST = 7;
+    private static final int NULL_WEIGHT = 8;
+    private static final int NULL_WIDTH = 9;
+    private static final int NULL_HEIGHT = 10;
+    private static final int NULL_DEPTH = 11;
+    private static final int NULL_CREATED_AT = 12;
+    private static final int NULL_UPDATED_AT = 13;
+    private static final int NULL_LAST_SOLD_AT = 14;
+
+    // Posiciones en la tabla de cadenas
+    private static final int S_ID = 0;
+    private static final int S_TITLE = 1;
+    private static final int S_DESCRIPTION = 2;
+    private static final int S_CURRENCY = 3;
+    private static final int S_CATEGORY = 4;
+    private static final int S_SUBCATEGORY = 5;
+    private static final int S_SELLER_ID = 6;
+    private static final int S_SELLER_NAME = 7;
+    private static final int S_BRAND = 8;
+    private static final int S_MODEL = 9;
+    private static final int S_SKU = 10;
+    private static final int S_BARCODE = 11;
+    private static final int S_WARRANTY = 12;
+    private static final int S_RETURN_POLICY = 13;
+    private static final int S_IMAGES = 14;
+    private static final int S_ATTRIBUTES = 15;
+    private static final int S_TAGS = 16;
+    private static final int STRING_SLOTS = 17;
+
+    public static final int FIXED_SIZE = STRING_TABLE + STRING_SLOTS * 8;
+
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    public ProductBinaryRecord(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return buffer.getInt(offset + LENGTH);
+    }
+
+    public boolean isTombstone() {
+        return buffer.get(offset + TYPE) == TYPE_TOMBSTONE;
+    }
+
+    public long getSequence() {
+        return buffer.getLong(offset + SEQUENCE);
+    }
+
+    /**
+     * Copia los bytes del registro tal cual (por ejemplo, para compactar el archivo)
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[getLength()];
+        buffer.get(offset, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    // Campos numéricos: lectura directa en su desplazamiento
+
+    public BigDecimal getPrice() {
+        return isNull(NULL_PRICE) ? null
+                : BigDecimal.valueOf(buffer.getLong(offset + PRICE), buffer.get(offset + PRICE_SCALE));
+    }
+
+    public Integer getAvailableQuantity() {
+        return readInt(NULL_AVAILABLE_QUANTITY, AVAILABLE_QUANTITY);
+    }
+
+    public Integer getViews() {
+        return readInt(NULL_VIEWS, VIEWS);
+    }
+
+    public Integer getSales() {
+        return readInt(NULL_SALES, SALES);
+    }
+
+    public Double getRating() {
+        return readDouble(NULL_RATING, RATING);
+    }
+
+    // Campos de texto: se decodifican solo al pedirlos
+
+    public String getId() {
+        return readString(S_ID);
+    }
+
+    public String getTitle() {
+        return readString(S_TITLE);
+    }
+
+    /**
+     * Compara el título con los bytes UTF-8 dados sin decodificarlo
+     */
+    public boolean hasTitle(byte[] title) {
+        int slot = offset + STRING_TABLE + S_TITLE * 8;
+        int length = buffer.getInt(slot + 4);
+        if (length != title.length) {
+            return false;
+        }
+        int start = offset + buffer.getInt(slot);
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) != title[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getDescription() {
+        return readString(S_DESCRIPTION);
+    }
+
+    public String getCategory() {
+        return readString(S_CATEGORY);
+    }
+
+    public String getSubcategory() {
+        return readString(S_SUBCATEGORY);
+    }
+
+    public String getBrand() {
+        return readString(S_BRAND);
+    }
+
+    public String getModel() {
+        return readString(S_MODEL);
+    }
+
+    public String getSku() {
+        return readString(S_SKU);
+    }
+
+    public List<String> getTags() {
+        return readList(S_TAGS);
+    }
+
+    /**
+     * Materializa el registro completo
+     */
+    public ProductDto toDto() {
+        return ProductDto.builder()
+                .id(readString(S_ID))
+                .title(readString(S_TITLE))
+                .description(readString(S_DESCRIPTION))
+                .price(getPrice())
+                .currency(readString(S_CURRENCY))
+                .availableQuantity(getAvailableQuantity())
+                .status(readEnum(STATUS, ProductStatus.values()))
+                .category(readString(S_CATEGORY))
+                .subcategory(readString(S_SUBCATEGORY))
+                .sellerId(readString(S_SELLER_ID))
+                .sellerName(readString(S_SELLER_NAME))
+                .listingType(readEnum(LISTING_TYPE, ListingType.values()))
+                .freeShipping(readBoolean(FREE_SHIPPING))
+                .shippingCost(isNull(NULL_SHIPPING_COST) ? null
+                        : BigDecimal.valueOf(buffer.getLong(offset + SHIPPING_COST), buffer.get(offset + SHIPPING_COST_SCALE)))
+                .weight(readDouble(NULL_WEIGHT, WEIGHT))
+                .width(readDouble(NULL_WIDTH, WIDTH))
+                .height(readDouble(NULL_HEIGHT, HEIGHT))
+                .length(readDouble(NULL_DEPTH, DEPTH))
+                .images(readList(S_IMAGES))
+                .attributes(readList(S_ATTRIBUTES))
+                .views(getViews())
+                .sales(getSales())
+                .rating(getRating())
+                .ratingCount(readInt(NULL_RATING_COUNT, RATING_COUNT))
+                .createdAt(readDateTime(NULL_CREATED_AT, CREATED_AT))
+                .updatedAt(readDateTime(NULL_UPDATED_AT, UPDATED_AT))
+                .lastSoldAt(readDateTime(NULL_LAST_SOLD_AT, LAST_SOLD_AT))
+                .condition(readEnum(CONDITION, ProductCondition.values()))
+                .brand(readString(S_BRAND))
+                .model(readString(S_MODEL))
+                .stock(readInt(NULL_STOCK, STOCK))
+                .available(readBoolean(AVAILABLE))
+                .sku(readString(S_SKU))
+                .barcode(readString(S_BARCODE))
+                .tags(readList(S_TAGS))
+                .warranty(readString(S_WARRANTY))
+                .returnPolicy(readString(S_RETURN_POLICY))
+                .build();
+    }
+
+    private boolean isNull(int bit) {
+        return (buffer.getInt(offset + NULLS) & (1 << bit)) != 0;
+    }
+
+    private Integer readInt(int bit, int field) {
+        return isNull(bit) ? null : buffer.getInt(offset + field);
+    }
+
+    private Double readDouble(int bit, int field) {
+        return isNull(bit) ? null : buffer.getDouble(offset + field);
+    }
+
+    private LocalDateTime readDateTime(int bit, int field) {
+        if (isNull(bit)) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(buffer.getLong(offset + field), buffer.getInt(offset + field + 8), ZoneOffset.UTC);
+    }
+
+    private Boolean readBoolean(int field) {
+        byte value = buffer.get(offset + field);
+        return value == 0 ? null : value == 2;
+    }
+
+    private <E extends Enum<E>> E readEnum(int field, E[] values) {
+        int ordinal = buffer.get(offset + field);
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    private String readString(int slot) {
+        int entry = offset + STRING_TABLE + slot * 8;
+        int length = buffer.getInt(entry + 4);
+        if (length < 0) {
+            return null;
+        }
+        return decode(offset + buffer.getInt(entry), length);
+    }
+
+    private List<String> readList(int slot) {
+        int entry = offset + STRING_TABLE + slot * 8;
+        if (buffer.getInt(entry + 4) < 0) {
+            return null;
+        }
+        int position = offset + buffer.getInt(entry);
+        int count = buffer.getInt(position);
+        position += 4;
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt(position);
+            position += 4;
+            if (length < 0) {
+                values.add(null);
+            } else {
+                values.add(decode(position, length));
+                position += length;
+            }
+        }
+        return values;
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Codifica un producto con la secuencia indicada (orden de inserción)
+     */
+    public static byte[] encode(ProductDto product, long sequence) {
+        byte[][] strings = {
+                utf8(product.getId()), utf8(product.getTitle()), utf8(product.getDescription()),
+                utf8(product.getCurrency()), utf8(product.getCategory()), utf8(product.getSubcategory()),
+                utf8(product.getSellerId()), utf8(product.getSellerName()), utf8(product.getBrand()),
+                utf8(product.getModel()), utf8(product.getSku()), utf8(product.getBarcode()),
+                utf8(product.getWarranty()), utf8(product.getReturnPolicy()),
+                encodeList(product.getImages()), encodeList(product.getAttributes()), encodeList(product.getTags())
+        };
+        ByteBuffer record = ByteBuffer.allocate(FIXED_SIZE + totalLength(strings));
+        record.put(TYPE, TYPE_PRODUCT);
+        record.putLong(SEQUENCE, sequence);
+
+        int nulls = 0;
+        nulls |= putDecimal(record, NULL_PRICE, PRICE, PRICE_SCALE, product.getPrice());
+        nulls |= putInt(record, NULL_AVAILABLE_QUANTITY, AVAILABLE_QUANTITY, product.getAvailableQuantity());
+        nulls |= putInt(record, NULL_VIEWS, VIEWS, product.getViews());
+        nulls |= putInt(record, NULL_SALES, SALES, product.getSales());
+        nulls |= putDouble(record, NULL_RATING, RATING, product.getRating());
+        nulls |= putInt(record, NULL_RATING_COUNT, RATING_COUNT, product.getRatingCount());
+        nulls |= putInt(record, NULL_STOCK, STOCK, product.getStock());
+        nulls |= putDecimal(record, NULL_SHIPPING_COST, SHIPPING_COST, SHIPPING_COST_SCALE, product.getShippingCost());
+        nulls |= putDouble(record, NULL_WEIGHT, WEIGHT, product.getWeight());
+        nulls |= putDouble(record, NULL_WIDTH, WIDTH, product.getWidth());
+        nulls |= putDouble(record, NULL_HEIGHT, HEIGHT, product.getHeight());
+        nulls |= putDouble(record, NULL_DEPTH, DEPTH, product.getLength());
+        nulls |= putDateTime(record, NULL_CREATED_AT, CREATED_AT, product.getCreatedAt());
+        nulls |= putDateTime(record, NULL_UPDATED_AT, UPDATED_AT, product.getUpdatedAt());
+        nulls |= putDateTime(record, NULL_LAST_SOLD_AT, LAST_SOLD_AT, product.getLastSoldAt());
+        record.putInt(NULLS, nulls);
+
+        record.put(STATUS, ordinal(product.getStatus()));
+        record.put(LISTING_TYPE, ordinal(product.getListingType()));
+        record.put(CONDITION, ordinal(product.getCondition()));
+        record.put(FREE_SHIPPING, bool(product.getFreeShipping()));
+        record.put(AVAILABLE, bool(product.getAvailable()));
+
+        writeStrings(record, strings);
+        return record.array();
+    }
+
+    /**
+     * Registro de borrado: solo contiene el ID
+     */
+    public static byte[] encodeTombstone(String id) {
+        byte[][] strings = new byte[STRING_SLOTS][];
+        strings[S_ID] = utf8(id);
+        ByteBuffer record = ByteBuffer.allocate(FIXED_SIZE + totalLength(strings));
+        record.put(TYPE, TYPE_TOMBSTONE);
+        writeStrings(record, strings);
+        return record.array();
+    }
+
+    private static void writeStrings(ByteBuffer record, byte[][] strings) {
+        record.putInt(LENGTH, record.capacity());
+        int position = FIXED_SIZE;
+        for (int slot = 0; slot < STRING_SLOTS; slot++) {
+            int entry = STRING_TABLE + slot * 8;
+            byte[] value = strings[slot];
+            record.putInt(entry, position);
+            record.putInt(entry + 4, value != null ? value.length : -1);
+            if (value != null) {
+                record.put(position, value);
+                position += value.length;
+            }
+        }
+    }
+
+    private static int totalLength(byte[][] strings) {
+        int total = 0;
+        for (byte[] value : strings) {
+            total += value != null ? value.length : 0;
+        }
+        return total;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte[] encodeList(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        byte[][] items = new byte[values.size()][];
+        int size = 4;
+        for (int i = 0; i < items.length; i++) {
+            items[i] = utf8(values.get(i));
+            size += 4 + (items[i] != null ? items[i].length : 0);
+        }
+        ByteBuffer block = ByteBuffer.allocate(size);
+        block.putInt(items.length);
+        for (byte[] item : items) {
+            block.putInt(item != null ? item.length : -1);
+            if (item != null) {
+                block.put(item);
+            }
+        }
+        return block.array();
+    }
+
+    private static int putInt(ByteBuffer record, int bit, int field, Integer value) {
+        if (value == null) {
+            return 1 << bit;
+        }
+        record.putInt(field, value);
+        return 0;
+    }
+
+    private static int putDouble(ByteBuffer record, int bit, int field, Double value) {
+        if (value == null) {
+            return 1 << bit;
+        }
+        record.putDouble(field, value);
+        return 0;
+    }
+
+    private static int putDecimal(ByteBuffer record, int bit, int field, int scaleField, BigDecimal value) {
+        if (value == null) {
+            return 1 << bit;
+        }
+        record.putLong(field, value.unscaledValue().longValueExact());
+        record.put(scaleField, (byte) value.scale());
+        return 0;
+    }
+
+    private static int putDateTime(ByteBuffer record, int bit, int field, LocalDateTime value) {
+        if (value == null) {
+            return 1 << bit;
+        }
+        record.putLong(field, value.toEpochSecond(ZoneOffset.UTC));
+        record.putInt(field + 8, value.getNano());
+        return 0;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static byte bool(Boolean value) {
+        return value == null ? 0 : (byte) (value ? 2 : 1);
+    }
+}
@@ -0,0 +1,637 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.application.concurrency.StripedLock;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.application.port.out.ProductRepository;
+import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductDto;
+import com.example.project.infraestructure.persistance.catalog.Bm25Scorer;
+import com.example.project.infraestructure.persistance.catalog.KeywordIndex;
+import com.example.project.infraestructure.persistance.catalog.PersistentHashMap;
+import com.example.project.infraestructure.persistance.catalog.PersistentSortedSet;
+import com.example.project.infraestructure.persistance.catalog.PersistentVector;
+import com.example.project.infraestructure.persistance.catalog.ProductVersionTable;
+import com.example.project.infraestructure.persistance.catalog.TopK;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio sobre un archivo binario mapeado en memoria (data/products.bin; el directorio
+ * se configura con product.persistence.data-dir).
+ *
+ * Un índice en memoria apunta del ID al desplazamiento del registro vigente de cada producto.
+ * Las consultas leen los campos directamente del mapeo: los numéricos sin parseo y las
+ * cadenas solo cuando se necesitan; el producto completo se decodifica al materializarlo.
+ * Si el archivo no existe, se genera a partir de data/products.json.
+ */
+@Repository
+@Profile("binary")
+public class ProductBinaryRepositoryAdapter implements ProductRepository {
+
+    private final String dataFilePath;
+    private final String seedFilePath;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    private ProductBinaryStore store;
+
+    // Índice publicado como versión inmutable junto con el mapeo que cubre sus desplazamientos
+    private volatile OffsetIndex index;
+
+    // Versiones para los ETag; avanzan al publicar cada lote
+    private final ProductVersionTable versions = new ProductVersionTable();
+
+    // Secuencia de inserción para nuevos productos (solo la usa el hilo escritor)
+    private long nextSequence;
+
+    // Escritor único con group commit: un solo force por lote
+    private final GroupCommitWriter<ProductWriteOperation> writer;
+
+    // Locks por franjas de ID: las escrituras de un mismo producto se aplican en orden de llegada
+    private final StripedLock productLocks = new StripedLock(64);
+
+    public ProductBinaryRepositoryAdapter(ProductMapper productMapper,
+                                          @Value("${product.persistence.data-dir:data}") String dataDirectory,
+                                          @Value("${product.persistence.group-commit.max-batch-size:256}") int maxBatchSize,
+                                          @Value("${product.persistence.group-commit.max-wait-micros:1000}") long maxWaitMicros) {
+        this.productMapper = productMapper;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.dataFilePath = Paths.get(dataDirectory, "products.bin").toString();
+        this.seedFilePath = Paths.get(dataDirectory, "products.json").toString();
+        initializeStore();
+        this.writer = new GroupCommitWriter<>("product-binary-writer", maxBatchSize, maxWaitMicros, this::commitBatch);
+    }
+
+    private void initializeStore() {
+        try {
+            Path path = Paths.get(dataFilePath);
+            boolean seed = !Files.exists(path);
+            if (seed) {
+                Files.createDirectories(path.getParent());
+            }
+            store = new ProductBinaryStore(path);
+            if (seed) {
+                seedFromJson();
+            }
+            loadIndex();
+        } catch (IOException e) {
+            throw new RuntimeException("Error initializing binary data file", e);
+        }
+    }
+
+    /**
+     * Codifica los productos a medida que se leen en streaming; solo se retienen los registros binarios
+     */
+    private void seedFromJson() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        new ProductJsonStreamReader(objectMapper).forEach(Paths.get(seedFilePath),
+                product -> records.add(ProductBinaryRecord.encode(product, records.size())));
+        store.append(records);
+    }
+
+    /**
+     * Reconstruye el índice recorriendo solo las cabeceras y el ID de cada registro: el último
+     * registro de cada ID es el vigente y los tombstones lo eliminan. Si más de la mitad del
+     * archivo son versiones obsoletas, se reescribe compactado antes de servir lecturas.
+     */
+    private void loadIndex() throws IOException {
+        Map<String, ProductBinaryRecord> latest = new HashMap<>();
+        long[] maxSequence = {-1};
+        store.scan(record -> {
+            String id = record.getId();
+            if (record.isTombstone()) {
+                latest.remove(id);
+            } else {
+                latest.put(id, record);
+                maxSequence[0] = Math.max(maxSequence[0], record.getSequence());
+            }
+        });
+        nextSequence = maxSequence[0] + 1;
+
+        List<ProductBinaryRecord> live = new ArrayList<>(latest.values());
+        live.sort(Comparator.comparingLong(ProductBinaryRecord::getSequence));
+        long liveBytes = live.stream().mapToLong(ProductBinaryRecord::getLength).sum();
+        long usedBytes = store.end() - ProductBinaryStore.HEADER_SIZE;
+        if (usedBytes - liveBytes > liveBytes) {
+            compact(live);
+            return;
+        }
+
+        OffsetIndex loaded = OffsetIndex.empty(store.buffer());
+        for (ProductBinaryRecord record : live) {
+            loaded = loaded.with(record.getId(), record.getOffset());
+        }
+        index = loaded;
+    }
+
+    private void compact(List<ProductBinaryRecord> live) throws IOException {
+        Path dataPath = Paths.get(dataFilePath);
+        Path tempPath = Paths.get(dataFilePath + ".tmp");
+        Files.deleteIfExists(tempPath);
+        List<byte[]> records = new ArrayList<>(live.size());
+        for (ProductBinaryRecord record : live) {
+            records.add(record.toBytes());
+        }
+        try (ProductBinaryStore compacted = new ProductBinaryStore(tempPath)) {
+            compacted.append(records);
+        }
+        store.close();
+        Files.move(tempPath, dataPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        store = new ProductBinaryStore(dataPath);
+        loadIndex();
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
+        try {
+            store.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Error closing binary data file", e);
+        }
+    }
+
+    @Override
+    public Product save(Product product) {
+        try {
+            // Si el producto tiene ID, es una actualización
+            if (product.getId() != null) {
+                ProductWriteOperation operation = ProductWriteOperation.update(productMapper.toDto(product));
+                productLocks.withLock(product.getId(), () -> writer.submitAndWait(operation));
+                return product;
+            }
+
+            // Si no tiene ID, es una creación - generar UUID
+            ProductDto productDto = productMapper.toDto(product);
+            productDto.setId(UUID.randomUUID().toString());
+            writer.submitAndWait(ProductWriteOperation.create(productDto));
+            return productMapper.toDomain(productDto);
+
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving product to binary store", e);
+        }
+    }
+
+    @Override
+    public Product save(Product product, OptionalLong expectedVersion) {
+        if (expectedVersion.isEmpty() || product.getId() == null) {
+            return save(product);
+        }
+        try {
+            ProductWriteOperation operation = ProductWriteOperation.update(productMapper.toDto(product));
+            productLocks.withLock(product.getId(), () -> {
+                versions.checkExpected(product.getId(), expectedVersion, index.contains(product.getId()));
+                return writer.submitAndWait(operation);
+            });
+            return product;
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving product to binary store", e);
+        }
+    }
+
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        try {
+            List<ProductWriteOperation> operations = new ArrayList<>(products.size());
+            List<Product> saved = new ArrayList<>(products.size());
+            for (Product product : products) {
+                if (product.getId() != null) {
+                    operations.add(ProductWriteOperation.update(productMapper.toDto(product)));
+                    saved.add(product);
+                    continue;
+                }
+                ProductDto productDto = productMapper.toDto(product);
+                productDto.setId(UUID.randomUUID().toString());
+                operations.add(ProductWriteOperation.create(productDto));
+                saved.add(productMapper.toDomain(productDto));
+            }
+            writer.submitAllAndWait(operations);
+            return saved;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving products to binary store", e);
+        }
+    }
+
+    /**
+     * El registro es de longitud variable y se añade completo, pero el índice de palabras
+     * clave solo se actualiza si cambia algún campo de búsqueda
+     */
+    @Override
+    public Optional<Product> patch(String id, ProductPatch patch, OptionalLong expectedVersion) {
+        try {
+            return productLocks.withLock(id, () -> {
+                ProductBinaryRecord current = index.get(id);
+                if (current == null) {
+                    return Optional.<Product>empty();
+                }
+                versions.checkExpected(id, expectedVersion, true);
+                ProductDto patched = patch.applyTo(current.toDto());
+                if (!writer.submitAndWait(ProductWriteOperation.update(patched)).isApplied()) {
+                    return Optional.<Product>empty();
+                }
+                return Optional.of(productMapper.toDomain(patched));
+            });
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error patching product: " + id, e);
+        }
+    }
+
+    /**
+     * Codifica el lote, lo añade con un solo force y publica la nueva versión del índice.
+     * Una actualización conserva la secuencia original para mantener el orden del catálogo.
+     */
+    private void commitBatch(List<ProductWriteOperation> batch) throws IOException {
+        OffsetIndex current = index;
+        Map<String, Long> sequences = new HashMap<>();
+        List<ProductWriteOperation> applied = new ArrayList<>(batch.size());
+        List<byte[]> records = new ArrayList<>(batch.size());
+        for (ProductWriteOperation operation : batch) {
+            String id = operation.getProductId();
+            Long sequence = sequences.containsKey(id) ? sequences.get(id) : current.sequenceOf(id);
+            if (!operation.isApplicable(sequence != null)) {
+                continue;
+            }
+            if (operation.getType() == ProductWriteOperation.Type.DELETE) {
+                records.add(ProductBinaryRecord.encodeTombstone(id));
+                sequences.put(id, null);
+            } else {
+                long recordSequence = sequence != null ? sequence : nextSequence++;
+                records.add(ProductBinaryRecord.encode(operation.getProduct(), recordSequence));
+                sequences.put(id, recordSequence);
+            }
+            applied.add(operation);
+        }
+
+        int[] offsets = store.append(records);
+        OffsetIndex next = current.withBuffer(store.buffer());
+        for (int i = 0; i < offsets.length; i++) {
+            ProductWriteOperation operation = applied.get(i);
+            next = operation.getType() == ProductWriteOperation.Type.DELETE
+                    ? next.without(operation.getProductId())
+                    : next.with(operation.getProductId(), offsets[i]);
+            operation.markApplied();
+        }
+        index = next;
+        for (ProductWriteOperation operation : applied) {
+            versions.advance(operation.getProductId());
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        try {
+            return Optional.ofNullable(index.get(id))
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain);
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding product by id: " + id, e);
+        }
+    }
+
+    /**
+     * Resuelve todos los IDs sobre la misma versión del índice; los que no existen se omiten
+     */
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        try {
+            OffsetIndex current = index;
+            List<Product> products = new ArrayList<>(ids.size());
+            for (String id : new LinkedHashSet<>(ids)) {
+                ProductBinaryRecord record = current.get(id);
+                if (record != null) {
+                    products.add(productMapper.toDomain(record.toDto()));
+                }
+            }
+            return products;
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding products by ids", e);
+        }
+    }
+
+    @Override
+    public Optional<Product> findByTitle(String title) {
+        try {
+            if (title == null) {
+                return Optional.empty();
+            }
+            byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+            return index.records()
+                    .filter(record -> record.hasTitle(titleBytes))
+                    .findFirst()
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain);
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding product by title: " + title, e);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        try {
+            return index.records()
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding all products", e);
+        }
+    }
+
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        try {
+            return index.page(afterId, limit).stream()
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding product page after id: " + afterId, e);
+        }
+    }
+
+    @Override
+    public OptionalLong findVersionById(String id) {
+        return index.contains(id) ? OptionalLong.of(versions.versionOf(id)) : OptionalLong.empty();
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return versions.catalogVersion();
+    }
+
+    // Métodos adicionales útiles para el repositorio binario
+
+    public boolean deleteById(String id) {
+        try {
+            if (id == null) {
+                return false;
+            }
+            return productLocks.withLock(id, () -> writer.submitAndWait(ProductWriteOperation.delete(id)).isApplied());
+        } catch (Exception e) {
+            throw new RuntimeException("Error deleting product by id: " + id, e);
+        }
+    }
+
+    public long count() {
+        return index.size();
+    }
+
+    @Override
+    public List<Product> findByKeyword(String keyword) {
+        try {
+            return index.findByKeyword(keyword, record -> matchesKeyword(record, keyword))
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding products by keyword: " + keyword, e);
+        }
+    }
+
+    /**
+     * Solo se decodifican por completo los limit registros ganadores
+     */
+    @Override
+    public List<Product> findTopByKeyword(String keyword, int limit) {
+        try {
+            if (limit <= 0 || keyword == null) {
+                return new ArrayList<>();
+            }
+            OffsetIndex current = index;
+            Bm25Scorer scorer = new Bm25Scorer(keyword, current.fieldStats());
+            TopK<ProductBinaryRecord> top = new TopK<>(limit);
+            current.findByKeyword(keyword, record -> matchesKeyword(record, keyword)).forEach(record ->
+                    scorer.offer(top, record, record.getTitle(), record.getTags(), record.getDescription()));
+            return top.toList().stream()
+                    .map(ProductBinaryRecord::toDto)
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding top products by keyword: " + keyword, e);
+        }
+    }
+
+    @Override
+    public int countByKeyword(String keyword) {
+        try {
+            return (int) index.countByKeyword(keyword, record -> matchesKeyword(record, keyword));
+        } catch (Exception e) {
+            throw new RuntimeException("Error counting products by keyword: " + keyword, e);
+        }
+    }
+
+    /**
+     * Mismos campos que el resto de repositorios; cada campo se decodifica solo si
+     * los anteriores no han coincidido.
+     */
+    private boolean matchesKeyword(ProductBinaryRecord record, String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return false;
+        }
+
+        String lowerKeyword = keyword.toLowerCase();
+
+        return containsKeyword(record.getTitle(), lowerKeyword) ||
+               containsKeyword(record.getCategory(), lowerKeyword) ||
+               containsKeyword(record.getSubcategory(), lowerKeyword) ||
+               containsKeyword(record.getBrand(), lowerKeyword) ||
+               containsKeyword(record.getDescription(), lowerKeyword) ||
+               Optional.ofNullable(record.getTags()).stream().flatMap(List::stream)
+                       .anyMatch(tag -> containsKeyword(tag, lowerKeyword)) ||
+               containsKeyword(record.getModel(), lowerKeyword) ||
+               containsKeyword(record.getSku(), lowerKeyword);
+    }
+
+    private boolean containsKeyword(String value, String lowerKeyword) {
+        return value != null && value.toLowerCase().contains(lowerKeyword);
+    }
+
+    /**
+     * Tokens de los mismos campos que recorre matchesKeyword
+     */
+    private static Set<String> keywordTokens(ProductBinaryRecord record) {
+        return KeywordIndex.tokenize(keywordValues(record));
+    }
+
+    /**
+     * Valores de los campos que alimentan el índice de palabras clave (y BM25)
+     */
+    private static List<String> keywordValues(ProductBinaryRecord record) {
+        List<String> values = new ArrayList<>(Arrays.asList(
+                record.getTitle(), record.getCategory(), record.getSubcategory(), record.getBrand(),
+                record.getDescription(), record.getModel(), record.getSku()));
+        List<String> tags = record.getTags();
+        if (tags != null) {
+            values.addAll(tags);
+        }
+        return values;
+    }
+
+    /**
+     * Índice inmutable ID → desplazamiento en orden de inserción, ligado al mapeo
+     * que contiene todos sus registros. El índice de palabras clave usa la posición
+     * como identificador de documento.
+     */
+    private static final class OffsetIndex {
+        private final ByteBuffer buffer;
+        private final PersistentHashMap<String, Integer> positionById;
+        // IDs en orden lexicográfico para la paginación por cursor
+        private final PersistentSortedSet<String> orderedIds;
+        // Desplazamiento del registro vigente por posición; null si el producto se borró
+        private final PersistentVector<Integer> offsets;
+        private final KeywordIndex keywords;
+        private final Bm25Scorer.FieldStats fieldStats;
+
+        private OffsetIndex(ByteBuffer buffer, PersistentHashMap<String, Integer> positionById,
+                            PersistentSortedSet<String> orderedIds, PersistentVector<Integer> offsets, KeywordIndex keywords,
+                            Bm25Scorer.FieldStats fieldStats) {
+            this.buffer = buffer;
+            this.positionById = positionById;
+            this.orderedIds = orderedIds;
+            this.offsets = offsets;
+            this.keywords = keywords;
+            this.fieldStats = fieldStats;
+        }
+
+        static OffsetIndex empty(ByteBuffer buffer) {
+            return new OffsetIndex(buffer, PersistentHashMap.empty(), PersistentSortedSet.empty(), PersistentVector.empty(),
+                    KeywordIndex.empty(), Bm25Scorer.FieldStats.EMPTY);
+        }
+
+        Bm25Scorer.FieldStats fieldStats() {
+            return fieldStats;
+        }
+
+        int size() {
+            return positionById.size();
+        }
+
+        boolean contains(String id) {
+            return id != null && positionById.containsKey(id);
+        }
+
+        ProductBinaryRecord get(String id) {
+            Integer position = id != null ? positionById.get(id) : null;
+            return position != null ? new ProductBinaryRecord(buffer, offsets.get(position)) : null;
+        }
+
+        Long sequenceOf(String id) {
+            ProductBinaryRecord record = get(id);
+            return record != null ? record.getSequence() : null;
+        }
+
+        /**
+         * Registros en orden de ID a continuación de afterId
+         */
+        List<ProductBinaryRecord> page(String afterId, int limit) {
+            List<ProductBinaryRecord> page = new ArrayList<>();
+            for (String id : orderedIds.after(afterId, limit)) {
+                page.add(get(id));
+            }
+            return page;
+        }
+
+        Stream<ProductBinaryRecord> records() {
+            List<ProductBinaryRecord> records = new ArrayList<>(size());
+            offsets.forEach(offset -> {
+                if (offset != null) {
+                    records.add(new ProductBinaryRecord(buffer, offset));
+                }
+            });
+            return records.stream();
+        }
+
+        /**
+         * Registros que cumplen el predicado, en orden de inserción; el predicado solo se
+         * evalúa cuando el índice no da una coincidencia exacta.
+         */
+        Stream<ProductBinaryRecord> findByKeyword(String keyword, Predicate<ProductBinaryRecord> matchesKeyword) {
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return Stream.empty();
+            }
+            KeywordIndex.Match match = keywords.search(keyword);
+            if (match == null) {
+                return records().filter(matchesKeyword);
+            }
+            Stream<ProductBinaryRecord> candidates = IntStream.of(match.documents())
+                    .mapToObj(position -> new ProductBinaryRecord(buffer, offsets.get(position)));
+            return match.exact() ? candidates : candidates.filter(matchesKeyword);
+        }
+
+        long countByKeyword(String keyword, Predicate<ProductBinaryRecord> matchesKeyword) {
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return 0;
+            }
+            KeywordIndex.Match match = keywords.search(keyword);
+            if (match != null && match.exact()) {
+                return match.documents().length;
+            }
+            return findByKeyword(keyword, matchesKeyword).count();
+        }
+
+        OffsetIndex withBuffer(ByteBuffer newBuffer) {
+            return new OffsetIndex(newBuffer, positionById, orderedIds, offsets, keywords, fieldStats);
+        }
+
+        OffsetIndex with(String id, int offset) {
+            ProductBinaryRecord record = new ProductBinaryRecord(buffer, offset);
+            List<String> values = keywordValues(record);
+            Integer position = positionById.get(id);
+            if (position != null) {
+                ProductBinaryRecord previous = new ProductBinaryRecord(buffer, offsets.get(position));
+                List<String> previousValues = keywordValues(previous);
+                if (previousValues.equals(values)) {
+                    // Sin cambios en los campos de búsqueda (p. ej. precio o stock) no se reindexa
+                    return new OffsetIndex(buffer, positionById, orderedIds, offsets.set(position, offset),
+                            keywords, fieldStats);
+                }
+                return new OffsetIndex(buffer, positionById, orderedIds, offsets.set(position, offset),
+                        keywords.update(position, KeywordIndex.tokenize(previousValues), KeywordIndex.tokenize(values)),
+                        fieldStats.minus(previous.getTitle(), previous.getTags(), previous.getDescription())
+                                .plus(record.getTitle(), record.getTags(), record.getDescription()));
+            }
+            int newPosition = offsets.size();
+            return new OffsetIndex(buffer, positionById.put(id, newPosition), orderedIds.add(id), offsets.append(offset),
+                    keywords.update(newPosition, Collections.emptySet(), KeywordIndex.tokenize(values)),
+                    fieldStats.plus(record.getTitle(), record.getTags(), record.getDescription()));
+        }
+
+        OffsetIndex without(String id) {
+            Integer position = positionById.get(id);
+            if (position == null) {
+                return this;
+            }
+            ProductBinaryRecord previous = new ProductBinaryRecord(buffer, offsets.get(position));
+            return new OffsetIndex(buffer, positionById.remove(id), orderedIds.remove(id), offsets.set(position, null),
+                    keywords.update(position, keywordTokens(previous), Collections.emptySet()),
+                    fieldStats.minus(previous.getTitle(), previous.getTags(), previous.getDescription()));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.project.infraestructure.persistance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Archivo de registros binarios de producto mapeado en memoria.
+ *
+ * Cabecera (16 bytes): número mágico, versión y final lógico de los datos. Los registros
+ * ({@link ProductBinaryRecord}) solo se añaden a continuación del final; una actualización
+ * es un registro nuevo del mismo ID y un borrado es un registro de tipo tombstone. El final
+ * lógico se actualiza después de forzar los registros a disco, por lo que un registro a
+ * medio escribir nunca queda dentro de la zona válida.
+ *
+ * El mapeo crece por duplicación; los lectores que conserven el mapeo anterior siguen
+ * viendo los registros que ya contenía. Tamaño máximo: 2 GB.
+ */
+public class ProductBinaryStore implements Closeable {
+
+    private static final int MAGIC = 0x50524F44; // "PROD"
+    private static final int VERSION = 1;
+    private static final int END = 8;
+    public static final int HEADER_SIZE = 16;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+
+    private final Path path;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int end;
+
+    public ProductBinaryStore(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size == 0) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(END, HEADER_SIZE);
+            buffer.force(0, HEADER_SIZE);
+            this.end = HEADER_SIZE;
+            return;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Binary store exceeds the 2 GB limit: " + path);
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        long storedEnd = size >= HEADER_SIZE ? buffer.getLong(END) : -1;
+        if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || storedEnd < HEADER_SIZE || storedEnd > size) {
+            throw new IOException("Invalid binary product store: " + path);
+        }
+        this.end = (int) storedEnd;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Mapeo actual. Contiene todos los registros confirmados hasta el momento de la llamada.
+     */
+    public MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    public synchronized int end() {
+        return end;
+    }
+
+    /**
+     * Recorre en orden de escritura todos los registros confirmados
+     */
+    public void scan(Consumer<ProductBinaryRecord> consumer) {
+        MappedByteBuffer current = buffer;
+        int limit = end();
+        int position = HEADER_SIZE;
+        while (position < limit) {
+            ProductBinaryRecord record = new ProductBinaryRecord(current, position);
+            consumer.accept(record);
+            position += record.getLength();
+        }
+    }
+
+    /**
+     * Añade los registros tras el final lógico, los fuerza a disco y después confirma el
+     * nuevo final. Devuelve el desplazamiento de cada registro en el mismo orden.
+     */
+    public synchronized int[] append(List<byte[]> records) throws IOException {
+        int[] offsets = new int[records.size()];
+        if (records.isEmpty()) {
+            return offsets;
+        }
+        long required = end;
+        for (byte[] record : records) {
+            required += record.length;
+        }
+        ensureCapacity(required);
+
+        MappedByteBuffer current = buffer;
+        int position = end;
+        for (int i = 0; i < offsets.length; i++) {
+            byte[] record = records.get(i);
+            offsets[i] = position;
+            current.put(position, record);
+            position += record.length;
+        }
+        current.force(end, position - end);
+        current.putLong(END, position);
+        current.force(0, HEADER_SIZE);
+        end = position;
+        return offsets;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        long capacity = buffer.capacity();
+        if (required <= capacity) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IOException("Binary store exceeds the 2 GB limit: " + path);
+        }
+        long newCapacity = Math.min(Integer.MAX_VALUE, Math.max(required, capacity * 2));
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,41 +1,85 @@
 package com.example.project.infraestructure.persistance;
 
+import com.example.project.application.concurrency.StripedLock;
+import com.example.project.application.exception.ProductVersionConflictException;
 import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
 import com.example.project.application.port.out.ProductRepository;
+import com.example.project.domain.common.enums.ListingType;
+import com.example.project.domain.common.enums.ProductCondition;
+import com.example.project.domain.common.enums.ProductStatus;
 import com.example.project.domain.model.Product;
 import com.example.project.infraestructure.dto.ProductDto;
+import com.example.project.infraestructure.persistance.catalog.Bm25Scorer;
+import com.example.project.infraestructure.persistance.catalog.ProductVersionTable;
+import com.example.project.infraestructure.persistance.catalog.TopK;
+import com.example.project.infraestructure.persistance.csv.CsvOffsetIndex;
+import com.example.project.infraestructure.persistance.csv.CsvReader;
+import com.example.project.infraestructure.persistance.csv.ParallelCsvLoader;
 
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.io.*;
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDateTime;
+import java.nio.file.StandardCopyOption;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Repository
 @Profile("csv")
 public class ProductCsvRepositoryAdapter implements ProductRepository {
 
+    private static final char LIST_SEPARATOR = ';';
+
     private final String dataFilePath;
     private final DateTimeFormatter dateTimeFormatter;
     private final String CSV_HEADER;
 
     private final ProductMapper productMapper;
-    public ProductCsvRepositoryAdapter(ProductMapper productMapper) {
+
+    // Escritor único con group commit: un solo ciclo leer-modificar-reescribir por lote
+    private final GroupCommitWriter<ProductWriteOperation> writer;
+
+    // Locks por franjas de ID: las escrituras de un mismo producto se aplican en orden de llegada
+    private final StripedLock productLocks = new StripedLock(64);
+
+    private final ParallelCsvLoader csvLoader = new ParallelCsvLoader(ForkJoinPool.commonPool());
+
+    // Índice sidecar ID → posición del registro en el CSV (data/products.csv.idx)
+    private final String indexFilePath;
+    private volatile CsvOffsetIndex offsetIndex;
+
+    // Versiones para los ETag; avanzan al persistir cada lote
+    private final ProductVersionTable versions = new ProductVersionTable();
+
+    public ProductCsvRepositoryAdapter(ProductMapper productMapper,
+                                       @Value("${product.persistence.data-dir:data}") String dataDirectory,
+                                       @Value("${product.persistence.group-commit.max-batch-size:256}") int maxBatchSize,
+                                       @Value("${product.persistence.group-commit.max-wait-micros:1000}") long maxWaitMicros) {
         this.productMapper = productMapper;
-        this.dataFilePath = "data/products.csv";
-        this.dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        this.dataFilePath = Paths.get(dataDirectory, "products.csv").toString();
+        this.indexFilePath = dataFilePath + ".idx";
+        this.dateTimeFormatter = CsvReader.DATE_TIME_FORMAT;
         this.CSV_HEADER = "id,title,description,price,currency,availableQuantity,status,category,subcategory," +
                 "sellerId,sellerName,listingType,freeShipping,shippingCost,weight,width,height,length," +
                 "images,attributes,views,sales,rating,ratingCount,createdAt,updatedAt,lastSoldAt,condition," +
                 "brand,model,sku,barcode,tags,warranty,returnPolicy";
         initializeDataFile();
+        this.writer = new GroupCommitWriter<>("product-csv-writer", maxBatchSize, maxWaitMicros, this::commitBatch);
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
     }
 
     private void initializeDataFile() {
@@ -56,40 +100,241 @@ public class ProductCsvRepositoryAdapter implements ProductRepository {
     @Override
     public Product save(Product product) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            
             if (product.getId() != null) {
-                products = products.stream()
-                        .map(p -> p.getId().equals(product.getId()) ? productMapper.toDto(product) : p)
-                        .collect(Collectors.toList());
-            } else {
-                ProductDto productDto = productMapper.toDto(product);
-                productDto.setId(UUID.randomUUID().toString());
-                products.add(productDto);
+                ProductWriteOperation operation = ProductWriteOperation.update(productMapper.toDto(product));
+                productLocks.withLock(product.getId(), () -> writer.submitAndWait(operation));
+                return product;
             }
+
+            ProductDto productDto = productMapper.toDto(product);
+            productDto.setId(UUID.randomUUID().toString());
+            writer.submitAndWait(ProductWriteOperation.create(productDto));
+            return productMapper.toDomain(productDto);
             
-            saveAllProducts(products);
-            return product.getId() != null ? product : 
-                   productMapper.toDomain(products.get(products.size() - 1));
-            
         } catch (Exception e) {
             throw new RuntimeException("Error saving product to CSV", e);
         }
     }
 
+    @Override
+    public Product save(Product product, OptionalLong expectedVersion) {
+        if (expectedVersion.isEmpty() || product.getId() == null) {
+            return save(product);
+        }
+        try {
+            ProductWriteOperation operation = ProductWriteOperation.update(productMapper.toDto(product));
+            productLocks.withLock(product.getId(), () -> {
+                versions.checkExpected(product.getId(), expectedVersion, findVersionById(product.getId()).isPresent());
+                return writer.submitAndWait(operation);
+            });
+            return product;
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving product to CSV", e);
+        }
+    }
+
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        try {
+            List<ProductWriteOperation> operations = new ArrayList<>(products.size());
+            List<Product> saved = new ArrayList<>(products.size());
+            for (Product product : products) {
+                if (product.getId() != null) {
+                    operations.add(ProductWriteOperation.update(productMapper.toDto(product)));
+                    saved.add(product);
+                    continue;
+                }
+                ProductDto productDto = productMapper.toDto(product);
+                productDto.setId(UUID.randomUUID().toString());
+                operations.add(ProductWriteOperation.create(productDto));
+                saved.add(productMapper.toDomain(productDto));
+            }
+            writer.submitAllAndWait(operations);
+            return saved;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving products to CSV", e);
+        }
+    }
+
+    /**
+     * Persiste un lote del group commit con una sola lectura y una sola reescritura del archivo
+     */
+    private void commitBatch(List<ProductWriteOperation> batch) throws IOException {
+        Map<String, ProductDto> products = new LinkedHashMap<>();
+        for (ProductDto product : loadAllProducts()) {
+            products.put(product.getId(), product);
+        }
+        boolean changed = false;
+        for (ProductWriteOperation operation : batch) {
+            changed |= operation.applyTo(products);
+        }
+        if (changed) {
+            saveAllProducts(new ArrayList<>(products.values()));
+            for (ProductWriteOperation operation : batch) {
+                if (operation.isApplied()) {
+                    versions.advance(operation.getProductId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Solo consulta el índice de desplazamientos: no lee el registro
+     */
+    @Override
+    public OptionalLong findVersionById(String id) {
+        try {
+            if (id == null || currentIndex().get(id) == null) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(versions.versionOf(id));
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding version of product: " + id, e);
+        }
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        try {
+            currentIndex();
+            return versions.catalogVersion();
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding catalog version", e);
+        }
+    }
+
     @Override
     public Optional<Product> findById(String id) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
-                    .filter(p -> p.getId().equals(id))
-                    .findFirst()
-                    .map(productMapper::toDomain);
+            return Optional.ofNullable(findDtoById(id)).map(productMapper::toDomain);
         } catch (Exception e) {
             throw new RuntimeException("Error finding product by id: " + id, e);
         }
     }
 
+    private ProductDto findDtoById(String id) throws IOException {
+        if (id == null) {
+            return null;
+        }
+        CsvOffsetIndex index = currentIndex();
+        CsvOffsetIndex.Entry entry = index.get(id);
+        if (entry == null) {
+            return null;
+        }
+        ProductDto product = readIndexedProduct(entry);
+        if (product == null || !id.equals(product.getId())) {
+            // El archivo cambió entre la validación del índice y la lectura
+            product = loadAllProducts().stream()
+                    .filter(p -> id.equals(p.getId()))
+                    .findFirst()
+                    .orElse(null);
+        }
+        return product;
+    }
+
+    /**
+     * El formato obliga a reescribir el archivo, pero el parche se aplica sobre el registro
+     * leído por posición sin reconstruir el producto de dominio
+     */
+    @Override
+    public Optional<Product> patch(String id, ProductPatch patch, OptionalLong expectedVersion) {
+        try {
+            return productLocks.withLock(id, () -> {
+                ProductDto current;
+                try {
+                    current = findDtoById(id);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (current == null) {
+                    return Optional.<Product>empty();
+                }
+                versions.checkExpected(id, expectedVersion, true);
+                ProductDto patched = patch.applyTo(current);
+                if (!writer.submitAndWait(ProductWriteOperation.update(patched)).isApplied()) {
+                    return Optional.<Product>empty();
+                }
+                return Optional.of(productMapper.toDomain(patched));
+            });
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error patching product: " + id, e);
+        }
+    }
+
+    /**
+     * Localiza los IDs en el índice y lee todos los registros con un solo canal abierto,
+     * sin recorrer el archivo. Los que no existen se omiten.
+     */
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        try {
+            CsvOffsetIndex index = currentIndex();
+            List<String> indexedIds = new ArrayList<>(ids.size());
+            List<CsvOffsetIndex.Entry> entries = new ArrayList<>(ids.size());
+            for (String id : new LinkedHashSet<>(ids)) {
+                CsvOffsetIndex.Entry entry = id != null ? index.get(id) : null;
+                if (entry != null) {
+                    indexedIds.add(id);
+                    entries.add(entry);
+                }
+            }
+            byte[][] records = CsvOffsetIndex.readRecords(Paths.get(dataFilePath), entries);
+            List<ProductDto> products = new ArrayList<>(records.length);
+            for (int i = 0; i < records.length; i++) {
+                ProductDto product = parseRecordBytes(records[i]);
+                if (product == null || !indexedIds.get(i).equals(product.getId())) {
+                    // El archivo cambió entre la validación del índice y la lectura
+                    Set<String> wanted = new HashSet<>(ids);
+                    products = loadAllProducts().stream()
+                            .filter(p -> wanted.contains(p.getId()))
+                            .collect(Collectors.toList());
+                    break;
+                }
+                products.add(product);
+            }
+            return products.stream()
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding products by ids", e);
+        }
+    }
+
+    /**
+     * Página en orden de ID: el índice da los IDs siguientes y cada registro se lee con una
+     * lectura posicional, sin recorrer el archivo completo.
+     */
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        try {
+            CsvOffsetIndex index = currentIndex();
+            List<ProductDto> page = new ArrayList<>();
+            for (String id : index.idsAfter(afterId, limit)) {
+                ProductDto product = readIndexedProduct(index.get(id));
+                if (product == null || !id.equals(product.getId())) {
+                    // El archivo cambió entre la validación del índice y la lectura
+                    page = loadAllProducts().stream()
+                            .filter(p -> p.getId() != null && (afterId == null || p.getId().compareTo(afterId) > 0))
+                            .sorted(Comparator.comparing(ProductDto::getId))
+                            .limit(limit)
+                            .collect(Collectors.toList());
+                    break;
+                }
+                page.add(product);
+            }
+            return page.stream()
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding product page after id: " + afterId, e);
+        }
+    }
+
     @Override
     public Optional<Product> findByTitle(String title) {
         try {
@@ -121,85 +366,139 @@ public class ProductCsvRepositoryAdapter implements ProductRepository {
             return new ArrayList<>();
         }
         
-        List<ProductDto> products = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            boolean isFirstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
-                
-                if (!line.trim().isEmpty()) {
-                    ProductDto product = parseCsvLine(line);
-                    if (product != null) {
-                        products.add(product);
-                    }
-                }
-            }
-        }
-        
-        return products;
+        // La primera línea es la cabecera; los archivos grandes se analizan por trozos en paralelo
+        return csvLoader.load(file.toPath(), true, this::parseCsvRecord);
     }
 
+    /**
+     * Reescribe el archivo en un temporal, lo fuerza a disco y lo intercambia de forma atómica
+     */
     private void saveAllProducts(List<ProductDto> products) throws IOException {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(dataFilePath))) {
-            writer.println(CSV_HEADER);
+        Path dataPath = Paths.get(dataFilePath);
+        Path tempPath = Paths.get(dataFilePath + ".tmp");
+        byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+        CsvOffsetIndex.Builder index = CsvOffsetIndex.builder();
+        try (FileOutputStream out = new FileOutputStream(tempPath.toFile());
+             BufferedOutputStream writer = new BufferedOutputStream(out)) {
+            byte[] header = CSV_HEADER.getBytes(StandardCharsets.UTF_8);
+            writer.write(header);
+            writer.write(lineSeparator);
+            long position = header.length + lineSeparator.length;
             for (ProductDto product : products) {
-                writer.println(convertToCsvLine(product));
+                byte[] line = convertToCsvLine(product).getBytes(StandardCharsets.UTF_8);
+                index.add(product.getId(), position, line.length);
+                writer.write(line);
+                writer.write(lineSeparator);
+                position += line.length + lineSeparator.length;
             }
+            writer.flush();
+            out.getFD().sync();
         }
+        Files.move(tempPath, dataPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // El índice se sella con el archivo ya instalado; si falla, se reconstruirá al consultarlo
+        CsvOffsetIndex updated = index.build(dataPath);
+        offsetIndex = updated;
+        updated.write(Paths.get(indexFilePath));
     }
 
-    private ProductDto parseCsvLine(String line) {
+    /**
+     * Índice de desplazamientos vigente: el de memoria, el sidecar si sigue siendo válido
+     * o uno reconstruido a partir del CSV (que se vuelve a persistir).
+     */
+    private CsvOffsetIndex currentIndex() throws IOException {
+        Path dataPath = Paths.get(dataFilePath);
+        CsvOffsetIndex index = offsetIndex;
+        if (index != null && index.matches(dataPath)) {
+            return index;
+        }
+        synchronized (this) {
+            index = offsetIndex;
+            if (index != null && index.matches(dataPath)) {
+                return index;
+            }
+            Path indexPath = Paths.get(indexFilePath);
+            try {
+                index = CsvOffsetIndex.read(indexPath);
+            } catch (IOException e) {
+                index = null;
+            }
+            if (index == null || !index.matches(dataPath)) {
+                index = CsvOffsetIndex.rebuild(dataPath, true);
+                index.write(indexPath);
+            }
+            if (offsetIndex != null) {
+                // El archivo se modificó por fuera: no se sabe qué productos cambiaron
+                versions.advanceAll();
+            }
+            offsetIndex = index;
+            return index;
+        }
+    }
+
+    /**
+     * Una lectura posicional del registro y el análisis de esa única línea
+     */
+    private ProductDto readIndexedProduct(CsvOffsetIndex.Entry entry) throws IOException {
+        return parseRecordBytes(CsvOffsetIndex.readRecord(Paths.get(dataFilePath), entry));
+    }
+
+    private ProductDto parseRecordBytes(byte[] bytes) throws IOException {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8),
+                bytes.length + 16)) {
+            return reader.next() ? parseCsvRecord(reader) : null;
+        }
+    }
+
+    /**
+     * Convierte el registro actual del lector leyendo cada columna directamente del buffer
+     */
+    private ProductDto parseCsvRecord(CsvReader record) {
         try {
-            String[] fields = parseCsvFields(line);
-            if (fields.length < 35) {
+            if (record.fieldCount() < 35) {
                 return null;
             }
             
             ProductDto product = new ProductDto();
-            product.setId(parseString(fields[0]));
-            product.setTitle(fields[1]);
-            product.setDescription(fields[2]);
-            product.setPrice(parseBigDecimal(fields[3]));
-            product.setCurrency(fields[4]);
-            product.setAvailableQuantity(parseInteger(fields[5]));
-            product.setStatus(parseProductStatus(fields[6]));
-            product.setCategory(fields[7]);
-            product.setSubcategory(fields[8]);
-            product.setSellerId(parseString(fields[9]));
-            product.setSellerName(fields[10]);
-            product.setListingType(parseListingType(fields[11]));
-            product.setFreeShipping(parseBoolean(fields[12]));
-            product.setShippingCost(parseBigDecimal(fields[13]));
-            product.setWeight(parseDouble(fields[14]));
-            product.setWidth(parseDouble(fields[15]));
-            product.setHeight(parseDouble(fields[16]));
-            product.setLength(parseDouble(fields[17]));
-            product.setImages(parseStringList(fields[18]));
-            product.setAttributes(parseStringList(fields[19]));
-            product.setViews(parseInteger(fields[20]));
-            product.setSales(parseInteger(fields[21]));
-            product.setRating(parseDouble(fields[22]));
-            product.setRatingCount(parseInteger(fields[23]));
-            product.setCreatedAt(parseLocalDateTime(fields[24]));
-            product.setUpdatedAt(parseLocalDateTime(fields[25]));
-            product.setLastSoldAt(parseLocalDateTime(fields[26]));
-            product.setCondition(parseProductCondition(fields[27]));
-            product.setBrand(fields[28]);
-            product.setModel(fields[29]);
-            product.setSku(fields[30]);
-            product.setBarcode(fields[31]);
-            product.setTags(parseStringList(fields[32]));
-            product.setWarranty(fields[33]);
-            product.setReturnPolicy(fields[34]);
+            product.setId(record.getNullableString(0));
+            product.setTitle(record.getString(1));
+            product.setDescription(record.getString(2));
+            product.setPrice(record.getBigDecimal(3));
+            product.setCurrency(record.getString(4));
+            product.setAvailableQuantity(record.getInteger(5));
+            product.setStatus(record.getEnum(6, ProductStatus.values()));
+            product.setCategory(record.getString(7));
+            product.setSubcategory(record.getString(8));
+            product.setSellerId(record.getNullableString(9));
+            product.setSellerName(record.getString(10));
+            product.setListingType(record.getEnum(11, ListingType.values()));
+            product.setFreeShipping(record.getBoolean(12));
+            product.setShippingCost(record.getBigDecimal(13));
+            product.setWeight(record.getDouble(14));
+            product.setWidth(record.getDouble(15));
+            product.setHeight(record.getDouble(16));
+            product.setLength(record.getDouble(17));
+            product.setImages(record.getStringList(18, LIST_SEPARATOR));
+            product.setAttributes(record.getStringList(19, LIST_SEPARATOR));
+            product.setViews(record.getInteger(20));
+            product.setSales(record.getInteger(21));
+            product.setRating(record.getDouble(22));
+            product.setRatingCount(record.getInteger(23));
+            product.setCreatedAt(record.getDateTime(24));
+            product.setUpdatedAt(record.getDateTime(25));
+            product.setLastSoldAt(record.getDateTime(26));
+            product.setCondition(record.getEnum(27, ProductCondition.values()));
+            product.setBrand(record.getString(28));
+            product.setModel(record.getString(29));
+            product.setSku(record.getString(30));
+            product.setBarcode(record.getString(31));
+            product.setTags(record.getStringList(32, LIST_SEPARATOR));
+            product.setWarranty(record.getString(33));
+            product.setReturnPolicy(record.getString(34));
             
             return product;
         } catch (Exception e) {
-            System.err.println("Error parsing CSV line: " + line + " - " + e.getMessage());
+            System.err.println("Error parsing CSV line: " + record.recordText() + " - " + e.getMessage());
             return null;
         }
     }
@@ -244,29 +543,7 @@ public class ProductCsvRepositoryAdapter implements ProductRepository {
         );
     }
 
-    // Métodos helper para parsing CSV
-    private String[] parseCsvFields(String line) {
-        List<String> fields = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(currentField.toString());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
-            }
-        }
-        fields.add(currentField.toString());
-        
-        return fields.toArray(new String[0]);
-    }
-
+    // Métodos helper para escritura CSV
     private String escapeCsvField(String field) {
         if (field == null) {
             return "";
@@ -281,65 +558,16 @@ public class ProductCsvRepositoryAdapter implements ProductRepository {
         if (list == null || list.isEmpty()) {
             return "";
         }
-        return String.join(";", list);
-    }
-
-    private List<String> parseStringList(String field) {
-        if (field == null || field.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-        return Arrays.asList(field.split(";"));
-    }
-
-    // Métodos de parsing para tipos específicos
-    private String parseString(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : value;
-    }
-
-    private Integer parseInteger(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : Integer.parseInt(value);
-    }
-
-    private Double parseDouble(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : Double.parseDouble(value);
-    }
-
-    private BigDecimal parseBigDecimal(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : new BigDecimal(value);
-    }
-
-    private Boolean parseBoolean(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : Boolean.parseBoolean(value);
-    }
-
-    private LocalDateTime parseLocalDateTime(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : LocalDateTime.parse(value, dateTimeFormatter);
-    }
-
-    private com.example.project.domain.common.enums.ProductStatus parseProductStatus(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : 
-               com.example.project.domain.common.enums.ProductStatus.valueOf(value);
-    }
-
-    private com.example.project.domain.common.enums.ListingType parseListingType(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : 
-               com.example.project.domain.common.enums.ListingType.valueOf(value);
-    }
-
-    private com.example.project.domain.common.enums.ProductCondition parseProductCondition(String value) {
-        return (value == null || value.trim().isEmpty()) ? null : 
-               com.example.project.domain.common.enums.ProductCondition.valueOf(value);
+        return String.join(String.valueOf(LIST_SEPARATOR), list);
     }
 
     // Métodos adicionales útiles
     public boolean deleteById(String id) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            boolean removed = products.removeIf(p -> p.getId().equals(id));
-            if (removed) {
-                saveAllProducts(products);
+            if (id == null) {
+                return false;
             }
-            return removed;
+            return productLocks.withLock(id, () -> writer.submitAndWait(ProductWriteOperation.delete(id)).isApplied());
         } catch (Exception e) {
             throw new RuntimeException("Error deleting product by id: " + id, e);
         }
@@ -390,6 +618,35 @@ public class ProductCsvRepositoryAdapter implements ProductRepository {
         }
     }
 
+    /**
+     * Las estadísticas de longitud se calculan sobre el catálogo leído en esta misma pasada
+     */
+    @Override
+    public List<Product> findTopByKeyword(String keyword, int limit) {
+        try {
+            if (limit <= 0 || keyword == null) {
+                return new ArrayList<>();
+            }
+            List<ProductDto> products = loadAllProducts();
+            Bm25Scorer.FieldStats stats = Bm25Scorer.FieldStats.EMPTY;
+            for (ProductDto product : products) {
+                stats = stats.plus(product.getTitle(), product.getTags(), product.getDescription());
+            }
+            Bm25Scorer scorer = new Bm25Scorer(keyword, stats);
+            TopK<ProductDto> top = new TopK<>(limit);
+            for (ProductDto product : products) {
+                if (matchesKeyword(product, keyword)) {
+                    scorer.offer(top, product, product.getTitle(), product.getTags(), product.getDescription());
+                }
+            }
+            return top.toList().stream()
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding top products by keyword: " + keyword, e);
+        }
+    }
+
     @Override
     public int countByKeyword(String keyword) {
         try {
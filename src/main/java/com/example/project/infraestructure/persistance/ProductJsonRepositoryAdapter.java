@@ -1,38 +1,89 @@
 package com.example.project.infraestructure.persistance;
 
+import com.example.project.application.concurrency.StripedLock;
+import com.example.project.application.exception.ProductVersionConflictException;
 import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
 import com.example.project.application.port.out.ProductRepository;
 import com.example.project.domain.model.Product;
 import com.example.project.infraestructure.dto.ProductDto;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.example.project.infraestructure.persistance.catalog.CatalogSnapshot;
+import com.example.project.infraestructure.persistance.catalog.ProductVersionTable;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @Profile("json")
 public class ProductJsonRepositoryAdapter implements ProductRepository {
 
+    public static final String MODE_SNAPSHOT = "snapshot";
+    public static final String MODE_WAL = "wal";
+
     private final ObjectMapper objectMapper;
     private final String dataFilePath;
+    private final String logFilePath;
+    private final String sealedLogFilePath;
     private final ProductMapper productMapper;
+    private final ProductJsonStreamReader productReader;
+
+    // En modo "wal" cada cambio se añade al log en lugar de reescribir products.json
+    private ProductWriteAheadLog writeAheadLog;
+
+    // Escritor único con group commit: agrupa las escrituras concurrentes en un solo fsync
+    private final GroupCommitWriter<ProductWriteOperation> writer;
+
+    // Locks por franjas de ID: las escrituras de un mismo producto se aplican en orden de llegada
+    private final StripedLock productLocks = new StripedLock(64);
+
+    // Catálogo residente publicado como versión inmutable: los lectores toman la referencia
+    // sin bloqueos y solo el hilo escritor (o la carga inicial) publica versiones nuevas
+    private volatile CatalogSnapshot catalog = CatalogSnapshot.empty();
+
+    // Versiones para los ETag; avanzan al publicar cada lote
+    private final ProductVersionTable versions = new ProductVersionTable();
     
-    public ProductJsonRepositoryAdapter(ProductMapper productMapper) {
+    public ProductJsonRepositoryAdapter(ProductMapper productMapper,
+                                        @Value("${product.persistence.data-dir:data}") String dataDirectory,
+                                        @Value("${product.persistence.json.mode:snapshot}") String persistenceMode,
+                                        @Value("${product.persistence.group-commit.max-batch-size:256}") int maxBatchSize,
+                                        @Value("${product.persistence.group-commit.max-wait-micros:1000}") long maxWaitMicros) {
         this.productMapper = productMapper;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
-        this.dataFilePath = "data/products.json";
+        this.productReader = new ProductJsonStreamReader(objectMapper);
+        this.dataFilePath = Paths.get(dataDirectory, "products.json").toString();
+        this.logFilePath = Paths.get(dataDirectory, "products.wal").toString();
+        this.sealedLogFilePath = Paths.get(dataDirectory, "products.wal.sealed").toString();
         initializeDataFile();
+        loadCatalog();
+        initializeWriteAheadLog(persistenceMode);
+        this.writer = new GroupCommitWriter<>("product-json-writer", maxBatchSize, maxWaitMicros, this::commitBatch);
     }
 
     private void initializeDataFile() {
@@ -48,55 +99,302 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
         }
     }
 
+    /**
+     * Carga el archivo una sola vez al arrancar, producto a producto en streaming; a partir
+     * de aquí todas las lecturas se sirven desde memoria y las escrituras mantienen el catálogo al día.
+     */
+    private void loadCatalog() {
+        try {
+            productReader.forEach(Paths.get(dataFilePath), this::applyUpsert);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading product catalog", e);
+        }
+    }
+
+    /**
+     * Reproduce el log sobre el último snapshot: primero el log sellado por una
+     * compactación que no llegó a terminar (si existe) y después el log activo.
+     * En modo "snapshot" un log residual (por ejemplo, tras cambiar de modo) se
+     * consolida en products.json y se elimina.
+     */
+    private void initializeWriteAheadLog(String persistenceMode) {
+        boolean walMode = MODE_WAL.equalsIgnoreCase(persistenceMode);
+        Path logPath = Paths.get(logFilePath);
+        Path sealedLogPath = Paths.get(sealedLogFilePath);
+        if (!walMode && !Files.exists(logPath) && !Files.exists(sealedLogPath)) {
+            return;
+        }
+        try {
+            long replayed = 0;
+            if (Files.exists(sealedLogPath)) {
+                try (ProductWriteAheadLog sealedLog = new ProductWriteAheadLog(sealedLogPath)) {
+                    replayed += sealedLog.replay(this::applyLogEntry);
+                }
+            }
+            ProductWriteAheadLog log = new ProductWriteAheadLog(logPath);
+            replayed += log.replay(this::applyLogEntry);
+            if (walMode) {
+                this.writeAheadLog = log;
+                return;
+            }
+            if (replayed > 0) {
+                saveAllProducts(catalogSnapshot());
+            }
+            log.close();
+            Files.deleteIfExists(logPath);
+            Files.deleteIfExists(sealedLogPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Error initializing write-ahead log", e);
+        }
+    }
+
+    private void applyLogEntry(ProductWriteAheadLog.Entry entry) {
+        try {
+            if (entry.getType() == ProductWriteAheadLog.SAVE) {
+                applyUpsert(productReader.read(entry.getPayload()));
+            } else if (entry.getType() == ProductWriteAheadLog.DELETE) {
+                applyDelete(entry.getPayloadAsString());
+            } else if (entry.getType() == ProductWriteAheadLog.PATCH) {
+                applyPatch(objectMapper.readTree(entry.getPayload()));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error replaying write-ahead log entry", e);
+        }
+    }
+
+    private void applyUpsert(ProductDto productDto) {
+        catalog = catalog.withProduct(productDto);
+    }
+
+    /**
+     * Fusiona los campos del registro sobre una copia del producto actual
+     */
+    private void applyPatch(JsonNode patch) throws IOException {
+        ProductDto current = catalog.get(patch.path("id").asText(null));
+        if (current != null) {
+            applyUpsert(objectMapper.readerForUpdating(current.toBuilder().build()).readValue(patch));
+        }
+    }
+
+    private void applyDelete(String id) {
+        catalog = catalog.withoutProduct(id);
+    }
+
+    public boolean isWriteAheadLogEnabled() {
+        return writeAheadLog != null;
+    }
+
+    public long getWriteAheadLogSize() {
+        try {
+            return writeAheadLog != null ? writeAheadLog.size() : 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading write-ahead log size", e);
+        }
+    }
+
+    /**
+     * Primer paso de la compactación: sella el log activo y devuelve una vista puntual
+     * del catálogo que lo cubre. Solo bloquea las escrituras durante el sellado;
+     * los cambios posteriores van al nuevo log activo.
+     */
+    public synchronized List<ProductDto> sealWriteAheadLog() throws IOException {
+        if (writeAheadLog == null) {
+            throw new IllegalStateException("Write-ahead log is not enabled");
+        }
+        writeAheadLog.sealTo(Paths.get(sealedLogFilePath));
+        return catalogSnapshot();
+    }
+
+    /**
+     * Segundo paso: escribe el snapshot en un archivo temporal y lo intercambia de forma
+     * atómica con products.json. Después el log sellado ya no es necesario.
+     */
+    public void writeSnapshotAndDiscardSealedLog(List<ProductDto> products, IntConsumer progress) throws IOException {
+        writeSnapshot(products, progress);
+        Files.deleteIfExists(Paths.get(sealedLogFilePath));
+    }
+
+    private void writeSnapshot(List<ProductDto> products, IntConsumer progress) throws IOException {
+        Path dataPath = Paths.get(dataFilePath);
+        Path tempPath = Paths.get(dataFilePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            generator.writeStartArray();
+            int written = 0;
+            for (ProductDto product : products) {
+                objectMapper.writeValue(generator, product);
+                progress.accept(++written);
+            }
+            generator.writeEndArray();
+            generator.flush();
+            channel.force(true);
+        }
+        Files.move(tempPath, dataPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
+        if (writeAheadLog == null) {
+            return;
+        }
+        try {
+            writeAheadLog.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Error closing write-ahead log", e);
+        }
+    }
+
+    private List<ProductDto> catalogSnapshot() {
+        return catalog.toList();
+    }
+
+    private Stream<ProductDto> catalogStream() {
+        return catalog.stream();
+    }
+
     @Override
     public Product save(Product product) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            
             // Si el producto tiene ID, es una actualización
             if (product.getId() != null) {
-                products = products.stream()
-                        .map(p -> p.getId().equals(product.getId()) ? productMapper.toDto(product) : p)
-                        .collect(Collectors.toList());
-            } else {
-                // Si no tiene ID, es una creación - generar UUID
-                ProductDto productDto = productMapper.toDto(product);
-                productDto.setId(UUID.randomUUID().toString());
-                products.add(productDto);
+                ProductWriteOperation operation = prepare(ProductWriteOperation.update(productMapper.toDto(product)));
+                productLocks.withLock(product.getId(), () -> writer.submitAndWait(operation));
+                return product;
             }
-            
-            // Guardar en archivo
-            saveAllProducts(products);
-            
+
+            // Si no tiene ID, es una creación - generar UUID
+            ProductDto productDto = productMapper.toDto(product);
+            productDto.setId(UUID.randomUUID().toString());
+            writer.submitAndWait(prepare(ProductWriteOperation.create(productDto)));
+
             // Retornar el producto con ID asignado
-            return product.getId() != null ? product : 
-                   productMapper.toDomain(products.get(products.size() - 1));
+            return productMapper.toDomain(productDto);
             
         } catch (Exception e) {
             throw new RuntimeException("Error saving product", e);
         }
     }
 
+    @Override
+    public Product save(Product product, OptionalLong expectedVersion) {
+        if (expectedVersion.isEmpty() || product.getId() == null) {
+            return save(product);
+        }
+        try {
+            ProductWriteOperation operation = prepare(ProductWriteOperation.update(productMapper.toDto(product)));
+            productLocks.withLock(product.getId(), () -> {
+                versions.checkExpected(product.getId(), expectedVersion, catalog.contains(product.getId()));
+                return writer.submitAndWait(operation);
+            });
+            return product;
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving product", e);
+        }
+    }
+
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        try {
+            List<ProductWriteOperation> operations = new ArrayList<>(products.size());
+            List<Product> saved = new ArrayList<>(products.size());
+            for (Product product : products) {
+                if (product.getId() != null) {
+                    operations.add(prepare(ProductWriteOperation.update(productMapper.toDto(product))));
+                    saved.add(product);
+                    continue;
+                }
+                ProductDto productDto = productMapper.toDto(product);
+                productDto.setId(UUID.randomUUID().toString());
+                operations.add(prepare(ProductWriteOperation.create(productDto)));
+                saved.add(productMapper.toDomain(productDto));
+            }
+            writer.submitAllAndWait(operations);
+            return saved;
+        } catch (Exception e) {
+            throw new RuntimeException("Error saving products", e);
+        }
+    }
+
+    /**
+     * Aplica el parche sobre una copia superficial del producto publicado. En modo "wal" el
+     * log solo recibe los campos modificados; el índice de palabras clave solo se toca si
+     * cambia algún campo de búsqueda.
+     */
+    @Override
+    public Optional<Product> patch(String id, ProductPatch patch, OptionalLong expectedVersion) {
+        try {
+            return productLocks.withLock(id, () -> {
+                ProductDto current = catalog.get(id);
+                if (current == null) {
+                    return Optional.<Product>empty();
+                }
+                versions.checkExpected(id, expectedVersion, true);
+                ProductDto patched = patch.applyTo(current);
+                ProductWriteOperation operation = ProductWriteOperation.update(patched);
+                if (writeAheadLog != null) {
+                    operation.withPatchPayload(patchPayload(patched, patch.storedFields()));
+                }
+                if (!writer.submitAndWait(operation).isApplied()) {
+                    return Optional.<Product>empty();
+                }
+                return Optional.of(productMapper.toDomain(patched));
+            });
+        } catch (ProductVersionConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Error patching product: " + id, e);
+        }
+    }
+
+    private byte[] patchPayload(ProductDto patched, Set<String> fields) {
+        ObjectNode node = objectMapper.valueToTree(patched);
+        node.retain(fields);
+        ObjectNode payload = objectMapper.createObjectNode().put("id", patched.getId());
+        payload.setAll(node);
+        return payload.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
     @Override
     public Optional<Product> findById(String id) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
-                    .filter(p -> p.getId().equals(id))
-                    .findFirst()
+            return Optional.ofNullable(catalog.get(id))
                     .map(productMapper::toDomain);
         } catch (Exception e) {
             throw new RuntimeException("Error finding product by id: " + id, e);
         }
     }
 
+    /**
+     * Resuelve todos los IDs sobre la misma versión del catálogo; los que no existen se omiten
+     */
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        try {
+            CatalogSnapshot snapshot = catalog;
+            List<Product> products = new ArrayList<>(ids.size());
+            for (String id : new LinkedHashSet<>(ids)) {
+                ProductDto product = snapshot.get(id);
+                if (product != null) {
+                    products.add(productMapper.toDomain(product));
+                }
+            }
+            return products;
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding products by ids", e);
+        }
+    }
+
     @Override
     public Optional<Product> findByTitle(String title) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
-                    .filter(p -> p.getTitle() != null && p.getTitle().equals(title))
-                    .findFirst()
+            return catalog.findFirstByTitle(title)
                     .map(productMapper::toDomain);
         } catch (Exception e) {
             throw new RuntimeException("Error finding product by title: " + title, e);
@@ -106,8 +404,7 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
     @Override
     public List<Product> findAll() {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
+            return catalogStream()
                     .map(productMapper::toDomain)
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -115,30 +412,134 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
         }
     }
 
-    private List<ProductDto> loadAllProducts() throws IOException {
-        File file = new File(dataFilePath);
-        if (!file.exists() || file.length() == 0) {
-            return new ArrayList<>();
+    @Override
+    public List<Product> findPage(String afterId, int limit) {
+        try {
+            return catalog.page(afterId, limit).stream()
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding product page after id: " + afterId, e);
+        }
+    }
+
+    @Override
+    public OptionalLong findVersionById(String id) {
+        return catalog.contains(id) ? OptionalLong.of(versions.versionOf(id)) : OptionalLong.empty();
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return versions.catalogVersion();
+    }
+
+    /**
+     * Persiste un lote del group commit y, una vez durable, publica de una sola vez la
+     * versión del catálogo que lo incluye: los lectores ven el lote completo o nada.
+     * En modo "wal" solo se añaden al log los productos modificados (coste proporcional
+     * al lote); en modo "snapshot" se reescribe el archivo completo una vez por lote.
+     */
+    private void commitBatch(List<ProductWriteOperation> batch) throws IOException {
+        if (writeAheadLog != null) {
+            commitToLog(batch);
+        } else {
+            commitToSnapshot(batch);
+        }
+    }
+
+    private void commitToLog(List<ProductWriteOperation> batch) throws IOException {
+        CatalogSnapshot next = catalog;
+        List<ProductWriteAheadLog.Entry> entries = new ArrayList<>(batch.size());
+        for (ProductWriteOperation operation : batch) {
+            CatalogSnapshot applied = apply(next, operation);
+            if (applied != null) {
+                entries.add(toLogEntry(operation));
+                next = applied;
+            }
+        }
+
+        // El sellado del log (compactación) no puede intercalarse entre la escritura y la publicación
+        synchronized (this) {
+            writeAheadLog.appendAll(entries);
+            catalog = next;
+        }
+        advanceVersions(batch);
+    }
+
+    private void commitToSnapshot(List<ProductWriteOperation> batch) throws IOException {
+        CatalogSnapshot current = catalog;
+        CatalogSnapshot next = current;
+        for (ProductWriteOperation operation : batch) {
+            CatalogSnapshot applied = apply(next, operation);
+            if (applied != null) {
+                next = applied;
+            }
+        }
+        if (next != current) {
+            saveAllProducts(next.toList());
+        }
+        catalog = next;
+        advanceVersions(batch);
+    }
+
+    private void advanceVersions(List<ProductWriteOperation> batch) {
+        for (ProductWriteOperation operation : batch) {
+            if (operation.isApplied()) {
+                versions.advance(operation.getProductId());
+            }
         }
-        
-        return objectMapper.readValue(file, new TypeReference<List<ProductDto>>() {});
+    }
+
+    /**
+     * Construye la versión siguiente del catálogo con la operación aplicada,
+     * o devuelve null si la operación no tiene efecto.
+     */
+    private CatalogSnapshot apply(CatalogSnapshot snapshot, ProductWriteOperation operation) {
+        if (!operation.isApplicable(snapshot.contains(operation.getProductId()))) {
+            return null;
+        }
+        operation.markApplied();
+        return operation.getType() == ProductWriteOperation.Type.DELETE
+                ? snapshot.withoutProduct(operation.getProductId())
+                : snapshot.withProduct(operation.getProduct());
+    }
+
+    /**
+     * En modo "wal" serializa el producto en el hilo del llamador, en paralelo con
+     * otras escrituras; el escritor único solo añade los bytes al log.
+     */
+    private ProductWriteOperation prepare(ProductWriteOperation operation) throws IOException {
+        if (writeAheadLog != null && operation.getProduct() != null) {
+            operation.withPayload(objectMapper.writeValueAsBytes(operation.getProduct()));
+        }
+        return operation;
+    }
+
+    private ProductWriteAheadLog.Entry toLogEntry(ProductWriteOperation operation) throws IOException {
+        if (operation.getType() == ProductWriteOperation.Type.DELETE) {
+            return ProductWriteAheadLog.Entry.delete(operation.getProductId());
+        }
+        if (operation.getPatchPayload() != null) {
+            return new ProductWriteAheadLog.Entry(ProductWriteAheadLog.PATCH, operation.getPatchPayload());
+        }
+        byte[] payload = operation.getPayload() != null
+                ? operation.getPayload()
+                : objectMapper.writeValueAsBytes(operation.getProduct());
+        return new ProductWriteAheadLog.Entry(ProductWriteAheadLog.SAVE, payload);
     }
 
     private void saveAllProducts(List<ProductDto> products) throws IOException {
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(new File(dataFilePath), products);
+        writeSnapshot(products, written -> { });
     }
 
     // Métodos adicionales útiles para el repositorio JSON
     
     public boolean deleteById(String id) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            boolean removed = products.removeIf(p -> p.getId().equals(id));
-            if (removed) {
-                saveAllProducts(products);
+            if (id == null) {
+                return false;
             }
-            return removed;
+            return productLocks.withLock(id, () -> writer.submitAndWait(ProductWriteOperation.delete(id)).isApplied());
         } catch (Exception e) {
             throw new RuntimeException("Error deleting product by id: " + id, e);
         }
@@ -146,8 +547,7 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
 
     public List<Product> findByCategory(String category) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
+            return catalogStream()
                     .filter(p -> p.getCategory() != null && p.getCategory().equals(category))
                     .map(productMapper::toDomain)
                     .collect(Collectors.toList());
@@ -158,8 +558,7 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
 
     public List<Product> findBySellerId(Long sellerId) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
+            return catalogStream()
                     .filter(p -> p.getSellerId() != null && p.getSellerId().equals(sellerId))
                     .map(productMapper::toDomain)
                     .collect(Collectors.toList());
@@ -170,7 +569,7 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
 
     public long count() {
         try {
-            return loadAllProducts().size();
+            return catalog.size();
         } catch (Exception e) {
             throw new RuntimeException("Error counting products", e);
         }
@@ -179,9 +578,7 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
     @Override
     public List<Product> findByKeyword(String keyword) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return products.stream()
-                    .filter(p -> matchesKeyword(p, keyword))
+            return catalog.findByKeyword(keyword, p -> matchesKeyword(p, keyword))
                     .map(productMapper::toDomain)
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -189,13 +586,21 @@ public class ProductJsonRepositoryAdapter implements ProductRepository {
         }
     }
 
+    @Override
+    public List<Product> findTopByKeyword(String keyword, int limit) {
+        try {
+            return catalog.findTopByKeyword(keyword, limit, p -> matchesKeyword(p, keyword)).stream()
+                    .map(productMapper::toDomain)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Error finding top products by keyword: " + keyword, e);
+        }
+    }
+
     @Override
     public int countByKeyword(String keyword) {
         try {
-            List<ProductDto> products = loadAllProducts();
-            return (int) products.stream()
-                    .filter(p -> matchesKeyword(p, keyword))
-                    .count();
+            return (int) catalog.countByKeyword(keyword, p -> matchesKeyword(p, keyword));
         } catch (Exception e) {
             throw new RuntimeException("Error counting products by keyword: " + keyword, e);
         }
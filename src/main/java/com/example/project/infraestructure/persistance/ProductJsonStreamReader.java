@@ -0,0 +1,66 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.infraestructure.dto.ProductDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de un array JSON de productos con {@link JsonParser}.
+ *
+ * Cada elemento se enlaza y se entrega al consumidor antes de avanzar al siguiente, sin
+ * construir la lista completa ni el árbol del documento: la memoria de la lectura no depende
+ * del tamaño del catálogo. Los elementos que no son objetos se saltan a nivel de token.
+ */
+public class ProductJsonStreamReader {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader productReader;
+
+    public ProductJsonStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.productReader = objectMapper.readerFor(ProductDto.class);
+    }
+
+    /**
+     * Recorre los productos del archivo en orden y devuelve cuántos se han leído
+     */
+    public long forEach(Path path, Consumer<ProductDto> consumer) throws IOException {
+        File file = path.toFile();
+        if (!file.exists() || file.length() == 0) {
+            return 0;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of products: " + path);
+            }
+            long count = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Unexpected end of JSON array: " + path);
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                consumer.accept(productReader.readValue(parser));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Enlaza un único producto serializado (por ejemplo, una entrada del log)
+     */
+    public ProductDto read(byte[] json) throws IOException {
+        return productReader.readValue(json);
+    }
+}
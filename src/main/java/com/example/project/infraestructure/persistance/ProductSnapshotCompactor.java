@@ -0,0 +1,104 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.infraestructure.dto.ProductDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compactador en segundo plano del log de escritura anticipada del repositorio JSON.
+ *
+ * Periódicamente, si el log supera el tamaño mínimo configurado, sella el log activo,
+ * escribe un snapshot del catálogo vivo en un archivo temporal, lo intercambia de forma
+ * atómica con products.json y descarta el log sellado. Las escrituras concurrentes solo
+ * esperan durante el sellado; el resto del trabajo ocurre fuera del lock del repositorio.
+ *
+ * Métricas publicadas:
+ * - product.snapshot.compaction.duration: duración de cada compactación
+ * - product.snapshot.compaction.failures: compactaciones fallidas
+ * - product.snapshot.compaction.progress: productos escritos en la compactación en curso
+ * - product.snapshot.compaction.total: productos a escribir en la compactación en curso
+ * - product.wal.size: tamaño en bytes del log activo
+ */
+@Component
+@Profile("json")
+public class ProductSnapshotCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSnapshotCompactor.class);
+
+    private final ProductJsonRepositoryAdapter repository;
+    private final long minLogBytes;
+
+    private final Timer compactionTimer;
+    private final Counter failureCounter;
+    private final AtomicInteger productsWritten = new AtomicInteger();
+    private final AtomicInteger productsTotal = new AtomicInteger();
+
+    public ProductSnapshotCompactor(ProductJsonRepositoryAdapter repository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${product.persistence.json.compaction.min-log-bytes:1048576}") long minLogBytes) {
+        this.repository = repository;
+        this.minLogBytes = minLogBytes;
+        this.compactionTimer = Timer.builder("product.snapshot.compaction.duration")
+                .description("Duración de la compactación del log en un snapshot")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("product.snapshot.compaction.failures")
+                .description("Compactaciones fallidas")
+                .register(meterRegistry);
+        Gauge.builder("product.snapshot.compaction.progress", productsWritten, AtomicInteger::get)
+                .description("Productos escritos en la compactación en curso")
+                .register(meterRegistry);
+        Gauge.builder("product.snapshot.compaction.total", productsTotal, AtomicInteger::get)
+                .description("Productos a escribir en la compactación en curso")
+                .register(meterRegistry);
+        Gauge.builder("product.wal.size", repository, ProductJsonRepositoryAdapter::getWriteAheadLogSize)
+                .description("Tamaño en bytes del log de escritura anticipada")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Se ejecuta cada interval-seconds; en modo "snapshot" no hay log que compactar
+     */
+    @Scheduled(initialDelayString = "${product.persistence.json.compaction.interval-seconds:60}",
+               fixedDelayString = "${product.persistence.json.compaction.interval-seconds:60}",
+               timeUnit = TimeUnit.SECONDS)
+    public void compactIfNeeded() {
+        if (repository.isWriteAheadLogEnabled() && repository.getWriteAheadLogSize() >= minLogBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Ejecuta una compactación completa. Los errores se registran y se reintentará
+     * en la siguiente ejecución programada; el log sellado se conserva hasta entonces.
+     */
+    public synchronized void compact() {
+        Timer.Sample sample = Timer.start();
+        try {
+            List<ProductDto> products = repository.sealWriteAheadLog();
+            productsWritten.set(0);
+            productsTotal.set(products.size());
+            repository.writeSnapshotAndDiscardSealedLog(products, productsWritten::set);
+            long nanos = sample.stop(compactionTimer);
+            logger.info("Snapshot compaction finished: {} products in {} ms",
+                    products.size(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        } catch (Exception e) {
+            failureCounter.increment();
+            logger.error("Snapshot compaction failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.project.infraestructure.persistance;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escritura anticipada (append-only) para el repositorio JSON.
+ *
+ * Cada registro ocupa: [int longitud][int crc32][byte tipo][payload]
+ * donde la longitud cubre tipo + payload y el CRC32 se calcula sobre esos mismos bytes.
+ * Al reproducir el log, un registro incompleto o con checksum inválido se considera
+ * una cola rota (escritura interrumpida) y el archivo se trunca en el último registro válido.
+ */
+public class ProductWriteAheadLog implements Closeable {
+
+    public static final byte SAVE = 1;
+    public static final byte DELETE = 2;
+    // Solo los campos modificados del producto, con su ID: {"id": ..., "price": ...}
+    public static final byte PATCH = 3;
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int MAX_RECORD_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+    private FileChannel channel;
+
+    public ProductWriteAheadLog(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = open(path);
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Registro leído del log
+     */
+    public static class Entry {
+        private final byte type;
+        private final byte[] payload;
+
+        public Entry(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public static Entry delete(String id) {
+            return new Entry(DELETE, id.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        public String getPayloadAsString() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reproduce todos los registros válidos en orden y deja el canal posicionado
+     * al final para seguir añadiendo. Devuelve el número de registros aplicados.
+     */
+    public synchronized long replay(Consumer<Entry> consumer) throws IOException {
+        long validOffset = 0;
+        long count = 0;
+        channel.position(0);
+        InputStream in = Channels.newInputStream(channel);
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        try {
+            while (true) {
+                Entry entry = readEntry(data);
+                if (entry == null) {
+                    break;
+                }
+                consumer.accept(entry);
+                validOffset += HEADER_SIZE + 1 + entry.getPayload().length;
+                count++;
+            }
+        } catch (EOFException e) {
+            // Cola rota: el último registro quedó a medio escribir
+        }
+
+        if (channel.size() > validOffset) {
+            channel.truncate(validOffset);
+            channel.force(true);
+        }
+        channel.position(validOffset);
+        return count;
+    }
+
+    private Entry readEntry(DataInputStream data) throws IOException {
+        int length;
+        try {
+            length = data.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        int checksum = data.readInt();
+        if (length < 1 || length > MAX_RECORD_SIZE) {
+            return null;
+        }
+        byte[] body = new byte[length];
+        data.readFully(body);
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        byte[] payload = new byte[length - 1];
+        System.arraycopy(body, 1, payload, 0, payload.length);
+        return new Entry(body[0], payload);
+    }
+
+    /**
+     * Añade un registro al final del log y lo fuerza a disco
+     */
+    public synchronized void append(Entry entry) throws IOException {
+        ByteBuffer buffer = encode(entry);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Añade un lote de registros con una única escritura y un único fsync (group commit)
+     */
+    public synchronized void appendAll(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[entries.size()];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = encode(entries.get(i));
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        channel.force(false);
+    }
+
+    private ByteBuffer encode(Entry entry) {
+        byte[] payload = entry.getPayload();
+        int length = payload.length + 1;
+
+        CRC32 crc = new CRC32();
+        crc.update(entry.getType());
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length);
+        buffer.putInt(length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(entry.getType());
+        buffer.put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Sella el contenido actual del log en {@code sealedPath} y continúa con un log vacío.
+     * Si ya existe un log sellado (compactación anterior fallida), los registros actuales
+     * se concatenan a continuación para conservar el orden de reproducción. Si el sellado
+     * falla, el log activo sigue abierto con sus registros.
+     */
+    public synchronized void sealTo(Path sealedPath) throws IOException {
+        channel.force(true);
+        if (!Files.exists(sealedPath)) {
+            channel.close();
+            try {
+                Files.move(path, sealedPath, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                // Log vacío si se movió; si no, el mismo archivo y se sigue añadiendo al final
+                channel = open(path);
+                channel.position(channel.size());
+            }
+            return;
+        }
+
+        try (FileChannel sealed = FileChannel.open(sealedPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long position = 0;
+            long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, sealed);
+            }
+            sealed.force(true);
+        }
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
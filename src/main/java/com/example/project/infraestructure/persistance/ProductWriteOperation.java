@@ -0,0 +1,112 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.infraestructure.dto.ProductDto;
+
+import java.util.Map;
+
+/**
+ * Operación de escritura pendiente de persistir por el {@link GroupCommitWriter}.
+ *
+ * Las reglas de aplicación replican las del repositorio: una actualización sobre un
+ * ID inexistente no tiene efecto y un borrado solo se aplica si el producto existe.
+ */
+public class ProductWriteOperation {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    private final Type type;
+    private final String productId;
+    private final ProductDto product;
+    private volatile boolean applied;
+    private byte[] payload;
+    private byte[] patchPayload;
+
+    private ProductWriteOperation(Type type, String productId, ProductDto product) {
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+    }
+
+    public static ProductWriteOperation create(ProductDto product) {
+        return new ProductWriteOperation(Type.CREATE, product.getId(), product);
+    }
+
+    public static ProductWriteOperation update(ProductDto product) {
+        return new ProductWriteOperation(Type.UPDATE, product.getId(), product);
+    }
+
+    public static ProductWriteOperation delete(String productId) {
+        return new ProductWriteOperation(Type.DELETE, productId, null);
+    }
+
+    /**
+     * Adjunta la representación serializada del producto. Se calcula en el hilo del
+     * llamador para que la serialización de productos distintos ocurra en paralelo y
+     * el escritor único solo tenga que añadir bytes.
+     */
+    public ProductWriteOperation withPayload(byte[] payload) {
+        this.payload = payload;
+        return this;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Para una actualización parcial: los campos modificados, que es lo único que se añade al log
+     */
+    public ProductWriteOperation withPatchPayload(byte[] patchPayload) {
+        this.patchPayload = patchPayload;
+        return this;
+    }
+
+    public byte[] getPatchPayload() {
+        return patchPayload;
+    }
+
+    /**
+     * Indica si la operación tiene efecto sabiendo si el producto existe antes de aplicarla
+     */
+    public boolean isApplicable(boolean exists) {
+        return type == Type.CREATE ? !exists : exists;
+    }
+
+    /**
+     * Aplica la operación sobre una vista del catálogo indexada por ID (conservando el orden)
+     */
+    public boolean applyTo(Map<String, ProductDto> products) {
+        if (!isApplicable(products.containsKey(productId))) {
+            return false;
+        }
+        if (type == Type.DELETE) {
+            products.remove(productId);
+        } else {
+            products.put(productId, product);
+        }
+        applied = true;
+        return true;
+    }
+
+    public void markApplied() {
+        this.applied = true;
+    }
+
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public ProductDto getProduct() {
+        return product;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.List;
+
+/**
+ * Puntuación BM25F de una palabra clave sobre título, tags y descripción.
+ *
+ * La frecuencia es el número de apariciones de la palabra clave como subcadena (la misma
+ * semántica que matchesKeyword), normalizada por la longitud de cada campo frente a la media
+ * del catálogo y ponderada por campo: título > tags > descripción. La palabra clave se trata
+ * como un único término, así que el idf es común a todos los resultados y no altera el orden.
+ *
+ * offer() solo recorre la descripción, el campo más largo, si el candidato aún puede entrar en
+ * el top con la mejor puntuación posible para esa descripción; el resto se descarta con título
+ * y tags.
+ */
+public final class Bm25Scorer {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final double TITLE_WEIGHT = 3.0;
+    static final double TAGS_WEIGHT = 2.0;
+    static final double DESCRIPTION_WEIGHT = 1.0;
+
+    /**
+     * Longitudes acumuladas (en caracteres) de los campos puntuados en todo el catálogo
+     */
+    public record FieldStats(int documents, long titleLength, long tagsLength, long descriptionLength) {
+
+        public static final FieldStats EMPTY = new FieldStats(0, 0, 0, 0);
+
+        public FieldStats plus(String title, List<String> tags, String description) {
+            return new FieldStats(documents + 1, titleLength + length(title),
+                    tagsLength + length(tags), descriptionLength + length(description));
+        }
+
+        public FieldStats minus(String title, List<String> tags, String description) {
+            return new FieldStats(documents - 1, titleLength - length(title),
+                    tagsLength - length(tags), descriptionLength - length(description));
+        }
+
+        private double average(long total) {
+            return documents > 0 ? Math.max(1.0, (double) total / documents) : 1.0;
+        }
+    }
+
+    private final String keyword;
+    private final FieldStats stats;
+
+    public Bm25Scorer(String keyword, FieldStats stats) {
+        this.keyword = keyword.toLowerCase();
+        this.stats = stats;
+    }
+
+    public double score(String title, List<String> tags, String description) {
+        return saturated(headFrequency(title, tags) + descriptionFrequency(occurrences(description), description));
+    }
+
+    /**
+     * Ofrece el candidato a top con su puntuación completa, salvo que ni con la descripción
+     * llena de la palabra clave pudiera entrar
+     */
+    public <T> void offer(TopK<T> top, T item, String title, List<String> tags, String description) {
+        double head = headFrequency(title, tags);
+        // Cota superior: apariciones sin solapar que caben en la descripción
+        int maxOccurrences = (int) (length(description) / Math.max(1, keyword.length()));
+        if (!top.accepts(saturated(head + descriptionFrequency(maxOccurrences, description)))) {
+            return;
+        }
+        top.offer(item, saturated(head + descriptionFrequency(occurrences(description), description)));
+    }
+
+    private double headFrequency(String title, List<String> tags) {
+        return TITLE_WEIGHT * normalized(occurrences(title), length(title), stats.average(stats.titleLength()))
+                + TAGS_WEIGHT * normalized(occurrences(tags), length(tags), stats.average(stats.tagsLength()));
+    }
+
+    private double descriptionFrequency(int occurrences, String description) {
+        return DESCRIPTION_WEIGHT * normalized(occurrences, length(description), stats.average(stats.descriptionLength()));
+    }
+
+    private static double saturated(double frequency) {
+        return frequency * (K1 + 1) / (frequency + K1);
+    }
+
+    private static double normalized(int occurrences, long length, double averageLength) {
+        if (occurrences == 0) {
+            return 0;
+        }
+        return occurrences / (1 - B + B * length / averageLength);
+    }
+
+    private int occurrences(List<String> values) {
+        int count = 0;
+        if (values != null) {
+            for (String value : values) {
+                count += occurrences(value);
+            }
+        }
+        return count;
+    }
+
+    private int occurrences(String value) {
+        if (value == null || keyword.isEmpty()) {
+            return 0;
+        }
+        String text = value.toLowerCase();
+        int count = 0;
+        int from = text.indexOf(keyword);
+        while (from >= 0) {
+            count++;
+            from = text.indexOf(keyword, from + keyword.length());
+        }
+        return count;
+    }
+
+    private static long length(List<String> values) {
+        long total = 0;
+        if (values != null) {
+            for (String value : values) {
+                total += length(value);
+            }
+        }
+        return total;
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.infraestructure.dto.ProductDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Versión inmutable del catálogo residente en un instante dado.
+ *
+ * Cada producto ocupa una posición (secuencia) en el orden de inserción; el índice por ID,
+ * el índice secundario por título y el índice de palabras clave apuntan a esa posición. Las escrituras construyen una
+ * versión nueva que comparte estructura con la anterior, así que un lector que haya tomado
+ * una referencia puede recorrerla sin bloqueos y siempre ve un estado coherente.
+ */
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(
+            PersistentVector.empty(), PersistentHashMap.empty(), PersistentSortedSet.empty(), PersistentHashMap.empty(),
+            KeywordIndex.empty(), Bm25Scorer.FieldStats.EMPTY, 0);
+
+    // Productos por secuencia; los borrados dejan un hueco (null)
+    private final PersistentVector<ProductDto> products;
+    private final PersistentHashMap<String, Integer> sequenceById;
+    // IDs en orden lexicográfico para la paginación por cursor
+    private final PersistentSortedSet<String> orderedIds;
+    // Secuencias ordenadas de los productos con cada título
+    private final PersistentHashMap<String, int[]> sequencesByTitle;
+    private final KeywordIndex keywords;
+    private final Bm25Scorer.FieldStats fieldStats;
+    private final int size;
+
+    private CatalogSnapshot(PersistentVector<ProductDto> products,
+                            PersistentHashMap<String, Integer> sequenceById,
+                            PersistentSortedSet<String> orderedIds,
+                            PersistentHashMap<String, int[]> sequencesByTitle,
+                            KeywordIndex keywords,
+                            Bm25Scorer.FieldStats fieldStats,
+                            int size) {
+        this.products = products;
+        this.sequenceById = sequenceById;
+        this.orderedIds = orderedIds;
+        this.sequencesByTitle = sequencesByTitle;
+        this.keywords = keywords;
+        this.fieldStats = fieldStats;
+        this.size = size;
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(String id) {
+        return id != null && sequenceById.containsKey(id);
+    }
+
+    public ProductDto get(String id) {
+        if (id == null) {
+            return null;
+        }
+        Integer sequence = sequenceById.get(id);
+        return sequence != null ? products.get(sequence) : null;
+    }
+
+    /**
+     * Primer producto (en orden de inserción) con el título exacto
+     */
+    public Optional<ProductDto> findFirstByTitle(String title) {
+        int[] sequences = title != null ? sequencesByTitle.get(title) : null;
+        return sequences != null ? Optional.of(products.get(sequences[0])) : Optional.empty();
+    }
+
+    /**
+     * Inserta o sustituye un producto. Una sustitución conserva la posición original.
+     */
+    public CatalogSnapshot withProduct(ProductDto product) {
+        String id = product.getId();
+        Integer sequence = sequenceById.get(id);
+        if (sequence == null) {
+            int newSequence = products.size();
+            return new CatalogSnapshot(
+                    products.append(product),
+                    sequenceById.put(id, newSequence),
+                    orderedIds.add(id),
+                    addToTitle(sequencesByTitle, product.getTitle(), newSequence),
+                    keywords.update(newSequence, Collections.emptySet(), KeywordIndex.tokenize(keywordValues(product))),
+                    fieldStats.plus(product.getTitle(), product.getTags(), product.getDescription()),
+                    size + 1);
+        }
+
+        ProductDto previous = products.get(sequence);
+        PersistentHashMap<String, int[]> titles = sequencesByTitle;
+        if (!Objects.equals(previous.getTitle(), product.getTitle())) {
+            titles = addToTitle(removeFromTitle(titles, previous.getTitle(), sequence), product.getTitle(), sequence);
+        }
+        List<String> previousValues = keywordValues(previous);
+        List<String> values = keywordValues(product);
+        if (previousValues.equals(values)) {
+            // Sin cambios en los campos de búsqueda (p. ej. precio o stock) no se reindexa
+            return new CatalogSnapshot(products.set(sequence, product), sequenceById, orderedIds, titles,
+                    keywords, fieldStats, size);
+        }
+        KeywordIndex updatedKeywords = keywords.update(sequence,
+                KeywordIndex.tokenize(previousValues), KeywordIndex.tokenize(values));
+        Bm25Scorer.FieldStats updatedStats = fieldStats
+                .minus(previous.getTitle(), previous.getTags(), previous.getDescription())
+                .plus(product.getTitle(), product.getTags(), product.getDescription());
+        return new CatalogSnapshot(products.set(sequence, product), sequenceById, orderedIds, titles,
+                updatedKeywords, updatedStats, size);
+    }
+
+    public CatalogSnapshot withoutProduct(String id) {
+        Integer sequence = id != null ? sequenceById.get(id) : null;
+        if (sequence == null) {
+            return this;
+        }
+        ProductDto previous = products.get(sequence);
+        return new CatalogSnapshot(
+                products.set(sequence, null),
+                sequenceById.remove(id),
+                orderedIds.remove(id),
+                removeFromTitle(sequencesByTitle, previous.getTitle(), sequence),
+                keywords.update(sequence, KeywordIndex.tokenize(keywordValues(previous)), Collections.emptySet()),
+                fieldStats.minus(previous.getTitle(), previous.getTags(), previous.getDescription()),
+                size - 1);
+    }
+
+    /**
+     * Página de hasta limit productos en orden de ID, a continuación de afterId (que no
+     * necesita seguir existiendo). Coste O(log n + limit).
+     */
+    public List<ProductDto> page(String afterId, int limit) {
+        List<String> ids = orderedIds.after(afterId, limit);
+        List<ProductDto> page = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            page.add(get(id));
+        }
+        return page;
+    }
+
+    /**
+     * Productos que cumplen matchesKeyword, en orden de inserción. El índice da los
+     * candidatos y el predicado solo se evalúa cuando la coincidencia no es exacta.
+     */
+    public Stream<ProductDto> findByKeyword(String keyword, Predicate<ProductDto> matchesKeyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return Stream.empty();
+        }
+        KeywordIndex.Match match = keywords.search(keyword);
+        if (match == null) {
+            return stream().filter(matchesKeyword);
+        }
+        Stream<ProductDto> candidates = IntStream.of(match.documents()).mapToObj(products::get);
+        return match.exact() ? candidates : candidates.filter(matchesKeyword);
+    }
+
+    /**
+     * Los limit productos con mejor puntuación BM25 entre los que cumplen matchesKeyword. Cada
+     * candidato se puntúa primero por título y tags; la descripción solo se recorre si aún
+     * puede entrar en el top (Bm25Scorer.offer).
+     */
+    public List<ProductDto> findTopByKeyword(String keyword, int limit, Predicate<ProductDto> matchesKeyword) {
+        if (limit <= 0 || keyword == null) {
+            return List.of();
+        }
+        Bm25Scorer scorer = new Bm25Scorer(keyword, fieldStats);
+        TopK<ProductDto> top = new TopK<>(limit);
+        findByKeyword(keyword, matchesKeyword).forEach(product ->
+                scorer.offer(top, product, product.getTitle(), product.getTags(), product.getDescription()));
+        return top.toList();
+    }
+
+    public long countByKeyword(String keyword, Predicate<ProductDto> matchesKeyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return 0;
+        }
+        KeywordIndex.Match match = keywords.search(keyword);
+        if (match != null && match.exact()) {
+            return match.documents().length;
+        }
+        return findByKeyword(keyword, matchesKeyword).count();
+    }
+
+    /**
+     * Productos en orden de inserción
+     */
+    public List<ProductDto> toList() {
+        List<ProductDto> result = new ArrayList<>(size);
+        products.forEach(product -> {
+            if (product != null) {
+                result.add(product);
+            }
+        });
+        return result;
+    }
+
+    public Stream<ProductDto> stream() {
+        Spliterator<ProductDto> spliterator = Spliterators.spliterator(
+                new ProductIterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Valores de los mismos campos que recorre matchesKeyword
+     */
+    private static List<String> keywordValues(ProductDto product) {
+        List<String> values = new ArrayList<>(Arrays.asList(
+                product.getTitle(), product.getCategory(), product.getSubcategory(), product.getBrand(),
+                product.getDescription(), product.getModel(), product.getSku()));
+        if (product.getTags() != null) {
+            values.addAll(product.getTags());
+        }
+        return values;
+    }
+
+    private static PersistentHashMap<String, int[]> addToTitle(PersistentHashMap<String, int[]> titles,
+                                                               String title, int sequence) {
+        if (title == null) {
+            return titles;
+        }
+        int[] current = titles.get(title);
+        if (current == null) {
+            return titles.put(title, new int[] {sequence});
+        }
+        int position = -Arrays.binarySearch(current, sequence) - 1;
+        int[] updated = new int[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        updated[position] = sequence;
+        System.arraycopy(current, position, updated, position + 1, current.length - position);
+        return titles.put(title, updated);
+    }
+
+    private static PersistentHashMap<String, int[]> removeFromTitle(PersistentHashMap<String, int[]> titles,
+                                                                    String title, int sequence) {
+        int[] current = title != null ? titles.get(title) : null;
+        if (current == null) {
+            return titles;
+        }
+        int position = Arrays.binarySearch(current, sequence);
+        if (position < 0) {
+            return titles;
+        }
+        if (current.length == 1) {
+            return titles.remove(title);
+        }
+        int[] updated = new int[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+        return titles.put(title, updated);
+    }
+
+    /**
+     * Recorre las posiciones de esta versión saltando los huecos de los borrados
+     */
+    private final class ProductIterator implements Iterator<ProductDto> {
+        private int position;
+        private ProductDto next = advance();
+
+        private ProductDto advance() {
+            while (position < products.size()) {
+                ProductDto product = products.get(position++);
+                if (product != null) {
+                    return product;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ProductDto next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            ProductDto current = next;
+            next = advance();
+            return current;
+        }
+    }
+}
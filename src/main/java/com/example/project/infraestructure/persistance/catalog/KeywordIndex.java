@@ -0,0 +1,335 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Índice invertido inmutable y persistente: token → lista ordenada de documentos (int).
+ *
+ * Los tokens son las secuencias máximas de letras y dígitos del texto en minúsculas. La
+ * búsqueda conserva la semántica de subcadena de matchesKeyword:
+ * - Si la palabra clave solo tiene letras y dígitos, cualquier aparición cae dentro de un
+ *   único token, así que la unión de las listas de los tokens que la contienen es exacta.
+ * - Si contiene separadores, se intersectan los candidatos de cada fragmento y el resultado
+ *   debe verificarse.
+ *
+ * Para no recorrer todo el vocabulario, cada token del vocabulario se indexa también por sus
+ * trigramas: los tokens candidatos para un fragmento de 3 o más caracteres salen de
+ * intersectar las listas de sus trigramas y se verifican con contains. Los fragmentos más
+ * cortos recorren el vocabulario.
+ *
+ * Cada actualización copia solo las listas de los tokens que cambian; las listas de
+ * trigramas solo cambian cuando un token entra o sale del vocabulario. Los identificadores
+ * de los tokens que salen se reutilizan, así que el vocabulario no crece con los cambios.
+ */
+public final class KeywordIndex {
+
+    private static final int GRAM = 3;
+    private static final KeywordIndex EMPTY = new KeywordIndex(
+            PersistentHashMap.empty(), PersistentHashMap.empty(), PersistentVector.empty(), null,
+            PersistentHashMap.empty());
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    /**
+     * Documentos candidatos en orden ascendente; si no es exacta, cada uno debe verificarse
+     */
+    public record Match(int[] documents, boolean exact) {
+    }
+
+    /**
+     * Pila persistente de identificadores libres (huecos de tokens); null si no hay ninguno
+     */
+    private record FreeTokenId(int tokenId, FreeTokenId next) {
+    }
+
+    private final PersistentHashMap<String, int[]> postings;
+    // Vocabulario: token → identificador y su inversa (null en los huecos libres)
+    private final PersistentHashMap<String, Integer> tokenIds;
+    private final PersistentVector<String> tokens;
+    private final FreeTokenId freeTokenIds;
+    // Trigrama → identificadores ordenados de los tokens que lo contienen
+    private final PersistentHashMap<String, int[]> trigrams;
+
+    private KeywordIndex(PersistentHashMap<String, int[]> postings, PersistentHashMap<String, Integer> tokenIds,
+                         PersistentVector<String> tokens, FreeTokenId freeTokenIds,
+                         PersistentHashMap<String, int[]> trigrams) {
+        this.postings = postings;
+        this.tokenIds = tokenIds;
+        this.tokens = tokens;
+        this.freeTokenIds = freeTokenIds;
+        this.trigrams = trigrams;
+    }
+
+    public static KeywordIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Tokens de un conjunto de valores de texto (se ignoran los null)
+     */
+    public static Set<String> tokenize(Collection<String> values) {
+        Set<String> tokens = new HashSet<>();
+        for (String value : values) {
+            if (value != null) {
+                addTokens(value.toLowerCase(), tokens);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(String text, Collection<String> tokens) {
+        int start = -1;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (start >= 0) {
+            tokens.add(text.substring(start));
+        }
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Sustituye los tokens de un documento; solo se tocan los tokens que difieren
+     */
+    public KeywordIndex update(int document, Set<String> previous, Set<String> current) {
+        Editor editor = new Editor();
+        for (String token : previous) {
+            if (!current.contains(token)) {
+                editor.removeDocument(token, document);
+            }
+        }
+        for (String token : current) {
+            if (!previous.contains(token)) {
+                editor.addDocument(token, document);
+            }
+        }
+        return editor.build();
+    }
+
+    /**
+     * Huecos del vocabulario, incluidos los libres
+     */
+    int vocabularySize() {
+        return tokens.size();
+    }
+
+    /**
+     * Candidatos para la palabra clave, o null si no contiene ningún fragmento indexable
+     * (en ese caso hay que verificar todos los documentos).
+     */
+    public Match search(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        List<String> fragments = new ArrayList<>();
+        addTokens(lowerKeyword, fragments);
+        if (fragments.isEmpty()) {
+            return null;
+        }
+        boolean exact = fragments.size() == 1 && fragments.get(0).equals(lowerKeyword);
+
+        int[] documents = null;
+        for (String fragment : fragments) {
+            int[] fragmentDocuments = documentsContaining(fragment);
+            documents = documents == null ? fragmentDocuments : intersect(documents, fragmentDocuments);
+            if (documents.length == 0) {
+                break;
+            }
+        }
+        return new Match(documents, exact);
+    }
+
+    /**
+     * Unión de las listas de todos los tokens del vocabulario que contienen el fragmento
+     */
+    private int[] documentsContaining(String fragment) {
+        List<int[]> matches = new ArrayList<>();
+        if (fragment.length() >= GRAM) {
+            for (int tokenId : candidateTokens(fragment)) {
+                String token = tokens.get(tokenId);
+                if (token.contains(fragment)) {
+                    matches.add(postings.get(token));
+                }
+            }
+        } else {
+            postings.forEach((token, documents) -> {
+                if (token.contains(fragment)) {
+                    matches.add(documents);
+                }
+            });
+        }
+        if (matches.isEmpty()) {
+            return NO_DOCUMENTS;
+        }
+        if (matches.size() == 1) {
+            return matches.get(0);
+        }
+        return union(matches);
+    }
+
+    /**
+     * Intersección de las listas de los trigramas del fragmento, empezando por la más corta
+     */
+    private int[] candidateTokens(String fragment) {
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : trigramsOf(fragment)) {
+            int[] tokenList = trigrams.get(gram);
+            if (tokenList == null) {
+                return NO_DOCUMENTS;
+            }
+            lists.add(tokenList);
+        }
+        lists.sort((left, right) -> Integer.compare(left.length, right.length));
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    static int[] union(List<int[]> lists) {
+        int total = 0;
+        for (int[] list : lists) {
+            total += list.length;
+        }
+        int[] merged = new int[total];
+        int position = 0;
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, merged, position, list.length);
+            position += list.length;
+        }
+        Arrays.sort(merged, 0, position);
+        int unique = 0;
+        for (int i = 0; i < position; i++) {
+            if (unique == 0 || merged[unique - 1] != merged[i]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, unique);
+    }
+
+    static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static PersistentHashMap<String, int[]> insert(PersistentHashMap<String, int[]> lists,
+                                                           String key, int value) {
+        int[] current = lists.get(key);
+        if (current == null) {
+            return lists.put(key, new int[] {value});
+        }
+        int position = Arrays.binarySearch(current, value);
+        if (position >= 0) {
+            return lists;
+        }
+        position = -position - 1;
+        int[] updated = new int[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        updated[position] = value;
+        System.arraycopy(current, position, updated, position + 1, current.length - position);
+        return lists.put(key, updated);
+    }
+
+    private static PersistentHashMap<String, int[]> delete(PersistentHashMap<String, int[]> lists,
+                                                           String key, int value) {
+        int[] current = lists.get(key);
+        if (current == null) {
+            return lists;
+        }
+        int position = Arrays.binarySearch(current, value);
+        if (position < 0) {
+            return lists;
+        }
+        if (current.length == 1) {
+            return lists.remove(key);
+        }
+        int[] updated = new int[current.length - 1];
+        System.arraycopy(current, 0, updated, 0, position);
+        System.arraycopy(current, position + 1, updated, position, current.length - position - 1);
+        return lists.put(key, updated);
+    }
+
+    /**
+     * Acumula los cambios de una actualización antes de construir la nueva versión
+     */
+    private final class Editor {
+        private PersistentHashMap<String, int[]> postings = KeywordIndex.this.postings;
+        private PersistentHashMap<String, Integer> tokenIds = KeywordIndex.this.tokenIds;
+        private PersistentVector<String> tokens = KeywordIndex.this.tokens;
+        private FreeTokenId freeTokenIds = KeywordIndex.this.freeTokenIds;
+        private PersistentHashMap<String, int[]> trigrams = KeywordIndex.this.trigrams;
+
+        void addDocument(String token, int document) {
+            if (!postings.containsKey(token)) {
+                int tokenId;
+                if (freeTokenIds != null) {
+                    tokenId = freeTokenIds.tokenId();
+                    freeTokenIds = freeTokenIds.next();
+                    tokens = tokens.set(tokenId, token);
+                } else {
+                    tokenId = tokens.size();
+                    tokens = tokens.append(token);
+                }
+                tokenIds = tokenIds.put(token, tokenId);
+                for (String gram : trigramsOf(token)) {
+                    trigrams = insert(trigrams, gram, tokenId);
+                }
+            }
+            postings = insert(postings, token, document);
+        }
+
+        void removeDocument(String token, int document) {
+            postings = delete(postings, token, document);
+            Integer tokenId = tokenIds.get(token);
+            if (tokenId != null && !postings.containsKey(token)) {
+                tokens = tokens.set(tokenId, null);
+                freeTokenIds = new FreeTokenId(tokenId, freeTokenIds);
+                tokenIds = tokenIds.remove(token);
+                for (String gram : trigramsOf(token)) {
+                    trigrams = delete(trigrams, gram, tokenId);
+                }
+            }
+        }
+
+        KeywordIndex build() {
+            if (postings == KeywordIndex.this.postings) {
+                return KeywordIndex.this;
+            }
+            return new KeywordIndex(postings, tokenIds, tokens, freeTokenIds, trigrams);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Mapa inmutable y persistente basado en un Hash Array Mapped Trie (HAMT).
+ *
+ * Cada modificación devuelve un mapa nuevo que comparte con el anterior todos los nodos
+ * no afectados; solo se copian los nodos del camino hasta la clave (O(log32 n)).
+ * Las versiones anteriores siguen siendo válidas, lo que permite publicar snapshots
+ * consistentes a lectores concurrentes sin ningún tipo de bloqueo.
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public V get(K key) {
+        return root.find(0, hash(key), key);
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Devuelve un mapa con la clave asociada al valor. Los valores nulos no están permitidos.
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(value, "Null values are not supported");
+        boolean[] added = new boolean[1];
+        Node<K, V> newRoot = root.assoc(0, hash(key), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public PersistentHashMap<K, V> remove(K key) {
+        Node<K, V> newRoot = root.without(0, hash(key), key);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach(action);
+    }
+
+    private static int hash(Object key) {
+        int h = Objects.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private interface Node<K, V> {
+        V find(int shift, int hash, K key);
+
+        Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added);
+
+        Node<K, V> without(int shift, int hash, K key);
+
+        void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    private static final class Leaf<K, V> {
+        private final int hash;
+        private final K key;
+        private final V value;
+
+        private Leaf(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        private boolean matches(int hash, Object key) {
+            return this.hash == hash && Objects.equals(this.key, key);
+        }
+    }
+
+    /**
+     * Nodo interno: el bitmap indica qué posiciones de las 32 posibles están ocupadas
+     * y el array compacto contiene hojas o subnodos en ese orden.
+     */
+    private static final class BitmapNode<K, V> implements Node<K, V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final BitmapNode EMPTY = new BitmapNode<>(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V find(int shift, int hash, K key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object slot = slots[index(bit)];
+            if (slot instanceof Leaf) {
+                Leaf<K, V> leaf = (Leaf<K, V>) slot;
+                return leaf.matches(hash, key) ? leaf.value : null;
+            }
+            return ((Node<K, V>) slot).find(shift + BITS, hash, key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newSlots = new Object[slots.length + 1];
+                System.arraycopy(slots, 0, newSlots, 0, idx);
+                newSlots[idx] = new Leaf<>(hash, key, value);
+                System.arraycopy(slots, idx, newSlots, idx + 1, slots.length - idx);
+                added[0] = true;
+                return new BitmapNode<>(bitmap | bit, newSlots);
+            }
+
+            Object slot = slots[idx];
+            Object replacement;
+            if (slot instanceof Leaf) {
+                Leaf<K, V> leaf = (Leaf<K, V>) slot;
+                if (leaf.matches(hash, key)) {
+                    if (leaf.value == value) {
+                        return this;
+                    }
+                    replacement = new Leaf<>(hash, key, value);
+                } else {
+                    added[0] = true;
+                    replacement = split(shift + BITS, leaf, new Leaf<>(hash, key, value));
+                }
+            } else {
+                Node<K, V> child = (Node<K, V>) slot;
+                Node<K, V> newChild = child.assoc(shift + BITS, hash, key, value, added);
+                if (newChild == child) {
+                    return this;
+                }
+                replacement = newChild;
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[idx] = replacement;
+            return new BitmapNode<>(bitmap, newSlots);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Node<K, V> split(int shift, Leaf<K, V> first, Leaf<K, V> second) {
+            if (first.hash == second.hash || shift >= Integer.SIZE) {
+                Leaf<K, V>[] leaves = CollisionNode.newLeaves(2);
+                leaves[0] = first;
+                leaves[1] = second;
+                return new CollisionNode<>(first.hash, leaves);
+            }
+            boolean[] ignored = new boolean[1];
+            Node<K, V> node = ((BitmapNode<K, V>) EMPTY).assoc(shift, first.hash, first.key, first.value, ignored);
+            return node.assoc(shift, second.hash, second.key, second.value, ignored);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> without(int shift, int hash, K key) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int idx = index(bit);
+            Object slot = slots[idx];
+            if (slot instanceof Leaf) {
+                if (!((Leaf<K, V>) slot).matches(hash, key)) {
+                    return this;
+                }
+                return removeSlot(bit, idx);
+            }
+
+            Node<K, V> child = (Node<K, V>) slot;
+            Node<K, V> newChild = child.without(shift + BITS, hash, key);
+            if (newChild == child) {
+                return this;
+            }
+            if (newChild == null) {
+                return removeSlot(bit, idx);
+            }
+            Object[] newSlots = slots.clone();
+            newSlots[idx] = collapse(newChild);
+            return new BitmapNode<>(bitmap, newSlots);
+        }
+
+        /**
+         * Un subnodo que ha quedado con una única hoja se sustituye por la hoja
+         */
+        private static Object collapse(Node<?, ?> node) {
+            if (node instanceof BitmapNode<?, ?> bitmapNode
+                    && bitmapNode.slots.length == 1 && bitmapNode.slots[0] instanceof Leaf) {
+                return bitmapNode.slots[0];
+            }
+            return node;
+        }
+
+        private Node<K, V> removeSlot(int bit, int idx) {
+            if (slots.length == 1) {
+                return null;
+            }
+            Object[] newSlots = new Object[slots.length - 1];
+            System.arraycopy(slots, 0, newSlots, 0, idx);
+            System.arraycopy(slots, idx + 1, newSlots, idx, slots.length - idx - 1);
+            return new BitmapNode<>(bitmap & ~bit, newSlots);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Object slot : slots) {
+                if (slot instanceof Leaf) {
+                    Leaf<K, V> leaf = (Leaf<K, V>) slot;
+                    action.accept(leaf.key, leaf.value);
+                } else {
+                    ((Node<K, V>) slot).forEach(action);
+                }
+            }
+        }
+    }
+
+    /**
+     * Nodo para claves distintas con el mismo hash completo
+     */
+    private static final class CollisionNode<K, V> implements Node<K, V> {
+        private final int hash;
+        private final Leaf<K, V>[] leaves;
+
+        private CollisionNode(int hash, Leaf<K, V>[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, V> Leaf<K, V>[] newLeaves(int length) {
+            return (Leaf<K, V>[]) new Leaf<?, ?>[length];
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (Objects.equals(leaves[i].key, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public V find(int shift, int hash, K key) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int idx = indexOf(key);
+            return idx < 0 ? null : leaves[idx].value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added) {
+            if (hash != this.hash) {
+                // Se anida este nodo bajo un nodo bitmap y se inserta la nueva clave a su lado
+                int bit = 1 << ((this.hash >>> shift) & MASK);
+                Node<K, V> parent = new BitmapNode<>(bit, new Object[] {this});
+                return parent.assoc(shift, hash, key, value, added);
+            }
+            int idx = indexOf(key);
+            if (idx >= 0) {
+                if (leaves[idx].value == value) {
+                    return this;
+                }
+                Leaf<K, V>[] newLeaves = leaves.clone();
+                newLeaves[idx] = new Leaf<>(hash, key, value);
+                return new CollisionNode<>(hash, newLeaves);
+            }
+            Leaf<K, V>[] newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+            newLeaves[leaves.length] = new Leaf<>(hash, key, value);
+            added[0] = true;
+            return new CollisionNode<>(hash, newLeaves);
+        }
+
+        @Override
+        public Node<K, V> without(int shift, int hash, K key) {
+            int idx = hash == this.hash ? indexOf(key) : -1;
+            if (idx < 0) {
+                return this;
+            }
+            if (leaves.length == 1) {
+                return null;
+            }
+            Leaf<K, V>[] newLeaves = newLeaves(leaves.length - 1);
+            System.arraycopy(leaves, 0, newLeaves, 0, idx);
+            System.arraycopy(leaves, idx + 1, newLeaves, idx, leaves.length - idx - 1);
+            return new CollisionNode<>(hash, newLeaves);
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (Leaf<K, V> leaf : leaves) {
+                action.accept(leaf.key, leaf.value);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Conjunto ordenado inmutable y persistente basado en un árbol AVL.
+ *
+ * Las modificaciones copian solo los nodos del camino hasta el elemento (O(log n)) y
+ * comparten el resto con la versión anterior. Permite recorrer en orden a partir de
+ * cualquier elemento, exista o no, en O(log n + k).
+ */
+public final class PersistentSortedSet<T extends Comparable<? super T>> {
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final PersistentSortedSet EMPTY = new PersistentSortedSet<>(null, 0);
+
+    private final Node<T> root;
+    private final int size;
+
+    private PersistentSortedSet(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> PersistentSortedSet<T> empty() {
+        return (PersistentSortedSet<T>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(T value) {
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = value.compareTo(node.value);
+            if (comparison == 0) {
+                return true;
+            }
+            node = comparison < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    public PersistentSortedSet<T> add(T value) {
+        if (contains(value)) {
+            return this;
+        }
+        return new PersistentSortedSet<>(insert(root, value), size + 1);
+    }
+
+    public PersistentSortedSet<T> remove(T value) {
+        if (!contains(value)) {
+            return this;
+        }
+        return new PersistentSortedSet<>(delete(root, value), size - 1);
+    }
+
+    /**
+     * Hasta limit elementos estrictamente mayores que after (desde el principio si es null)
+     */
+    public List<T> after(T after, int limit) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+        if (limit <= 0) {
+            return result;
+        }
+        // Pila con los antecesores pendientes de visitar, igual que un recorrido en orden
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        Node<T> node = root;
+        while (node != null) {
+            if (after == null || node.value.compareTo(after) > 0) {
+                pending.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        while (!pending.isEmpty() && result.size() < limit) {
+            Node<T> next = pending.pop();
+            result.add(next.value);
+            for (Node<T> child = next.right; child != null; child = child.left) {
+                pending.push(child);
+            }
+        }
+        return result;
+    }
+
+    private static <T extends Comparable<? super T>> Node<T> insert(Node<T> node, T value) {
+        if (node == null) {
+            return new Node<>(value, null, null);
+        }
+        if (value.compareTo(node.value) < 0) {
+            return balance(node.value, insert(node.left, value), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, value));
+    }
+
+    private static <T extends Comparable<? super T>> Node<T> delete(Node<T> node, T value) {
+        int comparison = value.compareTo(node.value);
+        if (comparison < 0) {
+            return balance(node.value, delete(node.left, value), node.right);
+        }
+        if (comparison > 0) {
+            return balance(node.value, node.left, delete(node.right, value));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<T> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, delete(node.right, successor.value));
+    }
+
+    private static <T> Node<T> balance(T value, Node<T> left, Node<T> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.value, left.left, left.right);
+            }
+            return rotateRight(value, left, right);
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.value, right.left, right.right);
+            }
+            return rotateLeft(value, left, right);
+        }
+        return new Node<>(value, left, right);
+    }
+
+    private static <T> Node<T> rotateRight(T value, Node<T> left, Node<T> right) {
+        return new Node<>(left.value, left.left, new Node<>(value, left.right, right));
+    }
+
+    private static <T> Node<T> rotateLeft(T value, Node<T> left, Node<T> right) {
+        return new Node<>(right.value, new Node<>(value, left, right.left), right.right);
+    }
+
+    private static int height(Node<?> node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static final class Node<T> {
+        final T value;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+
+        Node(T value, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+}
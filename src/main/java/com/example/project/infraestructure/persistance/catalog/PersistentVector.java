@@ -0,0 +1,116 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.function.Consumer;
+
+/**
+ * Vector inmutable y persistente (trie de 32 ramas indexado por posición).
+ *
+ * Añadir o sustituir un elemento copia únicamente el camino desde la raíz hasta la hoja,
+ * de modo que versiones consecutivas comparten casi toda su estructura. Las posiciones
+ * pueden contener null, lo que permite marcar huecos sin desplazar el resto.
+ */
+public final class PersistentVector<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentVector EMPTY = new PersistentVector<>(0, 0, new Object[WIDTH]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    /**
+     * Devuelve un vector con el valor en la posición indicada. Si la posición es
+     * igual al tamaño actual, el valor se añade al final.
+     */
+    public PersistentVector<T> set(int index, T value) {
+        if (index == size) {
+            return append(value);
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, value));
+    }
+
+    public PersistentVector<T> append(T value) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Vector is full");
+        }
+        Object[] newRoot = root;
+        int newShift = shift;
+        if (size > 0 && (size >>> BITS) >= (1 << shift)) {
+            // La raíz está llena: se crea un nivel más y la raíz anterior pasa a ser su primer hijo
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newShift += BITS;
+        }
+        return new PersistentVector<>(size + 1, newShift, assoc(newShift, newRoot, size, value));
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        if (level == 0) {
+            copy[index & MASK] = value;
+        } else {
+            int child = (index >>> level) & MASK;
+            copy[child] = assoc(level - BITS, (Object[]) copy[child], index, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Recorre los elementos en orden de posición
+     */
+    public void forEach(Consumer<? super T> action) {
+        if (size > 0) {
+            forEach(root, shift, 0, action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void forEach(Object[] node, int level, int offset, Consumer<? super T> action) {
+        int span = 1 << level;
+        for (int i = 0; i < WIDTH; i++) {
+            int start = offset + i * span;
+            if (start >= size || start < 0) {
+                return;
+            }
+            if (level == 0) {
+                action.accept((T) node[i]);
+            } else if (node[i] != null) {
+                forEach((Object[]) node[i], level - BITS, start, action);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.application.exception.ProductVersionConflictException;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versiones de cada producto y del catálogo completo para las peticiones condicionales (ETag).
+ *
+ * Las versiones crecen de forma monótona y parten del instante de arranque en microsegundos,
+ * así que tampoco se repiten entre ejecuciones. Solo se guarda una entrada por producto escrito
+ * desde el arranque; el resto comparte la versión base.
+ *
+ * El adaptador avanza la versión después de publicar la escritura: un lector que obtiene la
+ * versión antes de leer el producto puede recibir un ETag antiguo con datos nuevos (y se
+ * revalida en la siguiente petición), pero nunca un ETag nuevo con datos antiguos.
+ */
+public final class ProductVersionTable {
+
+    private final ConcurrentHashMap<String, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion;
+    private volatile long baseVersion;
+
+    public ProductVersionTable() {
+        this(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+    }
+
+    ProductVersionTable(long initialVersion) {
+        this.catalogVersion = new AtomicLong(initialVersion);
+        this.baseVersion = initialVersion;
+    }
+
+    /**
+     * Versión de un producto; el adaptador comprueba antes en su índice que exista
+     */
+    public long versionOf(String id) {
+        Long version = versions.get(id);
+        return version != null ? Math.max(version, baseVersion) : baseVersion;
+    }
+
+    /**
+     * Comprobación de una escritura condicional (If-Match) sobre un producto que existe o no
+     * (exists). El adaptador la llama con el bloqueo del producto tomado, justo antes de enviar
+     * la escritura: ninguna otra del mismo producto puede colarse entre la comparación y el commit.
+     */
+    public void checkExpected(String id, OptionalLong expectedVersion, boolean exists) {
+        if (expectedVersion.isEmpty()) {
+            return;
+        }
+        OptionalLong current = exists ? OptionalLong.of(versionOf(id)) : OptionalLong.empty();
+        if (!expectedVersion.equals(current)) {
+            throw ProductVersionConflictException.withVersions(id, expectedVersion.getAsLong(), current);
+        }
+    }
+
+    public long catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Registra una escritura (alta, modificación o borrado) ya visible para los lectores
+     */
+    public void advance(String id) {
+        versions.compute(id, (key, previous) -> catalogVersion.incrementAndGet());
+    }
+
+    /**
+     * El almacenamiento cambió sin pasar por el adaptador: todas las versiones quedan obsoletas
+     */
+    public synchronized void advanceAll() {
+        long base = catalogVersion.incrementAndGet();
+        baseVersion = base;
+        versions.values().removeIf(version -> version <= base);
+    }
+}
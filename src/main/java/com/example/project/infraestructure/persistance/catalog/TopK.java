@@ -0,0 +1,62 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Los K elementos con mayor puntuación mediante un montículo acotado (mínimo en la cima).
+ *
+ * A igual puntuación gana el que se ofreció antes, así que el resultado respeta el orden
+ * del catálogo entre empates.
+ */
+public final class TopK<T> {
+
+    private record Scored<T>(T item, double score, long order) {
+    }
+
+    // El peor candidato queda en la cima: menor puntuación y, a igualdad, el más tardío
+    private static final Comparator<Scored<?>> WORST_FIRST = Comparator
+            .<Scored<?>>comparingDouble(Scored::score)
+            .thenComparing(Comparator.<Scored<?>>comparingLong(Scored::order).reversed());
+
+    private final int limit;
+    private final PriorityQueue<Scored<T>> heap;
+    private long offered;
+
+    public TopK(int limit) {
+        this.limit = Math.max(0, limit);
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(this.limit, 1024)), WORST_FIRST);
+    }
+
+    public void offer(T item, double score) {
+        Scored<T> candidate = new Scored<>(item, score, offered++);
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (limit > 0 && WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    /**
+     * Si un elemento con esta puntuación, ofrecido ahora, entraría en el resultado
+     */
+    public boolean accepts(double score) {
+        return heap.size() < limit || (limit > 0 && score > heap.peek().score());
+    }
+
+    /**
+     * Elementos de mayor a menor puntuación
+     */
+    public List<T> toList() {
+        List<Scored<T>> sorted = new ArrayList<>(heap);
+        sorted.sort(WORST_FIRST.reversed());
+        List<T> items = new ArrayList<>(sorted.size());
+        for (Scored<T> scored : sorted) {
+            items.add(scored.item());
+        }
+        return items;
+    }
+}
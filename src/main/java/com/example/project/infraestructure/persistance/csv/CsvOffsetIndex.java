@@ -0,0 +1,251 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice persistente (archivo sidecar) de un CSV: ID → desplazamiento y longitud en bytes
+ * de su registro.
+ *
+ * La cabecera guarda el tamaño y la fecha de modificación del CSV indexado; si no coinciden
+ * con el archivo actual el índice está obsoleto y debe reconstruirse. Si un ID aparece
+ * varias veces, se indexa la primera aparición. Las entradas se mantienen ordenadas por ID
+ * para poder recorrer el CSV por páginas.
+ *
+ * Formato: [int magic][int versión][long tamaño][long modificación][int n] y n entradas
+ * [UTF id][long desplazamiento][int longitud].
+ */
+public final class CsvOffsetIndex {
+
+    private static final int MAGIC = 0x43534958; // "CSIX"
+    private static final int VERSION = 1;
+
+    /**
+     * Posición de un registro dentro del CSV (sin el salto de línea)
+     */
+    public record Entry(long offset, int length) {
+    }
+
+    private final long fileSize;
+    private final long lastModified;
+    private final NavigableMap<String, Entry> entries;
+
+    private CsvOffsetIndex(long fileSize, long lastModified, NavigableMap<String, Entry> entries) {
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.entries = entries;
+    }
+
+    public Entry get(String id) {
+        return entries.get(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Hasta limit IDs en orden, estrictamente posteriores a afterId (desde el principio si es null)
+     */
+    public List<String> idsAfter(String afterId, int limit) {
+        Map<String, Entry> tail = afterId != null ? entries.tailMap(afterId, false) : entries;
+        List<String> ids = new ArrayList<>(Math.max(0, Math.min(limit, tail.size())));
+        for (String id : tail.keySet()) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    /**
+     * Indica si el índice corresponde al estado actual del CSV
+     */
+    public boolean matches(Path csvPath) {
+        try {
+            return Files.size(csvPath) == fileSize
+                    && Files.getLastModifiedTime(csvPath).toMillis() == lastModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Lee los bytes del registro con una única lectura posicional
+     */
+    public static byte[] readRecord(Path csvPath, Entry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            return read(channel, entry);
+        }
+    }
+
+    /**
+     * Lee varios registros con un único canal abierto, en orden de desplazamiento para que
+     * el acceso al disco sea lo más secuencial posible. El resultado respeta el orden de entrada.
+     */
+    public static byte[][] readRecords(Path csvPath, List<Entry> entries) throws IOException {
+        byte[][] records = new byte[entries.size()][];
+        if (entries.isEmpty()) {
+            return records;
+        }
+        Integer[] order = new Integer[entries.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> entries.get(i).offset()));
+        try (FileChannel channel = FileChannel.open(csvPath, StandardOpenOption.READ)) {
+            for (int i : order) {
+                records[i] = read(channel, entries.get(i));
+            }
+        }
+        return records;
+    }
+
+    private static byte[] read(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+        long position = entry.offset();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("CSV record out of bounds at offset " + entry.offset());
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Construye el índice mientras se escribe el CSV
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final NavigableMap<String, Entry> entries = new TreeMap<>();
+
+        public Builder add(String id, long offset, int length) {
+            if (id != null && !id.isBlank()) {
+                entries.putIfAbsent(id, new Entry(offset, length));
+            }
+            return this;
+        }
+
+        /**
+         * Sella el índice con el tamaño y la fecha de modificación actuales del CSV
+         */
+        public CsvOffsetIndex build(Path csvPath) throws IOException {
+            return new CsvOffsetIndex(Files.size(csvPath), Files.getLastModifiedTime(csvPath).toMillis(), entries);
+        }
+    }
+
+    /**
+     * Reconstruye el índice recorriendo los bytes del CSV: solo se extrae el primer campo de
+     * cada registro y los saltos de línea dentro de comillas no separan registros.
+     */
+    public static CsvOffsetIndex rebuild(Path csvPath, boolean skipHeader) throws IOException {
+        Builder builder = builder();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(csvPath), 64 * 1024)) {
+            ByteArrayOutputStream firstField = new ByteArrayOutputStream(64);
+            boolean skip = skipHeader;
+            boolean inQuotes = false;
+            boolean inFirstField = true;
+            boolean pendingCarriageReturn = false;
+            long recordStart = 0;
+            long position = 0;
+            int b;
+            while ((b = in.read()) >= 0) {
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == ',' && !inQuotes) {
+                    inFirstField = false;
+                } else if (b == '\n' && !inQuotes) {
+                    long end = pendingCarriageReturn ? position - 1 : position;
+                    if (skip) {
+                        skip = false;
+                    } else {
+                        builder.add(decode(firstField), recordStart, (int) (end - recordStart));
+                    }
+                    firstField.reset();
+                    inFirstField = true;
+                    recordStart = position + 1;
+                } else if (inFirstField && b != '\r') {
+                    firstField.write(b);
+                }
+                pendingCarriageReturn = b == '\r';
+                position++;
+            }
+            if (position > recordStart && !skip) {
+                builder.add(decode(firstField), recordStart, (int) (position - recordStart));
+            }
+        }
+        return builder.build(csvPath);
+    }
+
+    private static String decode(ByteArrayOutputStream bytes) {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    public static CsvOffsetIndex read(Path indexPath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Invalid CSV index: " + indexPath);
+            }
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            int count = in.readInt();
+            NavigableMap<String, Entry> entries = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                entries.put(id, new Entry(in.readLong(), in.readInt()));
+            }
+            return new CsvOffsetIndex(fileSize, lastModified, entries);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Escribe el índice en un temporal y lo intercambia de forma atómica
+     */
+    public void write(Path indexPath) throws IOException {
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tempPath);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().offset());
+                out.writeInt(entry.getValue().length());
+            }
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lector CSV sobre una ventana de caracteres reutilizable.
+ *
+ * Cada registro se tokeniza como desplazamientos (inicio/fin) dentro del buffer, sin crear
+ * cadenas intermedias; los valores se convierten al tipo pedido directamente desde el buffer.
+ * Las comillas dobles agrupan texto con comas o saltos de línea y {@code ""} dentro de un
+ * campo entrecomillado representa una comilla (se desescapa en el propio buffer).
+ * Las líneas en blanco se ignoran.
+ */
+public class CsvReader implements Closeable {
+
+    public static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final String NULL_LITERAL = "null";
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final Reader reader;
+    private char[] buffer;
+    private int limit;
+    private int position;
+    private boolean endOfInput;
+
+    private int recordStart;
+    private int fieldCount;
+    private int[] fieldStarts = new int[64];
+    private int[] fieldEnds = new int[64];
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CsvReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(16, bufferSize)];
+    }
+
+    /**
+     * Avanza al siguiente registro no vacío. Devuelve false al final de la entrada.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (!readRecord()) {
+                return false;
+            }
+            if (fieldCount > 1 || !isBlank(0)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean readRecord() throws IOException {
+        recordStart = position;
+        fieldCount = 0;
+        int fieldStart = position;
+        int write = position;
+        boolean inQuotes = false;
+
+        while (true) {
+            if (position == limit) {
+                int shift = fill();
+                fieldStart -= shift;
+                write -= shift;
+                if (position == limit) {
+                    // Fin de la entrada: el último registro puede no terminar en salto de línea
+                    if (fieldCount == 0 && write == recordStart) {
+                        return false;
+                    }
+                    addField(fieldStart, write);
+                    return true;
+                }
+            }
+
+            char c = buffer[position];
+            if (inQuotes) {
+                if (c == '"') {
+                    if (position + 1 == limit) {
+                        int shift = fill();
+                        fieldStart -= shift;
+                        write -= shift;
+                    }
+                    if (position + 1 < limit && buffer[position + 1] == '"') {
+                        buffer[write++] = '"';
+                        position += 2;
+                    } else {
+                        inQuotes = false;
+                        position++;
+                    }
+                } else {
+                    buffer[write++] = c;
+                    position++;
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                position++;
+            } else if (c == ',') {
+                addField(fieldStart, write);
+                position++;
+                fieldStart = position;
+                write = position;
+            } else if (c == '\n' || c == '\r') {
+                addField(fieldStart, write);
+                position++;
+                if (c == '\r') {
+                    if (position == limit) {
+                        fill();
+                    }
+                    if (position < limit && buffer[position] == '\n') {
+                        position++;
+                    }
+                }
+                return true;
+            } else {
+                buffer[write++] = c;
+                position++;
+            }
+        }
+    }
+
+    /**
+     * Lee más datos en la ventana. Antes desplaza el registro en curso al inicio del buffer
+     * (o lo amplía si ya ocupa todo el buffer). Devuelve el desplazamiento aplicado.
+     */
+    private int fill() throws IOException {
+        if (endOfInput) {
+            return 0;
+        }
+        int shift = recordStart;
+        if (shift > 0) {
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            recordStart = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                fieldStarts[i] -= shift;
+                fieldEnds[i] -= shift;
+            }
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+        return shift;
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Texto del registro actual ya desescapado, con los campos separados por comas (para diagnósticos)
+     */
+    public String recordText() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(buffer, fieldStarts[i], fieldEnds[i] - fieldStarts[i]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Campo vacío o compuesto solo por espacios (equivale a {@code trim().isEmpty()})
+     */
+    public boolean isBlank(int field) {
+        for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+            if (buffer[i] > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isNull(int field) {
+        return isBlank(field) || equalsText(field, NULL_LITERAL);
+    }
+
+    private boolean equalsText(int field, String text) {
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (length != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String getString(int field) {
+        return new String(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    /**
+     * Cadena o null si el campo está vacío
+     */
+    public String getNullableString(int field) {
+        return isBlank(field) ? null : getString(field);
+    }
+
+    public Integer getInteger(int field) {
+        if (isNull(field)) {
+            return null;
+        }
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = buffer[start] == '-';
+        int i = negative || buffer[start] == '+' ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9 || value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decimal simple (dígitos con un punto opcional, hasta 15 dígitos) sin crear cadenas;
+     * el resto de formatos se delega en {@link Double#parseDouble(String)}.
+     */
+    public Double getDouble(int field) {
+        if (isNull(field)) {
+            return null;
+        }
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        boolean negative = buffer[start] == '-';
+        int i = negative || buffer[start] == '+' ? start + 1 : start;
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < end; i++) {
+            char c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                digits = Integer.MAX_VALUE;
+                break;
+            }
+        }
+        if (digits == 0 || digits > 15) {
+            return Double.parseDouble(getString(field));
+        }
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return negative ? -value : value;
+    }
+
+    public BigDecimal getBigDecimal(int field) {
+        if (isNull(field)) {
+            return null;
+        }
+        return new BigDecimal(buffer, fieldStarts[field], fieldEnds[field] - fieldStarts[field]);
+    }
+
+    /**
+     * Null si el campo está vacío; true solo para "true" (sin distinguir mayúsculas)
+     */
+    public Boolean getBoolean(int field) {
+        if (isBlank(field)) {
+            return null;
+        }
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != 4) {
+            return false;
+        }
+        return Character.toLowerCase(buffer[start]) == 't'
+                && Character.toLowerCase(buffer[start + 1]) == 'r'
+                && Character.toLowerCase(buffer[start + 2]) == 'u'
+                && Character.toLowerCase(buffer[start + 3]) == 'e';
+    }
+
+    /**
+     * Fecha con el formato fijo yyyy-MM-dd'T'HH:mm:ss leída por posiciones
+     */
+    public LocalDateTime getDateTime(int field) {
+        if (isBlank(field)) {
+            return null;
+        }
+        int start = fieldStarts[field];
+        if (fieldEnds[field] - start != 19 || buffer[start + 4] != '-' || buffer[start + 7] != '-'
+                || buffer[start + 10] != 'T' || buffer[start + 13] != ':' || buffer[start + 16] != ':') {
+            return LocalDateTime.parse(getString(field), DATE_TIME_FORMAT);
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = digits(start + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return LocalDateTime.parse(getString(field), DATE_TIME_FORMAT);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    private int digits(int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Constante del enumerado cuyo nombre coincide con el campo, comparando en el buffer
+     */
+    public <E extends Enum<E>> E getEnum(int field, E[] values) {
+        if (isBlank(field)) {
+            return null;
+        }
+        for (E value : values) {
+            if (equalsText(field, value.name())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("No enum constant " + values.getClass().getComponentType().getName()
+                + "." + getString(field));
+    }
+
+    /**
+     * Lista separada por el delimitador; los elementos vacíos del final se descartan
+     * (igual que {@link String#split(String)}) y un campo vacío es una lista vacía.
+     */
+    public List<String> getStringList(int field, char delimiter) {
+        List<String> values = new ArrayList<>();
+        if (isBlank(field)) {
+            return values;
+        }
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        int itemStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == delimiter) {
+                values.add(new String(buffer, itemStart, i - itemStart));
+                itemStart = i + 1;
+            }
+        }
+        int size = values.size();
+        while (size > 0 && values.get(size - 1).isEmpty()) {
+            values.remove(--size);
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Carga de un archivo CSV en paralelo por rangos de bytes.
+ *
+ * 1. El archivo mapeado se divide en trozos del mismo tamaño y se cuentan en paralelo
+ *    las comillas de cada trozo.
+ * 2. Con la paridad acumulada de comillas se sabe si cada trozo empieza dentro de un campo
+ *    entrecomillado; su inicio real es el primer salto de línea fuera de comillas. Como en
+ *    UTF-8 los bytes de '\n' y '"' nunca forman parte de un carácter multibyte, los cortes
+ *    a nivel de byte son seguros.
+ * 3. Cada rango se analiza con su propio {@link CsvReader} en el {@link ForkJoinPool} y los
+ *    resultados se concatenan en el orden original.
+ *
+ * Los archivos pequeños (o mayores de 2 GB) se leen de forma secuencial.
+ */
+public class ParallelCsvLoader {
+
+    private static final long DEFAULT_MIN_CHUNK_BYTES = 4L * 1024 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte NEW_LINE = '\n';
+
+    private final ForkJoinPool pool;
+    private final long minChunkBytes;
+
+    public ParallelCsvLoader(ForkJoinPool pool) {
+        this(pool, DEFAULT_MIN_CHUNK_BYTES);
+    }
+
+    public ParallelCsvLoader(ForkJoinPool pool, long minChunkBytes) {
+        this.pool = pool;
+        this.minChunkBytes = Math.max(1, minChunkBytes);
+    }
+
+    /**
+     * Convierte cada registro con el mapper (que devuelve null para descartarlo)
+     * y devuelve los resultados en el orden del archivo.
+     */
+    public <T> List<T> load(Path path, boolean skipHeader, Function<CsvReader, T> mapper) throws IOException {
+        long size = Files.size(path);
+        int chunks = (int) Math.min(pool.getParallelism() * 4L, size / minChunkBytes);
+        if (chunks <= 1 || size > Integer.MAX_VALUE) {
+            return loadSequential(path, skipHeader, mapper);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int[] starts = alignChunks(data, chunks);
+
+            List<List<T>> parts = new ArrayList<>(chunks);
+            for (int i = 0; i < chunks; i++) {
+                parts.add(null);
+            }
+            runParallel(chunks, i -> parts.set(i,
+                    parseRange(data.slice(starts[i], starts[i + 1] - starts[i]), skipHeader && i == 0, mapper)));
+
+            int total = 0;
+            for (List<T> part : parts) {
+                total += part.size();
+            }
+            List<T> results = new ArrayList<>(total);
+            for (List<T> part : parts) {
+                results.addAll(part);
+            }
+            return results;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Calcula el inicio de cada trozo alineado a un límite de registro; el último
+     * elemento es el tamaño del archivo.
+     */
+    private int[] alignChunks(ByteBuffer data, int chunks) {
+        int size = data.limit();
+        int chunkSize = size / chunks;
+        int[] rawStarts = new int[chunks + 1];
+        for (int i = 0; i < chunks; i++) {
+            rawStarts[i] = i * chunkSize;
+        }
+        rawStarts[chunks] = size;
+
+        int[] quoteCounts = new int[chunks];
+        runParallel(chunks, i -> quoteCounts[i] = countQuotes(data, rawStarts[i], rawStarts[i + 1]));
+
+        boolean[] startsInQuotes = new boolean[chunks];
+        boolean parity = false;
+        for (int i = 0; i < chunks; i++) {
+            startsInQuotes[i] = parity;
+            parity ^= (quoteCounts[i] & 1) == 1;
+        }
+
+        int[] starts = new int[chunks + 1];
+        starts[chunks] = size;
+        runParallel(chunks, i -> starts[i] = i == 0 ? 0 : nextRecordStart(data, rawStarts[i], startsInQuotes[i]));
+        return starts;
+    }
+
+    private static int countQuotes(ByteBuffer data, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (data.get(i) == QUOTE) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int nextRecordStart(ByteBuffer data, int from, boolean inQuotes) {
+        int size = data.limit();
+        for (int i = from; i < size; i++) {
+            byte b = data.get(i);
+            if (b == QUOTE) {
+                inQuotes = !inQuotes;
+            } else if (b == NEW_LINE && !inQuotes) {
+                return i + 1;
+            }
+        }
+        return size;
+    }
+
+    private <T> List<T> parseRange(ByteBuffer range, boolean skipHeader, Function<CsvReader, T> mapper) {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(new ByteBufferInputStream(range), StandardCharsets.UTF_8))) {
+            return readAll(reader, skipHeader, mapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> List<T> loadSequential(Path path, boolean skipHeader, Function<CsvReader, T> mapper) throws IOException {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(new FileInputStream(path.toFile()), StandardCharsets.UTF_8))) {
+            return readAll(reader, skipHeader, mapper);
+        }
+    }
+
+    private static <T> List<T> readAll(CsvReader reader, boolean skipHeader, Function<CsvReader, T> mapper) throws IOException {
+        List<T> results = new ArrayList<>();
+        boolean skip = skipHeader;
+        while (reader.next()) {
+            if (skip) {
+                skip = false;
+                continue;
+            }
+            T value = mapper.apply(reader);
+            if (value != null) {
+                results.add(value);
+            }
+        }
+        return results;
+    }
+
+    private void runParallel(int count, IntConsumer action) {
+        pool.invoke(new RangeAction(0, count, action));
+    }
+
+    /**
+     * Reparte los índices [from, to) dividiendo por la mitad hasta llegar a un único trozo
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        private RangeAction(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, middle, action), new RangeAction(middle, to, action));
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project.infraestructure.scheduling;
+
+import com.example.project.application.port.in.ProductStockUseCase;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guarda en segundo plano el stock de las reservas y liberaciones.
+ *
+ * Las reservas solo modifican un contador en memoria; cada intervalo se escribe el valor final
+ * de los productos que cambiaron, de modo que una venta masiva sobre un mismo producto produce
+ * una escritura por intervalo y no una por reserva.
+ *
+ * Al parar no se interrumpe ninguna escritura: se espera a la ejecución en curso y después se
+ * guarda lo que quede pendiente.
+ */
+@Component
+public class ProductStockFlusher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockFlusher.class);
+
+    private final ProductStockUseCase productStockUseCase;
+
+    public ProductStockFlusher(ProductStockUseCase productStockUseCase) {
+        this.productStockUseCase = productStockUseCase;
+    }
+
+    @PreDestroy
+    public void stop() {
+        // flush() es synchronized: si hay una ejecución en curso, se espera a que termine
+        flush();
+    }
+
+    /**
+     * Los errores se registran; el producto sigue pendiente y se reintenta en la siguiente ejecución
+     */
+    @Scheduled(initialDelayString = "${product.stock.flush-interval-millis:200}",
+               fixedDelayString = "${product.stock.flush-interval-millis:200}")
+    public synchronized void flush() {
+        try {
+            int written = productStockUseCase.flushStock();
+            if (written > 0) {
+                logger.debug("Stock flushed for {} products", written);
+            }
+        } catch (Exception e) {
+            logger.error("Stock flush failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.project.infraestructure.scheduling;
+
+import com.example.project.application.port.in.ProductStockUseCase;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avanza la rueda de temporización de las reservas temporales de stock.
+ *
+ * Una sola tarea periódica libera todas las reservas vencidas en cada pasada, sin una tarea por
+ * reserva. Las unidades liberadas solo estaban retenidas en memoria, así que no hay nada que
+ * escribir ni nada que terminar al parar.
+ */
+@Component
+public class ProductStockHoldExpirer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductStockHoldExpirer.class);
+
+    private final ProductStockUseCase productStockUseCase;
+
+    public ProductStockHoldExpirer(ProductStockUseCase productStockUseCase) {
+        this.productStockUseCase = productStockUseCase;
+    }
+
+    @Scheduled(initialDelayString = "${product.stock.hold.expiry-interval-millis:100}",
+               fixedDelayString = "${product.stock.hold.expiry-interval-millis:100}")
+    public void expire() {
+        try {
+            int expired = productStockUseCase.expireStockHolds();
+            if (expired > 0) {
+                logger.debug("Expired {} stock holds", expired);
+            }
+        } catch (Exception e) {
+            logger.error("Stock hold expiry failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.project.application.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void advance_ShouldExpireEveryElementWithinOneTickOfItsDeadlineAcrossLevels() {
+        // Given
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 4, 0);
+        Random random = new Random(42);
+        Map<Long, Long> expiredAt = new HashMap<>();
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = 1 + random.nextInt((int) wheel.maxDelayMillis());
+            deadlines.add(deadline);
+            wheel.schedule((long) i, deadline);
+        }
+
+        // When
+        for (long now = 0; now <= wheel.maxDelayMillis() + 10; now += 7) {
+            long time = now;
+            wheel.advance(now, value -> expiredAt.put(value, time));
+        }
+
+        // Then
+        assertEquals(0, wheel.size());
+        assertEquals(deadlines.size(), expiredAt.size());
+        for (int i = 0; i < deadlines.size(); i++) {
+            long deadline = deadlines.get(i);
+            long expired = expiredAt.get((long) i);
+            assertTrue(expired >= deadline, "expired early: " + deadline + " at " + expired);
+            assertTrue(expired < deadline + 10 + 7, "expired late: " + deadline + " at " + expired);
+        }
+    }
+
+    @Test
+    void cancel_ShouldRemoveTheElementBeforeItExpires() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 6, 4, 1_000);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("a", 60_000);
+        wheel.schedule("b", 60_000);
+        List<String> expired = new ArrayList<>();
+
+        // When
+        boolean removed = wheel.cancel(cancelled);
+        wheel.advance(61_000, expired::add);
+
+        // Then
+        assertTrue(removed);
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("b"), expired);
+    }
+
+    @Test
+    void schedule_WithPastDeadline_ShouldExpireOnTheNextTick() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(100, 6, 4, 5_000);
+        List<String> expired = new ArrayList<>();
+
+        // When
+        wheel.schedule("late", 1_000);
+
+        // Then
+        assertEquals(0, wheel.advance(5_050, expired::add));
+        assertEquals(1, wheel.advance(5_100, expired::add));
+        assertEquals(List.of("late"), expired);
+        assertThrows(IllegalArgumentException.class,
+                () -> wheel.schedule("too far", 5_100 + wheel.maxDelayMillis() + 100));
+    }
+}
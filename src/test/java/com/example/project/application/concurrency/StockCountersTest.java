@@ -0,0 +1,161 @@
+package com.example.project.application.concurrency;
+
+import com.example.project.application.exception.StockReleaseExceededException;
+import com.example.project.domain.common.exceptions.InsufficientStockException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockCountersTest {
+
+    @Test
+    void reserve_WithConcurrentBuyers_ShouldNeverOversubscribe() throws Exception {
+        // Given
+        StockCounters counters = new StockCounters();
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(executor.submit(() -> {
+                try {
+                    counters.reserve("a", 1, id -> {
+                        loads.incrementAndGet();
+                        return 100;
+                    });
+                    reserved.incrementAndGet();
+                } catch (InsufficientStockException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(100, reserved.get());
+        assertEquals(400, rejected.get());
+        assertEquals(0, counters.current("a"));
+        assertEquals(1, loads.get(), "the stored stock is loaded once");
+    }
+
+    @Test
+    void drainPending_ShouldReturnEachChangedProductOnce() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.reserve("a", 2, id -> 10);
+        counters.reserve("a", 3, id -> 10);
+        counters.reserve("b", 1, id -> 4);
+        counters.release("b", 1, id -> 4);
+
+        // When
+        List<String> pending = counters.drainPending();
+
+        // Then
+        assertEquals(2, pending.size());
+        assertTrue(pending.containsAll(List.of("a", "b")));
+        assertEquals(5, counters.current("a"));
+        assertEquals(4, counters.current("b"));
+        assertTrue(counters.drainPending().isEmpty());
+    }
+
+    @Test
+    void retire_ShouldReloadFromTheStoredStockOnTheNextReservation() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.reserve("a", 4, id -> 10);
+
+        // When
+        counters.retire("a");
+        int remaining = counters.reserve("a", 1, id -> 50);
+
+        // Then
+        assertEquals(49, remaining);
+    }
+
+    @Test
+    void release_ShouldNeverReturnMoreThanWasReserved() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.reserve("a", 3, id -> 10);
+        counters.release("a", 2, id -> 10);
+
+        // When & Then
+        assertThrows(StockReleaseExceededException.class, () -> counters.release("a", 2, id -> 10));
+        assertThrows(StockReleaseExceededException.class, () -> counters.release("b", 1, id -> 10));
+        assertEquals(9, counters.current("a"));
+        assertEquals(1, counters.reserved("a"));
+        assertEquals(10, counters.current("b"));
+    }
+
+    @Test
+    void adjustStock_ShouldKeepTheUnsavedReservations() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.reserve("a", 4, id -> 10);
+
+        // When
+        int stock = counters.adjustStock("a", 5, id -> 10);
+
+        // Then
+        assertEquals(11, stock);
+        assertEquals(4, counters.reserved("a"));
+        assertThrows(InsufficientStockException.class, () -> counters.adjustStock("a", -12, id -> 10));
+        assertEquals(11, counters.current("a"));
+    }
+
+    @Test
+    void adjustStock_BelowHeldUnits_ShouldThrowAndKeepTheHold() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.hold("a", 6, id -> 10);
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> counters.adjustStock("a", -5, id -> 10));
+        assertEquals(6, counters.adjustStock("a", -4, id -> 10));
+        assertEquals(0, counters.available("a", id -> 10));
+        assertEquals(6, counters.held("a"));
+    }
+
+    @Test
+    void confirmHold_WithoutEnoughStock_ShouldThrowInsteadOfClamping() {
+        // Given
+        StockCounters counters = new StockCounters();
+        counters.hold("a", 2, id -> 3);
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> counters.confirmHold("a", 4));
+        assertEquals(3, counters.current("a"));
+        assertEquals(2, counters.held("a"));
+    }
+
+    @Test
+    void reserve_ShouldRunTheLoaderOutsideTheCounterMap() {
+        // Given
+        StockCounters counters = new StockCounters();
+
+        // When: "Aa" y "BB" tienen el mismo hash y caen en la misma posición del mapa
+        counters.reserve("Aa", 1, id -> 10 - counters.reserve("BB", 2, other -> 5));
+
+        // Then
+        assertEquals(6, counters.current("Aa"));
+        assertEquals(3, counters.current("BB"));
+        assertThrows(IllegalStateException.class,
+                () -> counters.reserve("c", 1, id -> { throw new IllegalStateException("storage down"); }));
+        assertNull(counters.current("c"));
+        assertEquals(3, counters.available("c", id -> 3));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.project.application.concurrency;
+
+import com.example.project.domain.common.exceptions.InsufficientStockException;
+import com.example.project.domain.common.valueobjects.StockHold;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockHoldsTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final StockCounters counters = new StockCounters();
+    private final StockHolds holds = new StockHolds(counters, clock::get);
+
+    @Test
+    void create_ShouldRetainUnitsUntilTheHoldExpires() {
+        // Given
+        holds.create("a", 3, Duration.ofMinutes(5), id -> 5);
+
+        // When & Then
+        assertEquals(2, counters.available("a", id -> 5));
+        assertThrows(InsufficientStockException.class, () -> counters.reserve("a", 3, id -> 5));
+        assertTrue(counters.drainPending().isEmpty(), "held units are not written");
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis() + StockHolds.TICK_MILLIS);
+        assertEquals(1, holds.expire());
+        assertEquals(5, counters.available("a", id -> 5));
+        assertEquals(0, holds.activeCount());
+    }
+
+    @Test
+    void confirm_ShouldTakeTheUnitsOutOfStock() {
+        // Given
+        StockHold hold = holds.create("a", 2, Duration.ofMinutes(5), id -> 5);
+
+        // When
+        StockHold confirmed = holds.confirm(hold.getId());
+
+        // Then
+        assertEquals(hold, confirmed);
+        assertEquals(3, counters.current("a"));
+        assertEquals(0, counters.held("a"));
+        assertEquals(1, counters.drainPending().size());
+        assertNull(holds.cancel(hold.getId()), "a hold is resolved only once");
+        clock.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertEquals(0, holds.expire());
+        assertEquals(3, counters.available("a", id -> 5));
+    }
+
+    @Test
+    void confirm_AfterExpirationTime_ShouldFailEvenBeforeTheWheelRuns() {
+        // Given
+        StockHold hold = holds.create("a", 2, Duration.ofSeconds(30), id -> 5);
+        clock.addAndGet(Duration.ofSeconds(30).toMillis());
+
+        // When
+        StockHold confirmed = holds.confirm(hold.getId());
+
+        // Then
+        assertNull(confirmed);
+        assertEquals(5, counters.current("a"));
+        holds.expire();
+        assertEquals(0, counters.held("a"));
+    }
+
+    @Test
+    void create_WhenTheWheelCannotScheduleTheDeadline_ShouldReleaseTheUnits() {
+        // Given: la rueda no ha avanzado desde el arranque
+        clock.addAndGet(holds.maxTtl().toMillis());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> holds.create("a", 3, holds.maxTtl(), id -> 5));
+        assertEquals(0, counters.held("a"));
+        assertEquals(5, counters.available("a", id -> 5));
+        assertEquals(0, holds.activeCount());
+    }
+}
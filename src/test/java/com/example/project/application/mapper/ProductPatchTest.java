@@ -0,0 +1,57 @@
+package com.example.project.application.mapper;
+
+import com.example.project.application.exception.BusinessException;
+import com.example.project.infraestructure.dto.ProductDto;
+import com.example.project.infraestructure.dto.ProductRequestDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPatchTest {
+
+    @Test
+    void applyTo_ShouldReplaceOnlyThePatchedFields() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        ProductDto current = ProductDto.builder()
+                .id("1").title("Monitor").brand("Acme").price(new BigDecimal("300"))
+                .stock(5).availableQuantity(5).available(true)
+                .tags(List.of("pantalla")).createdAt(createdAt).updatedAt(createdAt)
+                .build();
+        ProductPatch patch = ProductPatch.of(Set.of("price", "brand", "stock"),
+                ProductRequestDto.builder().price(new BigDecimal("250")).brand(null).stock(0).build());
+
+        // When
+        ProductDto patched = patch.applyTo(current);
+
+        // Then
+        assertEquals(new BigDecimal("250"), patched.getPrice());
+        assertNull(patched.getBrand());
+        assertEquals(0, patched.getAvailableQuantity());
+        assertFalse(patched.getAvailable());
+        assertEquals("Monitor", patched.getTitle());
+        assertSame(current.getTags(), patched.getTags());
+        assertEquals(createdAt, patched.getCreatedAt());
+        assertTrue(patched.getUpdatedAt().isAfter(createdAt));
+        assertEquals(new BigDecimal("300"), current.getPrice(), "the stored product is not modified");
+        assertEquals(Set.of("available", "availableQuantity", "brand", "price", "stock", "updatedAt"),
+                patch.storedFields());
+    }
+
+    @Test
+    void of_WithFieldsThatCannotBePatched_ShouldThrowBusinessException() {
+        // When & Then
+        BusinessException unknown = assertThrows(BusinessException.class,
+                () -> ProductPatch.of(Set.of("price", "id"), new ProductRequestDto()));
+        BusinessException empty = assertThrows(BusinessException.class,
+                () -> ProductPatch.of(Set.of(), new ProductRequestDto()));
+        assertEquals("INVALID_PATCH", unknown.getErrorCode());
+        assertTrue(unknown.getMessage().contains("id"));
+        assertEquals("INVALID_PATCH", empty.getErrorCode());
+    }
+}
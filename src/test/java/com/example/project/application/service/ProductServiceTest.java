@@ -1,20 +1,29 @@
 package com.example.project.application.service;
 
+import com.example.project.application.exception.BusinessException;
 import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.mapper.ProductFieldSet;
 import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
 import com.example.project.application.port.out.ProductRepository;
 import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductBatchItemDto;
+import com.example.project.infraestructure.dto.ProductBatchResponseDto;
+import com.example.project.infraestructure.dto.ProductMultiGetResponseDto;
+import com.example.project.infraestructure.dto.ProductPageResponseDto;
 import com.example.project.infraestructure.dto.ProductRequestDto;
 import com.example.project.infraestructure.dto.ProductResponseDto;
 import com.example.project.domain.common.enums.ListingType;
 import com.example.project.domain.common.enums.ProductCondition;
 import com.example.project.domain.common.enums.ProductStatus;
+import com.example.project.domain.common.exceptions.InsufficientStockException;
 import com.example.project.domain.common.valueobjects.Stock;
 import com.example.project.domain.common.valueobjects.Rating;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -22,13 +31,24 @@ import org.mockito.quality.Strictness;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +61,7 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
-    @InjectMocks
+    private ProductStockService stockService;
     private ProductService productService;
 
     private ProductRequestDto validProductRequest;
@@ -50,6 +70,8 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        stockService = new ProductStockService(productRepository);
+        productService = new ProductService(productRepository, productMapper, null, stockService);
         setupTestData();
     }
 
@@ -371,6 +393,280 @@ class ProductServiceTest {
         verify(productMapper, never()).toResponseDto(any(Product.class));
     }
 
+    @Test
+    void filterByKeywordRanked_WithValidKeyword_ShouldAskRepositoryForTopResults() {
+        // Given
+        when(productRepository.findTopByKeyword("iphone", 10)).thenReturn(Arrays.asList(validProduct));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        Optional<List<ProductResponseDto>> result = productService.filterByKeywordRanked(" iPhone ", 10);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().size());
+        verify(productRepository, times(1)).findTopByKeyword("iphone", 10);
+        verify(productRepository, never()).findByKeyword(anyString());
+    }
+
+    @Test
+    void listPage_ShouldReturnNextCursorThatResumesAfterLastId() {
+        // Given
+        Product second = mock(Product.class);
+        when(productRepository.findPage(null, 2)).thenReturn(Arrays.asList(validProduct, second));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ProductPageResponseDto first = productService.listPage(null, 1);
+        productService.listPage(first.getNextCursor(), 1);
+
+        // Then
+        assertEquals(1, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+        verify(productRepository, times(1)).findPage(validProduct.getId(), 2);
+    }
+
+    @Test
+    void listAll_WithFields_ShouldMapOnlyThroughProjection() {
+        // Given
+        ProductFieldSet fields = ProductFieldSet.of("id", "title");
+        when(productRepository.findAll()).thenReturn(Arrays.asList(validProduct));
+        when(productMapper.toResponseDto(validProduct, fields)).thenReturn(validProductResponse);
+
+        // When
+        List<ProductResponseDto> result = productService.listAll(fields);
+
+        // Then
+        assertEquals(1, result.size());
+        verify(productMapper).toResponseDto(validProduct, fields);
+        verify(productMapper, never()).toResponseDto(validProduct);
+    }
+
+    @Test
+    void createProducts_ShouldSaveValidItemsTogetherAndReportInvalidOnes() {
+        // Given
+        ProductService service = new ProductService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockService);
+        ProductRequestDto invalidRequest = ProductRequestDto.builder().title("").build();
+        when(productMapper.toDomain(validProductRequest)).thenReturn(validProduct);
+        when(productRepository.saveAll(List.of(validProduct, validProduct)))
+                .thenReturn(List.of(validProduct, validProduct));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ProductBatchResponseDto result = service.createProducts(
+                Arrays.asList(validProductRequest, invalidRequest, validProductRequest));
+
+        // Then
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(ProductBatchItemDto.CREATED, result.getResults().get(0).getStatus());
+        assertEquals(ProductBatchItemDto.INVALID, result.getResults().get(1).getStatus());
+        assertFalse(result.getResults().get(1).getErrors().isEmpty());
+        assertEquals(2, result.getResults().get(2).getIndex());
+        verify(productRepository, times(1)).saveAll(anyList());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void createProducts_WithEmptyBatch_ShouldThrowBusinessException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productService.createProducts(List.of()));
+        assertEquals("INVALID_BATCH", exception.getErrorCode());
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void filterByIds_ShouldKeepRequestOrderAndMarkMissingIds() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        List<String> ids = List.of("missing", productId, productId);
+        when(validProduct.getId()).thenReturn(productId);
+        when(productRepository.findAllById(ids)).thenReturn(List.of(validProduct));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ProductMultiGetResponseDto result = productService.filterByIds(ids);
+
+        // Then
+        assertEquals(3, result.getItems().size());
+        assertEquals("missing", result.getItems().get(0).getId());
+        assertFalse(result.getItems().get(0).isFound());
+        assertNull(result.getItems().get(0).getProduct());
+        assertTrue(result.getItems().get(1).isFound());
+        assertSame(validProductResponse, result.getItems().get(2).getProduct());
+        verify(productRepository, times(1)).findAllById(ids);
+        verify(productMapper, times(1)).toResponseDto(validProduct);
+        verify(productRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void filterByIds_WithTooManyIds_ShouldThrowBusinessException() {
+        // Given
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= ProductService.MAX_MULTI_GET_SIZE; i++) {
+            ids.add("id-" + i);
+        }
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class, () -> productService.filterByIds(ids));
+        assertEquals("INVALID_IDS", exception.getErrorCode());
+    }
+
+    @Test
+    void patchProduct_ShouldValidateOnlyThePatchedFields() {
+        // Given
+        ProductService service = new ProductService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockService);
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        ProductPatch patch = ProductPatch.of(Set.of("price"),
+                ProductRequestDto.builder().price(new BigDecimal("999.99")).build());
+        when(productRepository.patch(productId, patch, OptionalLong.empty())).thenReturn(Optional.of(validProduct));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ProductResponseDto result = service.patchProduct(productId, patch, OptionalLong.empty());
+
+        // Then
+        assertSame(validProductResponse, result);
+        verify(productRepository, never()).findById(anyString());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void patchProduct_WithInvalidValue_ShouldThrowBusinessException() {
+        // Given
+        ProductService service = new ProductService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockService);
+        ProductPatch patch = ProductPatch.of(Set.of("price"),
+                ProductRequestDto.builder().price(BigDecimal.ZERO).build());
+
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> service.patchProduct("id", patch, OptionalLong.empty()));
+        assertEquals("INVALID_PATCH", exception.getErrorCode());
+        assertTrue(exception.getMessage().contains("price"));
+        verify(productRepository, never()).patch(anyString(), any(ProductPatch.class), any(OptionalLong.class));
+    }
+
+    @Test
+    void patchProduct_WhenProductNotExists_ShouldThrowException() {
+        // Given
+        ProductPatch patch = ProductPatch.of(Set.of("stock"), ProductRequestDto.builder().stock(3).build());
+        ProductService service = new ProductService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockService);
+        when(productRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ProductNotFoundException.class, () -> service.patchProduct("missing", patch, OptionalLong.empty()));
+    }
+
+    @Test
+    void updateProduct_AfterReservations_ShouldKeepTheUnsavedReservations() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(productMapper.toDomain(validProductRequest)).thenReturn(validProduct);
+        when(validProduct.getStock()).thenReturn(Stock.of(25));
+        when(validProduct.getRatingObject()).thenReturn(Rating.of(4.5, 128));
+        when(productRepository.patch(eq(productId), any(ProductPatch.class), eq(OptionalLong.empty())))
+                .thenReturn(Optional.of(validProduct));
+        when(productRepository.save(any(Product.class))).thenReturn(validProduct);
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+        stockService.reserveStock(productId, 5);
+
+        // When: PUT con el stock que devolvía GET antes de guardar la reserva
+        productService.updateProduct(productId, validProductRequest);
+
+        // Then
+        verify(productRepository).patch(eq(productId),
+                argThat(patch -> patch.values().getStock() == 20), eq(OptionalLong.empty()));
+        verify(productRepository).save(argThat(product -> product.getStock().getQuantity() == 20));
+        assertEquals(0, stockService.flushStock(), "nothing left to write");
+        assertThrows(InsufficientStockException.class, () -> stockService.reserveStock(productId, 21));
+    }
+
+    @Test
+    void updateProduct_WithVersionReadBeforeUnsavedReservations_ShouldThrowConflict() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(25));
+        when(productRepository.patch(eq(productId), any(ProductPatch.class), eq(OptionalLong.empty())))
+                .thenReturn(Optional.of(validProduct));
+        // Guardar la reserva avanza la versión
+        when(productRepository.findVersionById(productId)).thenReturn(OptionalLong.of(43L));
+        stockService.reserveStock(productId, 5);
+
+        // When & Then
+        assertThrows(ProductVersionConflictException.class,
+                () -> productService.updateProduct(productId, validProductRequest, OptionalLong.of(42L)));
+        verify(productRepository).patch(eq(productId), any(ProductPatch.class), eq(OptionalLong.empty()));
+        verify(productRepository, never()).save(any(Product.class), any(OptionalLong.class));
+    }
+
+    @Test
+    void patchProduct_WithStockBelowHeldUnits_ShouldThrowWithoutWriting() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        ProductService service = new ProductService(productRepository, productMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), stockService);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(10));
+        stockService.holdStock(productId, 6, 60);
+        ProductPatch patch = ProductPatch.of(Set.of("stock"), ProductRequestDto.builder().stock(5).build());
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> service.patchProduct(productId, patch, OptionalLong.empty()));
+        verify(productRepository, never()).patch(anyString(), any(ProductPatch.class), any(OptionalLong.class));
+        assertEquals(6, stockService.stockLevel(productId).getHeld());
+        assertEquals(10, stockService.stockLevel(productId).getStock());
+    }
+
+    @Test
+    void forEachProduct_ShouldWalkCatalogInBatchesUntilShortPage() {
+        // Given
+        List<Product> fullBatch = new ArrayList<>();
+        for (int i = 0; i < ProductService.EXPORT_BATCH_SIZE; i++) {
+            fullBatch.add(validProduct);
+        }
+        when(productRepository.findPage(null, ProductService.EXPORT_BATCH_SIZE)).thenReturn(fullBatch);
+        when(productRepository.findPage(validProduct.getId(), ProductService.EXPORT_BATCH_SIZE))
+                .thenReturn(Arrays.asList(validProduct));
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+        AtomicInteger exported = new AtomicInteger();
+
+        // When
+        productService.forEachProduct(product -> exported.incrementAndGet());
+
+        // Then
+        assertEquals(ProductService.EXPORT_BATCH_SIZE + 1, exported.get());
+        verify(productRepository, times(2)).findPage(any(), eq(ProductService.EXPORT_BATCH_SIZE));
+    }
+
+    @Test
+    void listPage_WithInvalidCursor_ShouldThrowBusinessException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productService.listPage("%%%", 10));
+
+        assertEquals("INVALID_CURSOR", exception.getErrorCode());
+        verify(productRepository, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void filterByKeywordRanked_WithLimitOutOfRange_ShouldThrowBusinessException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> productService.filterByKeywordRanked("iphone", 0));
+
+        assertEquals("INVALID_LIMIT", exception.getErrorCode());
+        assertThrows(BusinessException.class,
+                () -> productService.filterByKeywordRanked("iphone", ProductService.MAX_SEARCH_LIMIT + 1));
+        verify(productRepository, never()).findTopByKeyword(anyString(), anyInt());
+    }
+
     @Test
     void updateProduct_WhenProductExists_ShouldReturnUpdatedProduct() {
         // Given
@@ -414,4 +710,74 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any(Product.class));
         verify(productMapper, never()).toResponseDto(any(Product.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateProduct_WithStaleExpectedVersion_ShouldThrowConflictWithoutSaving() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findVersionById(productId)).thenReturn(OptionalLong.of(43L));
+
+        // When & Then
+        assertThrows(ProductVersionConflictException.class,
+                () -> productService.updateProduct(productId, validProductRequest, OptionalLong.of(42L)));
+        verify(productRepository, never()).findById(anyString());
+        verify(productRepository, never()).save(any(Product.class), any(OptionalLong.class));
+    }
+
+    @Test
+    void updateProduct_WithCurrentExpectedVersion_ShouldSaveConditionally() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findVersionById(productId)).thenReturn(OptionalLong.of(42L));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(productMapper.toDomain(validProductRequest)).thenReturn(validProduct);
+        when(validProduct.getStock()).thenReturn(Stock.of(25));
+        when(validProduct.getRatingObject()).thenReturn(Rating.of(4.5, 128));
+        when(productRepository.save(any(Product.class), eq(OptionalLong.of(42L)))).thenReturn(validProduct);
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ProductResponseDto result = productService.updateProduct(productId, validProductRequest, OptionalLong.of(42L));
+
+        // Then
+        assertSame(validProductResponse, result);
+        verify(productRepository, times(1)).save(any(Product.class), eq(OptionalLong.of(42L)));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void updateProduct_WithConcurrentUpdatesToSameProduct_ShouldSerializeReadModifyWrite() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(productRepository.findById(productId)).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            return Optional.of(validProduct);
+        });
+        when(productMapper.toDomain(validProductRequest)).thenReturn(validProduct);
+        when(validProduct.getStock()).thenReturn(Stock.of(25));
+        when(validProduct.getRatingObject()).thenReturn(Rating.of(4.5, 128));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> {
+            inFlight.decrementAndGet();
+            return validProduct;
+        });
+        when(productMapper.toResponseDto(validProduct)).thenReturn(validProductResponse);
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<ProductResponseDto>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(executor.submit(() -> productService.updateProduct(productId, validProductRequest)));
+        }
+        for (Future<ProductResponseDto> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, maxInFlight.get());
+        verify(productRepository, times(4)).save(any(Product.class));
+    }
+}
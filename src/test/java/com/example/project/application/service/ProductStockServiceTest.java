@@ -0,0 +1,139 @@
+package com.example.project.application.service;
+
+import com.example.project.application.exception.BusinessException;
+import com.example.project.application.exception.StockHoldNotFoundException;
+import com.example.project.application.exception.StockReleaseExceededException;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.application.port.out.ProductRepository;
+import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.StockHoldResponseDto;
+import com.example.project.infraestructure.dto.StockReservationResponseDto;
+import com.example.project.domain.common.exceptions.InsufficientStockException;
+import com.example.project.domain.common.valueobjects.Stock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProductStockServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductStockService stockService;
+    private Product validProduct;
+
+    @BeforeEach
+    void setUp() {
+        stockService = new ProductStockService(productRepository);
+        validProduct = mock(Product.class);
+    }
+
+    @Test
+    void reserveStock_ShouldWriteOnceOnFlushAfterManyReservations() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(10));
+        when(productRepository.patch(eq(productId), any(ProductPatch.class), eq(OptionalLong.empty())))
+                .thenReturn(Optional.of(validProduct));
+
+        // When
+        stockService.reserveStock(productId, 3);
+        StockReservationResponseDto last = stockService.reserveStock(productId, 2);
+        int written = stockService.flushStock();
+
+        // Then
+        assertEquals(5, last.getAvailableQuantity());
+        assertEquals(1, written);
+        verify(productRepository, times(1)).findById(productId);
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, times(1)).patch(eq(productId),
+                argThat(patch -> patch.fields().equals(Set.of("stock")) && patch.values().getStock() == 5),
+                eq(OptionalLong.empty()));
+        assertEquals(0, stockService.flushStock(), "nothing left to write");
+    }
+
+    @Test
+    void reserveStock_WithMoreThanAvailable_ShouldThrowInsufficientStock() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(2));
+
+        // When & Then
+        assertThrows(InsufficientStockException.class, () -> stockService.reserveStock(productId, 3));
+        assertEquals(0, stockService.flushStock());
+    }
+
+    @Test
+    void releaseStock_WithoutMatchingReservation_ShouldThrowAndKeepStock() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(10));
+        stockService.reserveStock(productId, 2);
+
+        // When & Then
+        assertThrows(StockReleaseExceededException.class, () -> stockService.releaseStock(productId, 3));
+        assertEquals(10, stockService.releaseStock(productId, 2).getAvailableQuantity());
+        assertThrows(StockReleaseExceededException.class, () -> stockService.releaseStock(productId, 1));
+    }
+
+    @Test
+    void holdStock_ShouldKeepTheUnitsOutOfOtherReservationsUntilCancelled() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(10));
+
+        // When
+        StockHoldResponseDto hold = stockService.holdStock(productId, 6, null);
+
+        // Then
+        assertEquals(4, hold.getAvailableQuantity());
+        assertThrows(InsufficientStockException.class, () -> stockService.reserveStock(productId, 5));
+        stockService.cancelStockHold(productId, hold.getHoldId());
+        assertEquals(10, stockService.stockLevel(productId).getAvailableQuantity());
+        assertEquals(0, stockService.flushStock(), "holds are never written");
+        verify(productRepository, never()).patch(anyString(), any(ProductPatch.class), any(OptionalLong.class));
+    }
+
+    @Test
+    void holdStock_WithTtlOutOfRange_ShouldThrowBusinessException() {
+        // When & Then
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> stockService.holdStock("id", 1, ProductStockService.MAX_HOLD_TTL_SECONDS + 1));
+        assertEquals("INVALID_TTL", exception.getErrorCode());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void confirmStockHold_ForAnotherProduct_ShouldThrowNotFoundAndKeepTheHold() {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productRepository.findById(productId)).thenReturn(Optional.of(validProduct));
+        when(validProduct.getStock()).thenReturn(Stock.of(10));
+        StockHoldResponseDto hold = stockService.holdStock(productId, 2, 60);
+
+        // When & Then
+        assertThrows(StockHoldNotFoundException.class, () -> stockService.confirmStockHold("other", hold.getHoldId()));
+        assertEquals(2, stockService.confirmStockHold(productId, hold.getHoldId()).getQuantity());
+        assertEquals(8, stockService.stockLevel(productId).getStock());
+    }
+}
@@ -1,17 +1,33 @@
 package com.example.project.infraestructure.controller;
 
+import com.example.project.application.port.in.ProductStockUseCase;
 import com.example.project.application.port.in.ProductUseCase;
 import com.example.project.application.exception.ProductNotFoundException;
+import com.example.project.application.exception.ProductVersionConflictException;
+import com.example.project.application.exception.StockHoldNotFoundException;
+import com.example.project.application.exception.StockReleaseExceededException;
+import com.example.project.application.mapper.ProductFieldSet;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.infraestructure.dto.ProductBatchItemDto;
+import com.example.project.infraestructure.dto.ProductBatchResponseDto;
+import com.example.project.infraestructure.dto.ProductMultiGetItemDto;
+import com.example.project.infraestructure.dto.ProductMultiGetRequestDto;
+import com.example.project.infraestructure.dto.ProductMultiGetResponseDto;
+import com.example.project.infraestructure.dto.ProductPageResponseDto;
 import com.example.project.infraestructure.dto.ProductRequestDto;
 import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.example.project.infraestructure.dto.StockHoldResponseDto;
+import com.example.project.infraestructure.dto.StockReservationResponseDto;
+import com.example.project.infraestructure.dto.ValidationErrorDto;
 import com.example.project.domain.common.enums.ListingType;
+import com.example.project.domain.common.exceptions.InsufficientStockException;
 import com.example.project.domain.common.enums.ProductCondition;
 import com.example.project.domain.common.enums.ProductStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
@@ -19,12 +35,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,7 +58,9 @@ class ProductControllerTest {
     @Mock
     private ProductUseCase productUseCase;
 
-    @InjectMocks
+    @Mock
+    private ProductStockUseCase productStockUseCase;
+
     private ProductController productController;
 
     private MockMvc mockMvc;
@@ -47,11 +71,14 @@ class ProductControllerTest {
 
     @BeforeEach
     void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules(); // Para soportar LocalDateTime
+        productController = new ProductController(productUseCase, productStockUseCase,
+                new ProductProjectionWriter(objectMapper), new ProductResponseCache(objectMapper, 1 << 20, true),
+                objectMapper);
         mockMvc = MockMvcBuilders.standaloneSetup(productController)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules(); // Para soportar LocalDateTime
 
         // Configurar datos de prueba
         setupTestData();
@@ -155,6 +182,102 @@ class ProductControllerTest {
         verify(productUseCase, times(1)).filterById(productId);
     }
 
+    @Test
+    void findProductById_ShouldReturnVersionAsStrongETag() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.productVersion(productId)).thenReturn(OptionalLong.of(42));
+        when(productUseCase.filterById(productId)).thenReturn(Optional.of(validProductResponse));
+
+        // When & Then
+        mockMvc.perform(get("/api/product/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(jsonPath("$.id").value(productId));
+    }
+
+    @Test
+    void findProductById_WhenETagMatches_ShouldReturn304WithoutLoadingProduct() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.productVersion(productId)).thenReturn(OptionalLong.of(42));
+
+        // When & Then
+        mockMvc.perform(get("/api/product/{id}", productId)
+                        .header("If-None-Match", "\"41\", \"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(content().string(""));
+
+        verify(productUseCase, never()).filterById(anyString());
+    }
+
+    @Test
+    void findProductById_WhenVersionUnchanged_ShouldServeCachedBytes() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.productVersion(productId)).thenReturn(OptionalLong.of(42));
+        when(productUseCase.filterById(productId)).thenReturn(Optional.of(validProductResponse));
+
+        // When
+        mockMvc.perform(get("/api/product/{id}", productId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/product/{id}", productId)
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().stringValues("ETag", "\"42-gz\""));
+
+        // Then
+        verify(productUseCase, times(1)).filterById(productId);
+    }
+
+    @Test
+    void findProductById_WhenGzipETagMatches_ShouldReturn304WithThatETag() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.productVersion(productId)).thenReturn(OptionalLong.of(42));
+
+        // When & Then
+        mockMvc.perform(get("/api/product/{id}", productId)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"42-gz\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", "\"42-gz\""));
+
+        verify(productUseCase, never()).filterById(anyString());
+    }
+
+    @Test
+    void findProductById_WithFields_ShouldReturnOnlyRequestedFields() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        ProductFieldSet fields = ProductFieldSet.of("id", "title");
+        when(productUseCase.filterById(productId, fields)).thenReturn(Optional.of(validProductResponse));
+
+        // When & Then
+        mockMvc.perform(get("/api/product/{id}", productId)
+                        .param("fields", "title, id"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(productId))
+                .andExpect(jsonPath("$.title").value("iPhone 15 Pro Max"))
+                .andExpect(jsonPath("$.price").doesNotExist())
+                .andExpect(jsonPath("$.isAvailable").doesNotExist());
+
+        verify(productUseCase, never()).filterById(productId);
+    }
+
+    @Test
+    void findProductById_WithUnknownField_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/product/{id}", "f47ac10b-58cc-4372-a567-0e02b2c3d479")
+                        .param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productUseCase);
+    }
+
     @Test
     void findProductById_WhenProductNotExists_ShouldReturn404() throws Exception {
         // Given
@@ -169,6 +292,27 @@ class ProductControllerTest {
         verify(productUseCase, times(1)).filterById(productId);
     }
 
+    @Test
+    void findProductsByIds_ShouldReturnItemsWithMissingMarkers() throws Exception {
+        // Given
+        List<String> ids = List.of("f47ac10b-58cc-4372-a567-0e02b2c3d479", "missing");
+        when(productUseCase.filterByIds(ids)).thenReturn(new ProductMultiGetResponseDto(List.of(
+                ProductMultiGetItemDto.found(ids.get(0), validProductResponse),
+                ProductMultiGetItemDto.missing("missing"))));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/_mget")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProductMultiGetRequestDto(ids))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].found").value(true))
+                .andExpect(jsonPath("$.items[0].product.title").value("iPhone 15 Pro Max"))
+                .andExpect(jsonPath("$.items[1].id").value("missing"))
+                .andExpect(jsonPath("$.items[1].found").value(false));
+
+        verify(productUseCase, never()).filterById(anyString());
+    }
+
     @Test
     void findProductByTitle_WhenProductExists_ShouldReturnProduct() throws Exception {
         // Given
@@ -232,6 +376,26 @@ class ProductControllerTest {
         verify(productUseCase, times(1)).filterByKeyword(keyword);
     }
 
+    @Test
+    void findProductByKeyword_WithRelevanceSort_ShouldUseRankedSearch() throws Exception {
+        // Given
+        String keyword = "iPhone";
+        List<ProductResponseDto> products = Arrays.asList(validProductResponse);
+        when(productUseCase.filterByKeywordRanked(keyword, 5)).thenReturn(Optional.of(products));
+
+        // When & Then
+        mockMvc.perform(get("/api/product/search")
+                        .param("keyword", keyword)
+                        .param("sort", "relevance")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("iPhone 15 Pro Max"));
+
+        verify(productUseCase, times(1)).filterByKeywordRanked(keyword, 5);
+        verify(productUseCase, never()).filterByKeyword(anyString());
+    }
+
     @Test
     void listAll_ShouldReturnAllProducts() throws Exception {
         // Given
@@ -248,6 +412,54 @@ class ProductControllerTest {
         verify(productUseCase, times(1)).listAll();
     }
 
+    @Test
+    void listAll_WhenCatalogVersionMatches_ShouldReturn304() throws Exception {
+        // Given
+        when(productUseCase.catalogVersion()).thenReturn(7L);
+
+        // When & Then
+        mockMvc.perform(get("/api/product")
+                        .header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified());
+
+        verify(productUseCase, never()).listAll();
+    }
+
+    @Test
+    void listAll_WithLimitAndFields_ShouldProjectPageItems() throws Exception {
+        // Given
+        ProductFieldSet fields = ProductFieldSet.of("price");
+        ProductPageResponseDto page = new ProductPageResponseDto(Arrays.asList(validProductResponse), "next");
+        when(productUseCase.listPage(null, 1, fields)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/product")
+                        .param("limit", "1")
+                        .param("fields", "price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].price").value(1299.99))
+                .andExpect(jsonPath("$.items[0].title").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void listAll_WithLimit_ShouldReturnPageWithNextCursor() throws Exception {
+        // Given
+        ProductPageResponseDto page = new ProductPageResponseDto(Arrays.asList(validProductResponse), "next");
+        when(productUseCase.listPage(null, 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/product")
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("iPhone 15 Pro Max"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(productUseCase, times(1)).listPage(null, 1);
+        verify(productUseCase, never()).listAll();
+    }
+
     @Test
     void createProduct_WithValidData_ShouldReturnCreatedProduct() throws Exception {
         // Given
@@ -281,6 +493,27 @@ class ProductControllerTest {
         verify(productUseCase, never()).createProduct(any(ProductRequestDto.class));
     }
 
+    @Test
+    void createProducts_ShouldReturnPerItemResults() throws Exception {
+        // Given
+        ProductBatchResponseDto response = new ProductBatchResponseDto(1, 1, List.of(
+                ProductBatchItemDto.created(0, validProductResponse),
+                ProductBatchItemDto.invalid(1, List.of(new ValidationErrorDto("title", "El título es obligatorio", "VALIDATION_ERROR")))));
+        when(productUseCase.createProducts(anyList())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/product/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(validProductRequest, new ProductRequestDto()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].product.title").value("iPhone 15 Pro Max"))
+                .andExpect(jsonPath("$.results[1].errors[0].field").value("title"));
+
+        verify(productUseCase, times(1)).createProducts(argThat(list -> list.size() == 2));
+    }
+
     @Test
     void updateProduct_WithValidData_ShouldReturnUpdatedProduct() throws Exception {
         // Given
@@ -331,4 +564,214 @@ class ProductControllerTest {
 
         verify(productUseCase, times(1)).updateProduct(eq(productId), any(ProductRequestDto.class));
     }
+
+    @Test
+    void updateProduct_WithIfMatch_ShouldPassTheExpectedVersion() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.updateProduct(eq(productId), any(ProductRequestDto.class), eq(OptionalLong.of(42L))))
+                .thenReturn(validProductResponse);
+
+        // When & Then
+        mockMvc.perform(put("/api/product/{id}", productId)
+                        .header("If-Match", "\"42\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validProductRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(productId));
+
+        verify(productUseCase, never()).updateProduct(anyString(), any(ProductRequestDto.class));
+    }
+
+    @Test
+    void updateProduct_WithGzipETagInIfMatch_ShouldPassTheSameVersion() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.updateProduct(eq(productId), any(ProductRequestDto.class), eq(OptionalLong.of(42L))))
+                .thenReturn(validProductResponse);
+
+        // When & Then
+        mockMvc.perform(put("/api/product/{id}", productId)
+                        .header("If-Match", "\"42-gz\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validProductRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateProduct_WhenVersionChanged_ShouldReturn409() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.updateProduct(eq(productId), any(ProductRequestDto.class), eq(OptionalLong.of(42L))))
+                .thenThrow(ProductVersionConflictException.withVersions(productId, 42L, OptionalLong.of(43L)));
+
+        // When & Then
+        mockMvc.perform(put("/api/product/{id}", productId)
+                        .header("If-Match", "\"42\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validProductRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("VERSION_CONFLICT"));
+    }
+
+    @Test
+    void updateProduct_WithWeakOrMalformedIfMatch_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(put("/api/product/{id}", "id")
+                        .header("If-Match", "W/\"42\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validProductRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_IF_MATCH"));
+
+        verifyNoInteractions(productUseCase);
+    }
+
+    @Test
+    void reserveStock_ShouldReturnRemainingStock() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productStockUseCase.reserveStock(productId, 2))
+                .thenReturn(new StockReservationResponseDto(productId, 2, 48));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/reserve", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(2))
+                .andExpect(jsonPath("$.availableQuantity").value(48));
+    }
+
+    @Test
+    void reserveStock_WhenNotEnoughStock_ShouldReturn409() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productStockUseCase.reserveStock(productId, 5))
+                .thenThrow(new InsufficientStockException("Insufficient stock. Requested: 5, Available: 1"));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/reserve", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 5}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("INSUFFICIENT_STOCK"));
+    }
+
+    @Test
+    void releaseStock_WithMoreThanReserved_ShouldReturn409() throws Exception {
+        // Given
+        when(productStockUseCase.releaseStock("id", 5))
+                .thenThrow(StockReleaseExceededException.withQuantities("id", 5, 2));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/release", "id")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 5}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("RELEASE_EXCEEDS_RESERVED"));
+    }
+
+    @Test
+    void releaseStock_WithInvalidQuantity_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/release", "id")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productStockUseCase);
+    }
+
+    @Test
+    void holdStock_ShouldReturnTheHold() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productStockUseCase.holdStock(productId, 2, 60))
+                .thenReturn(new StockHoldResponseDto("hold-1", productId, 2, Instant.parse("2026-01-01T00:01:00Z"), 48));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/holds", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 2, \"ttlSeconds\": 60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").value("hold-1"))
+                .andExpect(jsonPath("$.availableQuantity").value(48));
+    }
+
+    @Test
+    void holdStock_WithTtlOutOfRange_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/holds", "id")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\": 2, \"ttlSeconds\": 0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productStockUseCase);
+    }
+
+    @Test
+    void confirmStockHold_WhenHoldExpired_ShouldReturn404() throws Exception {
+        // Given
+        when(productStockUseCase.confirmStockHold("id", "hold-1"))
+                .thenThrow(StockHoldNotFoundException.withId("hold-1"));
+
+        // When & Then
+        mockMvc.perform(post("/api/product/{id}/stock/holds/{holdId}/confirm", "id", "hold-1"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("HOLD_NOT_FOUND"));
+    }
+
+    @Test
+    void cancelStockHold_ShouldReturn204() throws Exception {
+        // When & Then
+        mockMvc.perform(delete("/api/product/{id}/stock/holds/{holdId}", "id", "hold-1"))
+                .andExpect(status().isNoContent());
+
+        verify(productStockUseCase).cancelStockHold("id", "hold-1");
+    }
+
+    @Test
+    void patchProduct_ShouldSendOnlyThePresentFields() throws Exception {
+        // Given
+        String productId = "f47ac10b-58cc-4372-a567-0e02b2c3d479";
+        when(productUseCase.patchProduct(eq(productId), any(ProductPatch.class), eq(OptionalLong.empty()))).thenReturn(validProductResponse);
+        ArgumentCaptor<ProductPatch> patch = ArgumentCaptor.forClass(ProductPatch.class);
+
+        // When & Then
+        mockMvc.perform(patch("/api/product/{id}", productId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": 999.99, \"brand\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(productId));
+
+        verify(productUseCase).patchProduct(eq(productId), patch.capture(), eq(OptionalLong.empty()));
+        assertEquals(Set.of("price", "brand"), patch.getValue().fields());
+        assertEquals(new BigDecimal("999.99"), patch.getValue().values().getPrice());
+        assertNull(patch.getValue().values().getBrand());
+    }
+
+    @Test
+    void patchProduct_WithUnknownOrDerivedField_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/product/{id}", "id")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 10, \"availableQuantity\": 3}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_PATCH"));
+
+        verify(productUseCase, never()).patchProduct(anyString(), any(ProductPatch.class), any(OptionalLong.class));
+    }
+
+    @Test
+    void patchProduct_WithWrongValueType_ShouldReturn400() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/product/{id}", "id")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"stock\": \"muchos\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_PATCH"));
+
+        verify(productUseCase, never()).patchProduct(anyString(), any(ProductPatch.class), any(OptionalLong.class));
+    }
 }
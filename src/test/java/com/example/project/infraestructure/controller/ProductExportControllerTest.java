@@ -0,0 +1,86 @@
+package com.example.project.infraestructure.controller;
+
+import com.example.project.application.port.in.ProductUseCase;
+import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportControllerTest {
+
+    @Mock
+    private ProductUseCase productUseCase;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductExportController(productUseCase, objectMapper)).build();
+
+        doAnswer(invocation -> {
+            Consumer<ProductResponseDto> action = invocation.getArgument(0);
+            action.accept(product("1", "iPhone"));
+            action.accept(product("2", "Galaxy"));
+            return null;
+        }).when(productUseCase).forEachProduct(any());
+    }
+
+    @Test
+    void exportAll_WithoutAccept_ShouldStreamJsonArray() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/product/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].title").value("Galaxy"));
+    }
+
+    @Test
+    void exportAll_WithNdjsonAccept_ShouldWriteOneProductPerLine() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api/product/export")
+                        .header("Accept", ProductExportController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductExportController.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\""));
+    }
+
+    private static ProductResponseDto product(String id, String title) {
+        ProductResponseDto product = new ProductResponseDto();
+        product.setId(id);
+        product.setTitle(title);
+        return product;
+    }
+}
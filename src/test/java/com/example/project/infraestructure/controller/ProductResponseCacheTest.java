@@ -0,0 +1,88 @@
+package com.example.project.infraestructure.controller;
+
+import com.example.project.infraestructure.dto.ProductResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void get_ShouldOnlyHitForTheCachedVersion() throws Exception {
+        // Given
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 1 << 20, false);
+        cache.put("a", 1, product("a", "Monitor"));
+
+        // When
+        ProductResponseCache.CachedResponse hit = cache.get("a", 1);
+        ProductResponseCache.CachedResponse stale = cache.get("a", 2);
+
+        // Then
+        assertNotNull(hit);
+        assertEquals("Monitor", objectMapper.readValue(hit.json(), ProductResponseDto.class).getTitle());
+        assertNull(stale);
+        assertNull(cache.get("a", 1), "a stale lookup drops the entry");
+        assertEquals(0, cache.totalBytes());
+    }
+
+    @Test
+    void put_ShouldNotReplaceANewerVersion() throws Exception {
+        // Given
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 1 << 20, false);
+        cache.put("a", 5, product("a", "Nuevo"));
+
+        // When
+        cache.put("a", 4, product("a", "Antiguo"));
+
+        // Then
+        assertNotNull(cache.get("a", 5));
+    }
+
+    @Test
+    void put_ShouldEvictLeastRecentlyUsedBeyondMaxBytes() throws Exception {
+        // Given
+        int entryBytes = objectMapper.writeValueAsBytes(product("a", "Monitor")).length;
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, entryBytes * 2L, false);
+        cache.put("a", 1, product("a", "Monitor"));
+        cache.put("b", 1, product("b", "Monitor"));
+        cache.get("a", 1);
+
+        // When
+        cache.put("c", 1, product("c", "Monitor"));
+
+        // Then
+        assertNotNull(cache.get("a", 1));
+        assertNull(cache.get("b", 1));
+        assertNotNull(cache.get("c", 1));
+        assertTrue(cache.totalBytes() <= entryBytes * 2L);
+    }
+
+    @Test
+    void put_WithGzip_ShouldStoreCompressedCopyOfLargeBodies() throws Exception {
+        // Given
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 1 << 20, true);
+        ProductResponseDto product = product("a", "Monitor");
+        product.setDescription("Panel IPS ".repeat(200));
+
+        // When
+        ProductResponseCache.CachedResponse response = cache.put("a", 1, product);
+
+        // Then
+        assertNotNull(response.gzip());
+        assertTrue(response.gzip().length < response.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertArrayEquals(response.json(), in.readAllBytes());
+        }
+        assertNull(cache.put("b", 1, product("b", "Monitor")).gzip(), "small bodies are not compressed");
+    }
+
+    private static ProductResponseDto product(String id, String title) {
+        return ProductResponseDto.builder().id(id).title(title).build();
+    }
+}
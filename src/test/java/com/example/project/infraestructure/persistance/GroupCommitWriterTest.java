@@ -0,0 +1,124 @@
+package com.example.project.infraestructure.persistance;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitWriterTest {
+
+    @Test
+    void submit_WithConcurrentItems_ShouldGroupThemIntoFewerBatches() {
+        // Given
+        AtomicInteger batches = new AtomicInteger();
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", 100, 50_000, batch -> {
+            batches.incrementAndGet();
+            written.addAll(batch);
+        });
+
+        // When
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(writer.submit(i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        writer.close();
+
+        // Then
+        assertEquals(50, written.size());
+        assertTrue(batches.get() < 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, written.get(i));
+        }
+    }
+
+    @Test
+    void submitAllAndWait_ShouldWriteGroupInOneBatchEvenAboveMaxBatchSize() {
+        // Given
+        List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", 4, 0,
+                batch -> batches.add(new ArrayList<>(batch)));
+        List<Integer> group = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            group.add(i);
+        }
+
+        // When
+        List<Integer> written = writer.submitAllAndWait(group);
+        writer.close();
+
+        // Then
+        assertEquals(group, written);
+        assertEquals(1, batches.size());
+        assertEquals(group, batches.get(0));
+    }
+
+    @Test
+    void submitAndWait_WhenBatchFails_ShouldPropagateError() {
+        // Given
+        GroupCommitWriter<String> writer = new GroupCommitWriter<>("test-writer", 10, 0, batch -> {
+            throw new IllegalStateException("disk full");
+        });
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> writer.submitAndWait("product"));
+        assertEquals("disk full", exception.getMessage());
+        writer.close();
+    }
+
+    @Test
+    void submit_AfterClose_ShouldBeRejected() {
+        // Given
+        GroupCommitWriter<String> writer = new GroupCommitWriter<>("test-writer", 10, 0, batch -> { });
+        writer.close();
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> writer.submit("product"));
+    }
+
+    @Test
+    void close_WhileSubmitting_ShouldCompleteEveryAcceptedFuture() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // Given
+            GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", 10, 0, batch -> { });
+            List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch started = new CountDownLatch(4);
+            List<Thread> submitters = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread submitter = new Thread(() -> {
+                    started.countDown();
+                    try {
+                        for (int i = 0; ; i++) {
+                            futures.add(writer.submit(i));
+                        }
+                    } catch (IllegalStateException e) {
+                        // Cerrado: no se aceptan más operaciones
+                    }
+                });
+                submitter.start();
+                submitters.add(submitter);
+            }
+            started.await();
+
+            // When
+            writer.close();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            // Then
+            for (CompletableFuture<Integer> future : futures) {
+                future.handle((value, error) -> value).get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.application.mapper.ProductMapper;
+import com.example.project.domain.common.enums.ProductCondition;
+import com.example.project.domain.common.enums.ProductStatus;
+import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBinaryRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private ProductBinaryRepositoryAdapter repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void open_WithoutBinaryFile_ShouldSeedItFromTheJsonCatalog() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 4));
+
+        // When
+        repository = open();
+
+        // Then
+        assertTrue(Files.exists(tempDir.resolve("products.bin")));
+        assertEquals(Map.of("p1", 10, "p2", 4), stockById());
+    }
+
+    @Test
+    void open_WithMostlyObsoleteRecords_ShouldCompactAndKeepTheLatestVersions() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 4), product("p3", 1));
+        repository = open();
+        for (int i = 0; i < 20; i++) {
+            repository.save(product("p1", i));
+        }
+        repository.deleteById("p3");
+        repository.close();
+        repository = null;
+        int usedBefore = usedBytes();
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(Map.of("p1", 19, "p2", 4), stockById());
+        repository.close();
+        repository = null;
+        assertTrue(usedBytes() < usedBefore / 4, "compacted from " + usedBefore + " to " + usedBytes());
+        assertFalse(Files.exists(tempDir.resolve("products.bin.tmp")));
+        repository = open();
+        assertEquals(Map.of("p1", 19, "p2", 4), stockById());
+        repository.save(product("p2", 8));
+        assertEquals(Map.of("p1", 19, "p2", 8), stockById());
+    }
+
+    @Test
+    void open_WithLeftoverTemporaryFile_ShouldIgnoreItAndCompact() throws IOException {
+        // Given
+        seed(product("p1", 10));
+        repository = open();
+        for (int i = 0; i < 5; i++) {
+            repository.save(product("p1", i));
+        }
+        repository.close();
+        repository = null;
+        // Compactación anterior interrumpida antes del intercambio
+        Files.write(tempDir.resolve("products.bin.tmp"), new byte[] {1, 2, 3});
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(Map.of("p1", 4), stockById());
+        assertFalse(Files.exists(tempDir.resolve("products.bin.tmp")));
+    }
+
+    private ProductBinaryRepositoryAdapter open() {
+        return new ProductBinaryRepositoryAdapter(productMapper, tempDir.toString(), 256, 1000);
+    }
+
+    private void seed(Product... products) throws IOException {
+        List<ProductDto> dtos = Arrays.stream(products).map(productMapper::toDto).toList();
+        new ObjectMapper().registerModule(new JavaTimeModule())
+                .writeValue(tempDir.resolve("products.json").toFile(), dtos);
+    }
+
+    private int usedBytes() throws IOException {
+        try (ProductBinaryStore store = new ProductBinaryStore(tempDir.resolve("products.bin"))) {
+            return store.end() - ProductBinaryStore.HEADER_SIZE;
+        }
+    }
+
+    private Map<String, Integer> stockById() {
+        Map<String, Integer> stock = new HashMap<>();
+        for (Product product : repository.findAll()) {
+            stock.put(product.getId(), product.getStock().getQuantity());
+        }
+        return stock;
+    }
+
+    private static Product product(String id, int stock) {
+        return Product.newBuilder(id)
+                .basicInfo("Product " + id, "Description " + id, new BigDecimal("99.99"), "USD")
+                .categorization("Electronics", "Phones")
+                .seller("seller-1", "Seller")
+                .condition(ProductCondition.NEW)
+                .stock(stock)
+                .status(ProductStatus.ACTIVE)
+                .build();
+    }
+}
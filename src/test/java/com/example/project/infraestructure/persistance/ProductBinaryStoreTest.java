@@ -0,0 +1,95 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.domain.common.enums.ProductCondition;
+import com.example.project.domain.common.enums.ProductStatus;
+import com.example.project.infraestructure.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBinaryStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void append_ShouldRoundTripEveryFieldAfterReopening() throws IOException {
+        // Given
+        ProductDto product = ProductDto.builder()
+                .id("p-1")
+                .title("Cámara Réflex")
+                .description("Descripción con ñ")
+                .price(new BigDecimal("1500.50"))
+                .currency("ARS")
+                .availableQuantity(7)
+                .status(ProductStatus.ACTIVE)
+                .category("Fotografía")
+                .freeShipping(true)
+                .views(120)
+                .sales(3)
+                .rating(4.5)
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30, 5))
+                .condition(ProductCondition.NEW)
+                .images(List.of("a.jpg", "b.jpg"))
+                .tags(Arrays.asList("foto", null))
+                .build();
+        Path path = tempDir.resolve("products.bin");
+
+        // When
+        try (ProductBinaryStore store = new ProductBinaryStore(path)) {
+            store.append(List.of(ProductBinaryRecord.encode(product, 9)));
+        }
+        List<ProductBinaryRecord> records = new ArrayList<>();
+        ProductBinaryStore reopened = new ProductBinaryStore(path);
+        reopened.scan(records::add);
+
+        // Then
+        assertEquals(1, records.size());
+        ProductBinaryRecord record = records.get(0);
+        assertEquals(9, record.getSequence());
+        assertEquals(new BigDecimal("1500.50"), record.getPrice());
+        assertEquals(7, record.getAvailableQuantity());
+        assertEquals(120, record.getViews());
+        assertEquals(4.5, record.getRating());
+        assertTrue(record.hasTitle("Cámara Réflex".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(record.hasTitle("Cámara".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(product, record.toDto());
+        reopened.close();
+    }
+
+    @Test
+    void append_BeyondInitialCapacity_ShouldRemapAndKeepOrder() throws IOException {
+        // Given
+        Path path = tempDir.resolve("products.bin");
+        String description = "x".repeat(1900);
+        List<byte[]> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(ProductBinaryRecord.encode(
+                    ProductDto.builder().id("p-" + i).description(description).build(), i));
+        }
+
+        // When
+        List<String> ids = new ArrayList<>();
+        try (ProductBinaryStore store = new ProductBinaryStore(path)) {
+            int[] offsets = store.append(batch);
+            store.append(List.of(ProductBinaryRecord.encodeTombstone("p-0")));
+            store.scan(record -> ids.add(record.getId()));
+
+            // Then
+            assertEquals(ProductBinaryStore.HEADER_SIZE, offsets[0]);
+        }
+        assertEquals(1_001, ids.size());
+        assertEquals("p-999", ids.get(999));
+        assertEquals("p-0", ids.get(1_000));
+    }
+}
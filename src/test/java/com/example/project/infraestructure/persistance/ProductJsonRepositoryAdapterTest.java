@@ -0,0 +1,315 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.application.mapper.ProductMapper;
+import com.example.project.application.mapper.ProductPatch;
+import com.example.project.domain.common.enums.ProductCondition;
+import com.example.project.domain.common.enums.ProductStatus;
+import com.example.project.domain.model.Product;
+import com.example.project.infraestructure.dto.ProductDto;
+import com.example.project.infraestructure.dto.ProductRequestDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonRepositoryAdapterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private ProductJsonRepositoryAdapter repository;
+
+    @AfterEach
+    void tearDown() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void findById_ShouldServeTheProductsLoadedFromTheFile() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 4));
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals("Product p2", repository.findById("p2").orElseThrow().getTitle());
+        assertEquals(4, repository.findById("p2").orElseThrow().getStock().getQuantity());
+        assertTrue(repository.findById("missing").isEmpty());
+        assertTrue(repository.findById(null).isEmpty());
+    }
+
+    @Test
+    void findAll_ShouldKeepTheOrderOfTheFile() throws IOException {
+        // Given
+        seed(product("p3", 1), product("p1", 1), product("p2", 1));
+
+        // When
+        repository = open();
+
+        // Then
+        assertEquals(List.of("p3", "p1", "p2"), ids());
+    }
+
+    @Test
+    void saveAndDelete_ShouldKeepTheResidentIndexConsistentWithTheFile() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        repository = open();
+
+        // When
+        repository.save(product("p2", "Renamed", 5));
+        assertTrue(repository.deleteById("p1"));
+        assertFalse(repository.deleteById("p1"));
+        Product created = repository.save(product(null, "New product", 2));
+
+        // Then
+        assertEquals(List.of("p2", "p3", created.getId()), ids());
+        assertTrue(repository.findById("p1").isEmpty());
+        assertEquals(5, repository.findById("p2").orElseThrow().getStock().getQuantity());
+        assertTrue(repository.findByTitle("Product p2").isEmpty());
+        assertEquals("p2", repository.findByTitle("Renamed").orElseThrow().getId());
+        assertEquals(created.getId(), repository.findByTitle("New product").orElseThrow().getId());
+        assertEquals(3, repository.count());
+        assertEquals(Map.of("p2", 5, "p3", 10, created.getId(), 2), snapshotStockById());
+        reopen();
+        assertEquals(List.of("p2", "p3", created.getId()), ids());
+        assertEquals(Map.of("p2", 5, "p3", 10, created.getId(), 2), stockById());
+    }
+
+    @Test
+    void walMode_ShouldReplayTheLogOnRestartWithoutRewritingTheSnapshot() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        String seeded = Files.readString(dataFile());
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        changeEveryEntryType();
+
+        // When
+        reopen(ProductJsonRepositoryAdapter.MODE_WAL);
+
+        // Then
+        assertEquals(seeded, Files.readString(dataFile()), "changes only go to the log");
+        assertEquals(Map.of("p1", 7, "p2", 3), stockById());
+    }
+
+    @Test
+    void compact_ShouldWriteTheSnapshotAndDiscardTheSealedLog() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        changeEveryEntryType();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductSnapshotCompactor compactor = new ProductSnapshotCompactor(repository, meterRegistry, 0);
+
+        // When
+        compactor.compact();
+
+        // Then
+        assertEquals(0, meterRegistry.counter("product.snapshot.compaction.failures").count());
+        assertFalse(Files.exists(sealedLogFile()));
+        assertEquals(0, repository.getWriteAheadLogSize());
+        assertEquals(Map.of("p1", 7, "p2", 3), snapshotStockById());
+        reopen(ProductJsonRepositoryAdapter.MODE_WAL);
+        assertEquals(Map.of("p1", 7, "p2", 3), stockById());
+    }
+
+    @Test
+    void compactIfNeeded_InSnapshotMode_ShouldNotCompact() throws IOException {
+        // Given
+        seed(product("p1", 10));
+        repository = open();
+        repository.save(product("p1", 7));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProductSnapshotCompactor compactor = new ProductSnapshotCompactor(repository, meterRegistry, 0);
+
+        // When
+        compactor.compactIfNeeded();
+
+        // Then
+        assertEquals(0, meterRegistry.timer("product.snapshot.compaction.duration").count());
+        assertEquals(0, meterRegistry.counter("product.snapshot.compaction.failures").count());
+        assertEquals(Map.of("p1", 7), snapshotStockById());
+    }
+
+    @Test
+    void restart_AfterSnapshotSwapButBeforeSealedLogIsDeleted_ShouldReplayIdempotently() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        changeEveryEntryType();
+        List<ProductDto> products = repository.sealWriteAheadLog();
+        Path survivor = tempDir.resolve("sealed.copy");
+        Files.copy(sealedLogFile(), survivor);
+        repository.writeSnapshotAndDiscardSealedLog(products, written -> { });
+        repository.close();
+        // Caída justo después del intercambio: el log sellado sigue ahí
+        Files.move(survivor, sealedLogFile(), StandardCopyOption.REPLACE_EXISTING);
+
+        // When
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+
+        // Then
+        assertEquals(Map.of("p1", 7, "p2", 3), stockById());
+        new ProductSnapshotCompactor(repository, new SimpleMeterRegistry(), 0).compact();
+        assertFalse(Files.exists(sealedLogFile()));
+        assertEquals(Map.of("p1", 7, "p2", 3), snapshotStockById());
+    }
+
+    @Test
+    void restart_AfterSealingButBeforeSnapshotSwap_ShouldReplayTheSealedLog() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        changeEveryEntryType();
+        repository.sealWriteAheadLog();
+        repository.save(product("p1", 5));
+
+        // When
+        reopen(ProductJsonRepositoryAdapter.MODE_WAL);
+
+        // Then
+        assertTrue(Files.exists(sealedLogFile()));
+        assertEquals(Map.of("p1", 10, "p2", 10, "p3", 10), snapshotStockById());
+        assertEquals(Map.of("p1", 5, "p2", 3), stockById());
+    }
+
+    @Test
+    void saveDuringCompaction_ShouldLandInTheNewActiveLog() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10));
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        repository.save(product("p1", 7));
+        List<ProductDto> products = repository.sealWriteAheadLog();
+
+        // When
+        repository.save(product("p1", 9));
+        repository.deleteById("p2");
+        repository.writeSnapshotAndDiscardSealedLog(products, written -> { });
+
+        // Then
+        assertEquals(Map.of("p1", 7, "p2", 10), snapshotStockById());
+        assertTrue(repository.getWriteAheadLogSize() > 0);
+        assertEquals(Map.of("p1", 9), stockById());
+        reopen(ProductJsonRepositoryAdapter.MODE_WAL);
+        assertEquals(Map.of("p1", 9), stockById());
+    }
+
+    @Test
+    void snapshotMode_WithLeftoverLogs_ShouldConsolidateThemIntoTheSnapshot() throws IOException {
+        // Given
+        seed(product("p1", 10), product("p2", 10), product("p3", 10));
+        repository = open(ProductJsonRepositoryAdapter.MODE_WAL);
+        changeEveryEntryType();
+        repository.sealWriteAheadLog();
+        repository.save(product("p1", 5));
+
+        // When
+        reopen(ProductJsonRepositoryAdapter.MODE_SNAPSHOT);
+
+        // Then
+        assertFalse(repository.isWriteAheadLogEnabled());
+        assertFalse(Files.exists(tempDir.resolve("products.wal")));
+        assertFalse(Files.exists(sealedLogFile()));
+        assertEquals(Map.of("p1", 5, "p2", 3), snapshotStockById());
+        assertEquals(Map.of("p1", 5, "p2", 3), stockById());
+    }
+
+    private ProductJsonRepositoryAdapter open() {
+        return open(ProductJsonRepositoryAdapter.MODE_SNAPSHOT);
+    }
+
+    private ProductJsonRepositoryAdapter open(String mode) {
+        return new ProductJsonRepositoryAdapter(productMapper, tempDir.toString(), mode, 256, 1000);
+    }
+
+    private void reopen() {
+        reopen(ProductJsonRepositoryAdapter.MODE_SNAPSHOT);
+    }
+
+    private void reopen(String mode) {
+        repository.close();
+        repository = open(mode);
+    }
+
+    /**
+     * Un registro de cada tipo en el log: SAVE de p1, PATCH de p2 y DELETE de p3
+     */
+    private void changeEveryEntryType() {
+        repository.save(product("p1", 7));
+        ProductPatch patch = ProductPatch.of(Set.of("stock"), ProductRequestDto.builder().stock(3).build());
+        assertTrue(repository.patch("p2", patch, OptionalLong.empty()).isPresent());
+        assertTrue(repository.deleteById("p3"));
+    }
+
+    private void seed(Product... products) throws IOException {
+        List<ProductDto> dtos = Arrays.stream(products).map(productMapper::toDto).toList();
+        objectMapper.writeValue(dataFile().toFile(), dtos);
+    }
+
+    private List<String> ids() {
+        return repository.findAll().stream().map(Product::getId).toList();
+    }
+
+    private Map<String, Integer> stockById() {
+        Map<String, Integer> stock = new HashMap<>();
+        for (Product product : repository.findAll()) {
+            stock.put(product.getId(), product.getStock().getQuantity());
+        }
+        return stock;
+    }
+
+    private Map<String, Integer> snapshotStockById() throws IOException {
+        Map<String, Integer> stock = new HashMap<>();
+        for (ProductDto product : objectMapper.readValue(dataFile().toFile(), new TypeReference<List<ProductDto>>() { })) {
+            stock.put(product.getId(), product.getStock());
+        }
+        return stock;
+    }
+
+    private Path dataFile() {
+        return tempDir.resolve("products.json");
+    }
+
+    private Path sealedLogFile() {
+        return tempDir.resolve("products.wal.sealed");
+    }
+
+    private static Product product(String id, int stock) {
+        return product(id, "Product " + id, stock);
+    }
+
+    private static Product product(String id, String title, int stock) {
+        return Product.newBuilder(id)
+                .basicInfo(title, "Description " + title, new BigDecimal("99.99"), "USD")
+                .categorization("Electronics", "Phones")
+                .seller("seller-1", "Seller")
+                .condition(ProductCondition.NEW)
+                .stock(stock)
+                .status(ProductStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.project.infraestructure.persistance;
+
+import com.example.project.infraestructure.dto.ProductDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonStreamReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ProductJsonStreamReader reader = new ProductJsonStreamReader(
+            new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void forEach_ShouldDeliverProductsInFileOrder() throws IOException {
+        // Given
+        Path path = tempDir.resolve("products.json");
+        Files.writeString(path, "[{\"id\":\"1\",\"title\":\"Mouse\",\"tags\":[\"a\",\"b\"]}, null, "
+                + "{\"id\":\"2\",\"title\":\"Teclado\",\"createdAt\":[2024,1,15,10,30]}]");
+
+        // When
+        List<ProductDto> products = new ArrayList<>();
+        long count = reader.forEach(path, products::add);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals("Mouse", products.get(0).getTitle());
+        assertEquals(List.of("a", "b"), products.get(0).getTags());
+        assertEquals(2024, products.get(1).getCreatedAt().getYear());
+    }
+
+    @Test
+    void forEach_WithEmptyOrMissingFile_ShouldReadNothing() throws IOException {
+        // Given
+        Path empty = Files.createFile(tempDir.resolve("empty.json"));
+
+        // When & Then
+        assertEquals(0, reader.forEach(empty, product -> fail()));
+        assertEquals(0, reader.forEach(tempDir.resolve("missing.json"), product -> fail()));
+    }
+
+    @Test
+    void forEach_WithTruncatedArray_ShouldFail() throws IOException {
+        // Given
+        Path path = tempDir.resolve("products.json");
+        Files.writeString(path, "[{\"id\":\"1\"},");
+
+        // When & Then
+        assertThrows(IOException.class, () -> reader.forEach(path, product -> { }));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.project.infraestructure.persistance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductWriteAheadLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_ShouldReturnEntriesInAppendOrder() throws IOException {
+        // Given
+        Path logPath = tempDir.resolve("products.wal");
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.append(new ProductWriteAheadLog.Entry(ProductWriteAheadLog.SAVE, bytes("{\"id\":\"1\"}")));
+            log.append(ProductWriteAheadLog.Entry.delete("1"));
+        }
+
+        // When
+        List<ProductWriteAheadLog.Entry> entries = new ArrayList<>();
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            long count = log.replay(entries::add);
+
+            // Then
+            assertEquals(2, count);
+        }
+        assertEquals(ProductWriteAheadLog.SAVE, entries.get(0).getType());
+        assertEquals("{\"id\":\"1\"}", entries.get(0).getPayloadAsString());
+        assertEquals(ProductWriteAheadLog.DELETE, entries.get(1).getType());
+        assertEquals("1", entries.get(1).getPayloadAsString());
+    }
+
+    @Test
+    void replay_WithTornTail_ShouldTruncateToLastValidRecord() throws IOException {
+        // Given
+        Path logPath = tempDir.resolve("products.wal");
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.append(new ProductWriteAheadLog.Entry(ProductWriteAheadLog.SAVE, bytes("{\"id\":\"1\"}")));
+        }
+        long validSize = Files.size(logPath);
+        // Registro a medio escribir: cabecera completa pero payload incompleto
+        Files.write(logPath, new byte[] {0, 0, 0, 20, 1, 2, 3, 4, 1, '{'}, StandardOpenOption.APPEND);
+
+        // When
+        List<ProductWriteAheadLog.Entry> entries = new ArrayList<>();
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.replay(entries::add);
+            log.append(ProductWriteAheadLog.Entry.delete("1"));
+        }
+
+        // Then
+        assertEquals(1, entries.size());
+        entries.clear();
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.replay(entries::add);
+        }
+        assertEquals(2, entries.size());
+        assertTrue(Files.size(logPath) > validSize);
+    }
+
+    @Test
+    void replay_WithCorruptedChecksum_ShouldDiscardRecord() throws IOException {
+        // Given
+        Path logPath = tempDir.resolve("products.wal");
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.append(ProductWriteAheadLog.Entry.delete("abc"));
+        }
+        byte[] content = Files.readAllBytes(logPath);
+        content[content.length - 1] = 'x';
+        Files.write(logPath, content);
+
+        // When
+        List<ProductWriteAheadLog.Entry> entries = new ArrayList<>();
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.replay(entries::add);
+        }
+
+        // Then
+        assertTrue(entries.isEmpty());
+        assertEquals(0, Files.size(logPath));
+    }
+
+    @Test
+    void sealTo_WhenTheMoveFails_ShouldKeepTheActiveLogWritable() throws IOException {
+        // Given
+        Path logPath = tempDir.resolve("products.wal");
+        Path unreachable = tempDir.resolve("missing").resolve("products.wal.sealed");
+        List<ProductWriteAheadLog.Entry> entries = new ArrayList<>();
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            log.append(ProductWriteAheadLog.Entry.delete("1"));
+
+            // When
+            assertThrows(IOException.class, () -> log.sealTo(unreachable));
+            log.append(ProductWriteAheadLog.Entry.delete("2"));
+        }
+
+        // Then
+        try (ProductWriteAheadLog log = new ProductWriteAheadLog(logPath)) {
+            assertEquals(2, log.replay(entries::add));
+        }
+        assertEquals("1", entries.get(0).getPayloadAsString());
+        assertEquals("2", entries.get(1).getPayloadAsString());
+        assertFalse(Files.exists(unreachable));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
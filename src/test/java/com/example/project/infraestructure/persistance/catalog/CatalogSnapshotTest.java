@@ -0,0 +1,100 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.infraestructure.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    @Test
+    void withProduct_ShouldNotAffectSnapshotAlreadyPublished() {
+        // Given
+        CatalogSnapshot first = CatalogSnapshot.empty()
+                .withProduct(product("1", "iPhone"))
+                .withProduct(product("2", "Galaxy"));
+
+        // When
+        CatalogSnapshot second = first
+                .withProduct(product("1", "iPhone 15"))
+                .withoutProduct("2")
+                .withProduct(product("3", "Pixel"));
+
+        // Then
+        assertEquals(List.of("1", "2"), ids(first));
+        assertEquals("iPhone", first.get("1").getTitle());
+        assertEquals(List.of("1", "3"), ids(second));
+        assertEquals("iPhone 15", second.get("1").getTitle());
+        assertFalse(second.contains("2"));
+        assertEquals(2, second.size());
+    }
+
+    @Test
+    void findFirstByTitle_ShouldFollowInsertionOrderAndTitleChanges() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.empty()
+                .withProduct(product("1", "Mouse"))
+                .withProduct(product("2", "Mouse"))
+                .withProduct(product("3", "Teclado"));
+
+        // When
+        CatalogSnapshot renamed = snapshot.withProduct(product("1", "Monitor"));
+
+        // Then
+        assertEquals("1", snapshot.findFirstByTitle("Mouse").orElseThrow().getId());
+        assertEquals("2", renamed.findFirstByTitle("Mouse").orElseThrow().getId());
+        assertEquals("1", renamed.findFirstByTitle("Monitor").orElseThrow().getId());
+        assertTrue(renamed.withoutProduct("3").findFirstByTitle("Teclado").isEmpty());
+    }
+
+    @Test
+    void toList_WithManyProducts_ShouldKeepInsertionOrder() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+        for (int i = 0; i < 2_000; i++) {
+            snapshot = snapshot.withProduct(product(String.valueOf(i), "Producto " + i));
+        }
+
+        // When
+        List<ProductDto> products = snapshot.toList();
+
+        // Then
+        assertEquals(2_000, products.size());
+        for (int i = 0; i < 2_000; i++) {
+            assertEquals(String.valueOf(i), products.get(i).getId());
+        }
+        assertEquals(ids(snapshot), products.stream().map(ProductDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void withProduct_WhenOnlyNonSearchableFieldsChange_ShouldKeepKeywordResults() {
+        // Given
+        ProductDto original = product("1", "Monitor curvo").toBuilder().price(new BigDecimal("300")).build();
+        CatalogSnapshot snapshot = CatalogSnapshot.empty()
+                .withProduct(original)
+                .withProduct(product("2", "Teclado"));
+
+        // When
+        CatalogSnapshot repriced = snapshot.withProduct(original.toBuilder().price(new BigDecimal("250")).build());
+        CatalogSnapshot renamed = repriced.withProduct(product("1", "Pantalla"));
+
+        // Then
+        List<ProductDto> found = repriced.findByKeyword("monitor", p -> true).collect(Collectors.toList());
+        assertEquals(1, found.size());
+        assertEquals(new BigDecimal("250"), found.get(0).getPrice());
+        assertEquals(0, renamed.countByKeyword("monitor", p -> true));
+        assertEquals(1, renamed.countByKeyword("pantalla", p -> true));
+    }
+
+    private static List<String> ids(CatalogSnapshot snapshot) {
+        return snapshot.stream().map(ProductDto::getId).collect(Collectors.toList());
+    }
+
+    private static ProductDto product(String id, String title) {
+        return ProductDto.builder().id(id).title(title).build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.infraestructure.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordIndexTest {
+
+    @Test
+    void search_WithAlphanumericKeyword_ShouldMatchSubstringsInsideTokens() {
+        // Given
+        KeywordIndex index = KeywordIndex.empty()
+                .update(0, Set.of(), KeywordIndex.tokenize(List.of("iPhone 15 Pro")))
+                .update(1, Set.of(), KeywordIndex.tokenize(List.of("Funda para iphone")))
+                .update(2, Set.of(), KeywordIndex.tokenize(List.of("Galaxy S24")));
+
+        // When
+        KeywordIndex.Match match = index.search("PHON");
+
+        // Then
+        assertTrue(match.exact());
+        assertArrayEquals(new int[] {0, 1}, match.documents());
+    }
+
+    @Test
+    void update_ShouldMoveDocumentBetweenPostings() {
+        // Given
+        Set<String> before = KeywordIndex.tokenize(List.of("Teclado mecánico"));
+        Set<String> after = KeywordIndex.tokenize(List.of("Ratón inalámbrico"));
+        KeywordIndex index = KeywordIndex.empty().update(7, Set.of(), before);
+
+        // When
+        KeywordIndex updated = index.update(7, before, after);
+
+        // Then
+        assertArrayEquals(new int[] {7}, index.search("teclado").documents());
+        assertArrayEquals(new int[0], updated.search("teclado").documents());
+        assertArrayEquals(new int[] {7}, updated.search("ratón").documents());
+        assertArrayEquals(new int[0], updated.update(7, after, Set.of()).search("ratón").documents());
+    }
+
+    @Test
+    void update_WithManyRenames_ShouldReuseTheIdsOfTokensThatLeftTheVocabulary() {
+        // Given
+        Set<String> previous = KeywordIndex.tokenize(List.of("Producto inicial"));
+        KeywordIndex first = KeywordIndex.empty().update(1, Set.of(), previous);
+        KeywordIndex index = first;
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            Set<String> current = KeywordIndex.tokenize(List.of("Producto modelo" + i));
+            index = index.update(1, previous, current);
+            previous = current;
+        }
+
+        // Then
+        assertEquals(2, index.vocabularySize());
+        assertArrayEquals(new int[] {1}, index.search("modelo999").documents());
+        assertArrayEquals(new int[0], index.search("modelo998").documents());
+        assertArrayEquals(new int[0], index.search("inicial").documents());
+        assertArrayEquals(new int[] {1}, first.search("inicial").documents());
+    }
+
+    @Test
+    void findByKeyword_ShouldReturnSameProductsAsFullScan() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.empty()
+                .withProduct(product("1", "iPhone 15 Pro", "Smartphone de Apple", List.of("ios", "5g")))
+                .withProduct(product("2", "Galaxy S24", "Smartphone Android", List.of("android")))
+                .withProduct(product("3", "MacBook Pro", "Portátil de Apple", List.of("macos")))
+                .withProduct(product("4", "Cargador USB-C", "Carga rápida 20W", null))
+                .withoutProduct("2")
+                .withProduct(product("3", "MacBook Air", "Portátil ligero", List.of("macos")));
+
+        // When / Then
+        for (String keyword : List.of("apple", "PRO", "15 pro", "usb-c", "b-c", "-", " ", "ios", "smart", "zzz")) {
+            List<String> expected = snapshot.stream()
+                    .filter(p -> matchesKeyword(p, keyword))
+                    .map(ProductDto::getId)
+                    .collect(Collectors.toList());
+            List<String> actual = snapshot.findByKeyword(keyword, p -> matchesKeyword(p, keyword))
+                    .map(ProductDto::getId)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, keyword);
+            assertEquals(expected.size(), snapshot.countByKeyword(keyword, p -> matchesKeyword(p, keyword)), keyword);
+        }
+    }
+
+    @Test
+    void findByKeyword_WithRandomCatalogAndUpdates_ShouldMatchFullScan() {
+        // Given
+        Random random = new Random(42);
+        String[] words = {"macbook", "book", "ebook", "pro", "iphone", "phone", "usb-c", "cargador", "20w", "año"};
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+        for (int i = 0; i < 300; i++) {
+            String id = String.valueOf(random.nextInt(120));
+            if (random.nextInt(5) == 0) {
+                snapshot = snapshot.withoutProduct(id);
+            } else {
+                snapshot = snapshot.withProduct(product(id, sentence(random, words), sentence(random, words),
+                        List.of(words[random.nextInt(words.length)])));
+            }
+        }
+
+        // When / Then
+        for (String keyword : List.of("book", "ook", "acb", "phone", "hon", "pro ", "o i", "b-c", "w c", "AÑO", "bookx")) {
+            CatalogSnapshot current = snapshot;
+            List<String> expected = current.stream()
+                    .filter(p -> matchesKeyword(p, keyword))
+                    .map(ProductDto::getId)
+                    .collect(Collectors.toList());
+            List<String> actual = current.findByKeyword(keyword, p -> matchesKeyword(p, keyword))
+                    .map(ProductDto::getId)
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, keyword);
+        }
+    }
+
+    private static String sentence(Random random, String[] words) {
+        List<String> parts = new ArrayList<>();
+        for (int i = 0, n = 1 + random.nextInt(4); i < n; i++) {
+            parts.add(words[random.nextInt(words.length)]);
+        }
+        return String.join(random.nextBoolean() ? " " : "", parts);
+    }
+
+    private static boolean matchesKeyword(ProductDto product, String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return false;
+        }
+        String lowerKeyword = keyword.toLowerCase();
+        return product.getTitle().toLowerCase().contains(lowerKeyword)
+                || product.getDescription().toLowerCase().contains(lowerKeyword)
+                || (product.getTags() != null && product.getTags().stream().anyMatch(tag -> tag.contains(lowerKeyword)));
+    }
+
+    private static ProductDto product(String id, String title, String description, List<String> tags) {
+        ProductDto product = new ProductDto();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setTags(tags);
+        return product;
+    }
+}
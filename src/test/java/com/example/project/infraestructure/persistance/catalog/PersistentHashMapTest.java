@@ -0,0 +1,92 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    /**
+     * Clave con hash controlado para forzar colisiones completas
+     */
+    private record CollidingKey(String name) {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    void put_ShouldKeepPreviousVersionUnchanged() {
+        // Given
+        PersistentHashMap<String, Integer> first = PersistentHashMap.<String, Integer>empty().put("a", 1);
+
+        // When
+        PersistentHashMap<String, Integer> second = first.put("a", 2).put("b", 3);
+
+        // Then
+        assertEquals(1, first.size());
+        assertEquals(1, first.get("a"));
+        assertNull(first.get("b"));
+        assertEquals(2, second.size());
+        assertEquals(2, second.get("a"));
+        assertEquals(3, second.get("b"));
+    }
+
+    @Test
+    void putAndRemove_WithManyKeys_ShouldMatchHashMap() {
+        // Given
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        Map<String, Integer> expected = new HashMap<>();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            map = map.put("key-" + i, i);
+            expected.put("key-" + i, i);
+        }
+        for (int i = 0; i < 5_000; i += 3) {
+            map = map.remove("key-" + i);
+            expected.remove("key-" + i);
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        Map<String, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void putAndRemove_WithCollidingKeys_ShouldKeepEveryEntry() {
+        // Given
+        CollidingKey first = new CollidingKey("first");
+        CollidingKey second = new CollidingKey("second");
+        CollidingKey third = new CollidingKey("third");
+
+        // When
+        PersistentHashMap<CollidingKey, String> map = PersistentHashMap.<CollidingKey, String>empty()
+                .put(first, "1").put(second, "2").put(third, "3");
+        PersistentHashMap<CollidingKey, String> removed = map.remove(second);
+
+        // Then
+        assertEquals(3, map.size());
+        assertEquals("2", map.get(second));
+        assertEquals(2, removed.size());
+        assertNull(removed.get(second));
+        assertEquals("1", removed.get(first));
+        assertEquals("3", removed.get(third));
+    }
+
+    @Test
+    void remove_WithMissingKey_ShouldReturnSameInstance() {
+        // Given
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().put("a", 1);
+
+        // When & Then
+        assertSame(map, map.remove("missing"));
+        assertTrue(map.remove("a").isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentSortedSetTest {
+
+    @Test
+    void after_ShouldMatchTreeSetUnderRandomAddsAndRemoves() {
+        // Given
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        PersistentSortedSet<Integer> set = PersistentSortedSet.empty();
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(1_000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(value);
+                set = set.remove(value);
+            } else {
+                expected.add(value);
+                set = set.add(value);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), set.size());
+        assertEquals(new ArrayList<>(expected), set.after(null, Integer.MAX_VALUE));
+        for (int after = -1; after <= 1_000; after += 37) {
+            List<Integer> page = new ArrayList<>(expected.tailSet(after, false)).subList(0,
+                    Math.min(10, expected.tailSet(after, false).size()));
+            assertEquals(page, set.after(after, 10), "after " + after);
+        }
+    }
+
+    @Test
+    void remove_ShouldNotAffectPreviousVersion() {
+        // Given
+        PersistentSortedSet<String> first = PersistentSortedSet.<String>empty().add("b").add("a").add("c");
+
+        // When
+        PersistentSortedSet<String> second = first.remove("b");
+
+        // Then
+        assertEquals(List.of("a", "b", "c"), first.after(null, 10));
+        assertEquals(List.of("c"), second.after("a", 10));
+        assertEquals(List.of("c"), second.after("b", 10));
+        assertFalse(second.contains("b"));
+    }
+}
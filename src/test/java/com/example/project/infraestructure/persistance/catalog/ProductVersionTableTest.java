@@ -0,0 +1,56 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.application.exception.ProductVersionConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductVersionTableTest {
+
+    @Test
+    void advance_ShouldBumpOnlyTheWrittenProductAndTheCatalog() {
+        // Given
+        ProductVersionTable versions = new ProductVersionTable(100);
+
+        // When
+        versions.advance("a");
+        versions.advance("a");
+
+        // Then
+        assertEquals(102, versions.versionOf("a"));
+        assertEquals(100, versions.versionOf("b"));
+        assertEquals(102, versions.catalogVersion());
+    }
+
+    @Test
+    void advanceAll_ShouldInvalidateEveryProductWithoutGoingBackwards() {
+        // Given
+        ProductVersionTable versions = new ProductVersionTable(100);
+        versions.advance("a");
+        long before = versions.versionOf("a");
+
+        // When
+        versions.advanceAll();
+
+        // Then
+        assertTrue(versions.versionOf("a") > before);
+        assertEquals(versions.catalogVersion(), versions.versionOf("b"));
+    }
+
+    @Test
+    void checkExpected_ShouldAcceptOnlyTheCurrentVersionOfAnExistingProduct() {
+        // Given
+        ProductVersionTable versions = new ProductVersionTable(100);
+        versions.advance("a");
+
+        // When & Then
+        versions.checkExpected("a", OptionalLong.empty(), true);
+        versions.checkExpected("a", OptionalLong.of(101), true);
+        assertThrows(ProductVersionConflictException.class,
+                () -> versions.checkExpected("a", OptionalLong.of(100), true));
+        assertThrows(ProductVersionConflictException.class,
+                () -> versions.checkExpected("missing", OptionalLong.of(100), false));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.project.infraestructure.persistance.catalog;
+
+import com.example.project.infraestructure.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+
+    @Test
+    void toList_ShouldKeepBestScoresAndInsertionOrderOnTies() {
+        // Given
+        TopK<String> top = new TopK<>(3);
+
+        // When
+        top.offer("a", 1.0);
+        top.offer("b", 5.0);
+        top.offer("c", 1.0);
+        top.offer("d", 3.0);
+        top.offer("e", 1.0);
+
+        // Then
+        assertEquals(List.of("b", "d", "a"), top.toList());
+        assertEquals(List.of(), new TopK<String>(0).toList());
+    }
+
+    @Test
+    void findTopByKeyword_ShouldRankTitleAboveTagsAboveDescription() {
+        // Given
+        CatalogSnapshot snapshot = CatalogSnapshot.empty()
+                .withProduct(product("desc", "Funda", "Compatible con Apple", List.of("funda")))
+                .withProduct(product("brand", "Cargador", "Carga rápida", List.of("usb")))
+                .withProduct(product("tag", "Cable", "Cable trenzado", List.of("apple")))
+                .withProduct(product("title", "Apple Watch", "Reloj inteligente", List.of("reloj")));
+
+        // When
+        List<String> ids = snapshot.findTopByKeyword("apple", 2, TopKTest::matchesApple)
+                .stream()
+                .map(ProductDto::getId)
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of("title", "tag"), ids);
+        assertEquals(3, snapshot.findTopByKeyword("apple", 10, TopKTest::matchesApple).size());
+    }
+
+    @Test
+    void offer_ShouldSkipHopelessCandidatesWithoutChangingTheResult() {
+        // Given
+        Random random = new Random(7);
+        String[] words = {"apple", "funda", "cable", "reloj", "usb", "carga"};
+        List<ProductDto> products = new ArrayList<>();
+        Bm25Scorer.FieldStats stats = Bm25Scorer.FieldStats.EMPTY;
+        for (int i = 0; i < 2_000; i++) {
+            ProductDto product = product("p" + i, text(random, words, 1 + random.nextInt(4)),
+                    text(random, words, random.nextInt(40)), List.of(text(random, words, random.nextInt(3))));
+            products.add(product);
+            stats = stats.plus(product.getTitle(), product.getTags(), product.getDescription());
+        }
+        Bm25Scorer scorer = new Bm25Scorer("Apple", stats);
+        TopK<String> pruned = new TopK<>(10);
+        TopK<String> full = new TopK<>(10);
+
+        // When
+        for (ProductDto product : products) {
+            scorer.offer(pruned, product.getId(), product.getTitle(), product.getTags(), product.getDescription());
+            full.offer(product.getId(), scorer.score(product.getTitle(), product.getTags(), product.getDescription()));
+        }
+
+        // Then
+        assertEquals(full.toList(), pruned.toList());
+        assertFalse(pruned.accepts(0.0));
+    }
+
+    private static String text(Random random, String[] words, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static boolean matchesApple(ProductDto product) {
+        return (product.getTitle() + " " + product.getDescription() + " " + product.getTags()).toLowerCase().contains("apple");
+    }
+
+    private static ProductDto product(String id, String title, String description, List<String> tags) {
+        ProductDto product = new ProductDto();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setTags(tags);
+        return product;
+    }
+}
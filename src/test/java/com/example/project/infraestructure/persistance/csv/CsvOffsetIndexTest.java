@@ -0,0 +1,84 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvOffsetIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rebuild_ShouldLocateRecordsWithQuotedNewlines() throws IOException {
+        // Given
+        Path csv = tempDir.resolve("products.csv");
+        Files.writeString(csv, "id,description\r\n"
+                + "a-1,\"dos\nlíneas\"\r\n"
+                + "\n"
+                + "b-2,simple\n"
+                + "a-1,duplicado\n"
+                + "c-3,sin salto final");
+
+        // When
+        CsvOffsetIndex index = CsvOffsetIndex.rebuild(csv, true);
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals("a-1,\"dos\nlíneas\"", record(csv, index.get("a-1")));
+        assertEquals("b-2,simple", record(csv, index.get("b-2")));
+        assertEquals("c-3,sin salto final", record(csv, index.get("c-3")));
+        assertNull(index.get("id"));
+        assertTrue(index.matches(csv));
+        assertEquals(List.of("b-2", "c-3"), index.idsAfter("a-1", 5));
+        assertEquals(List.of("a-1"), index.idsAfter(null, 1));
+    }
+
+    @Test
+    void readRecords_ShouldReturnRecordsInRequestOrder() throws IOException {
+        // Given
+        Path csv = tempDir.resolve("products.csv");
+        Files.writeString(csv, "id,title\na-1,uno\nb-2,dos\nc-3,tres\n");
+        CsvOffsetIndex index = CsvOffsetIndex.rebuild(csv, true);
+
+        // When
+        byte[][] records = CsvOffsetIndex.readRecords(csv, List.of(index.get("c-3"), index.get("a-1"), index.get("b-2")));
+
+        // Then
+        assertEquals("c-3,tres", new String(records[0], StandardCharsets.UTF_8));
+        assertEquals("a-1,uno", new String(records[1], StandardCharsets.UTF_8));
+        assertEquals("b-2,dos", new String(records[2], StandardCharsets.UTF_8));
+        assertEquals(0, CsvOffsetIndex.readRecords(csv, List.of()).length);
+    }
+
+    @Test
+    void writeAndRead_ShouldRoundTripAndDetectStaleness() throws IOException {
+        // Given
+        Path csv = tempDir.resolve("products.csv");
+        Path indexPath = tempDir.resolve("products.csv.idx");
+        Files.writeString(csv, "id\nx-1\n");
+        CsvOffsetIndex index = CsvOffsetIndex.builder().add("x-1", 3, 3).build(csv);
+
+        // When
+        index.write(indexPath);
+        CsvOffsetIndex loaded = CsvOffsetIndex.read(indexPath);
+        Files.writeString(csv, "y-2\n", StandardOpenOption.APPEND);
+
+        // Then
+        assertEquals(new CsvOffsetIndex.Entry(3, 3), loaded.get("x-1"));
+        assertFalse(loaded.matches(csv));
+        assertNull(CsvOffsetIndex.read(tempDir.resolve("missing.idx")));
+    }
+
+    private static String record(Path csv, CsvOffsetIndex.Entry entry) throws IOException {
+        return new String(CsvOffsetIndex.readRecord(csv, entry), StandardCharsets.UTF_8);
+    }
+}
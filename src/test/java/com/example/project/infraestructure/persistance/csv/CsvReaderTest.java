@@ -0,0 +1,81 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import com.example.project.domain.common.enums.ProductStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void next_WithQuotedNewlinesAndEscapedQuotes_ShouldKeepFieldsIntact() throws IOException {
+        // Given
+        String csv = "id,description\r\n"
+                + "1,\"Línea uno\nLínea \"\"dos\"\", con coma\"\r\n"
+                + "\n"
+                + "2,simple";
+
+        // When
+        try (CsvReader reader = new CsvReader(new StringReader(csv), 16)) {
+
+            // Then
+            assertTrue(reader.next());
+            assertEquals("description", reader.getString(1));
+            assertTrue(reader.next());
+            assertEquals(2, reader.fieldCount());
+            assertEquals("Línea uno\nLínea \"dos\", con coma", reader.getString(1));
+            assertTrue(reader.next());
+            assertEquals("2", reader.getString(0));
+            assertEquals("simple", reader.getString(1));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    void typedGetters_ShouldParseValuesFromBuffer() throws IOException {
+        // Given
+        String csv = "42,-7,1999.50,12.75,1e3,true,FALSE,2024-01-15T10:30:05,ACTIVE,a;b;;,,null\n";
+
+        // When
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertTrue(reader.next());
+
+            // Then
+            assertEquals(42, reader.getInteger(0));
+            assertEquals(-7, reader.getInteger(1));
+            assertEquals(new BigDecimal("1999.50"), reader.getBigDecimal(2));
+            assertEquals(12.75, reader.getDouble(3));
+            assertEquals(1000.0, reader.getDouble(4));
+            assertTrue(reader.getBoolean(5));
+            assertFalse(reader.getBoolean(6));
+            assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 5), reader.getDateTime(7));
+            assertEquals(ProductStatus.ACTIVE, reader.getEnum(8, ProductStatus.values()));
+            assertEquals(List.of("a", "b"), reader.getStringList(9, ';'));
+            assertNull(reader.getNullableString(10));
+            assertTrue(reader.getStringList(10, ';').isEmpty());
+            assertNull(reader.getInteger(11));
+        }
+    }
+
+    @Test
+    void typedGetters_WithInvalidValues_ShouldFail() throws IOException {
+        // Given
+        String csv = "12a,UNKNOWN,2024-13-01T00:00:00\n";
+
+        // When
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            assertTrue(reader.next());
+
+            // Then
+            assertThrows(NumberFormatException.class, () -> reader.getInteger(0));
+            assertThrows(IllegalArgumentException.class, () -> reader.getEnum(1, ProductStatus.values()));
+            assertThrows(RuntimeException.class, () -> reader.getDateTime(2));
+        }
+    }
+}
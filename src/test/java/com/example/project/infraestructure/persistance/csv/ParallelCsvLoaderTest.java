@@ -0,0 +1,64 @@
+package com.example.project.infraestructure.persistance.csv;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelCsvLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void load_WithChunksSplittingQuotedFields_ShouldMatchSequentialOrder() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder("id,description\n");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String description = i % 3 == 0
+                    ? "\"Línea " + i + "\nsigue, con \"\"comillas\"\"\n\""
+                    : "descripción " + i;
+            csv.append(i).append(',').append(description).append(i % 2 == 0 ? "\r\n" : "\n");
+            expected.add(i + ":" + (i % 3 == 0 ? "Línea " + i + "\nsigue, con \"comillas\"\n" : "descripción " + i));
+        }
+        Path path = tempDir.resolve("products.csv");
+        Files.writeString(path, csv);
+
+        // When
+        List<String> rows = new ParallelCsvLoader(pool, 97).load(path, true,
+                record -> record.getString(0) + ":" + record.getString(1));
+
+        // Then
+        assertEquals(expected, rows);
+    }
+
+    @Test
+    void load_WithSmallFile_ShouldReadSequentiallyAndSkipRejectedRows() throws IOException {
+        // Given
+        Path path = tempDir.resolve("products.csv");
+        Files.writeString(path, "id\n1\n\nskip\n2");
+
+        // When
+        List<String> rows = new ParallelCsvLoader(pool).load(path, true,
+                record -> record.getString(0).equals("skip") ? null : record.getString(0));
+
+        // Then
+        assertEquals(List.of("1", "2"), rows);
+    }
+}
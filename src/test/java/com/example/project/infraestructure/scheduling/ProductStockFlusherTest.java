@@ -0,0 +1,69 @@
+package com.example.project.infraestructure.scheduling;
+
+import com.example.project.application.port.in.ProductStockUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockFlusherTest {
+
+    @Mock
+    private ProductStockUseCase productStockUseCase;
+
+    @Test
+    void flush_WhenTheWriteFails_ShouldKeepRunning() {
+        // Given
+        ProductStockFlusher flusher = new ProductStockFlusher(productStockUseCase);
+        when(productStockUseCase.flushStock()).thenThrow(new IllegalStateException("disk full")).thenReturn(1);
+
+        // When
+        flusher.flush();
+        flusher.flush();
+
+        // Then
+        verify(productStockUseCase, times(2)).flushStock();
+    }
+
+    @Test
+    void stop_WhileAFlushIsRunning_ShouldWaitForItAndThenFlushWhatIsLeft() throws Exception {
+        // Given
+        ProductStockFlusher flusher = new ProductStockFlusher(productStockUseCase);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch finishWrite = new CountDownLatch(1);
+        when(productStockUseCase.flushStock()).thenAnswer(invocation -> {
+            writing.countDown();
+            finishWrite.await(5, TimeUnit.SECONDS);
+            return 1;
+        }).thenReturn(0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> scheduled = executor.submit(flusher::flush);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // When
+            Future<?> stop = executor.submit(flusher::stop);
+
+            // Then
+            assertThrows(TimeoutException.class, () -> stop.get(100, TimeUnit.MILLISECONDS));
+            verify(productStockUseCase, times(1)).flushStock();
+            finishWrite.countDown();
+            scheduled.get(5, TimeUnit.SECONDS);
+            stop.get(5, TimeUnit.SECONDS);
+            verify(productStockUseCase, times(2)).flushStock();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}